@@ -0,0 +1,55 @@
+package org.example.wordle.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loads the benchmark inputs from the dictionary on the classpath
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {}
+
+    /**
+     * reads dictionary.txt and keeps an evenly spaced sample of its words, so that smaller
+     * dictionaries keep roughly the same spread of letters as the full one
+     * @param size - the number of words to keep, at most the size of the dictionary
+     * @return maps each sampled word to its occurrence count, in dictionary order
+     */
+    static Map<String, Long> dictionary(int size) {
+        Map<String, Long> all = new LinkedHashMap<>();
+        InputStream is = BenchmarkData.class.getClassLoader().getResourceAsStream("dictionary.txt");
+        if (is == null) {
+            throw new IllegalStateException("dictionary.txt not found on the classpath");
+        }
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            br.lines().forEach(line -> {
+                String[] split = line.split(" ");
+                all.put(split[0], Long.parseLong(split[1], 10));
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (size >= all.size()) {
+            return all;
+        }
+
+        Map<String, Long> sample = new LinkedHashMap<>();
+        double stride = (double) all.size() / size;
+        int i = 0;
+        double next = 0.0;
+        for (Map.Entry<String, Long> entry : all.entrySet()) {
+            if (i++ >= next && sample.size() < size) {
+                sample.put(entry.getKey(), entry.getValue());
+                next += stride;
+            }
+        }
+        return sample;
+    }
+}
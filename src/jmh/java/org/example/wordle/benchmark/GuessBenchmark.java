@@ -0,0 +1,66 @@
+package org.example.wordle.benchmark;
+
+import org.example.wordle.CorrectnessPattern;
+import org.example.wordle.Guess;
+import org.example.wordle.algorithm.EntropyScorer;
+import org.example.wordle.algorithm.Prune;
+import org.example.wordle.dictionary.Dictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a full {@link Prune#guess(List)} turn for a fixed game history, which includes
+ * replaying the history.
+ *
+ * The history is a ';' separated list of "word pattern" guesses, for example "tares wwwww" is the
+ * state after guessing "tares" and seeing five grey letters, which is its most common outcome.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GuessBenchmark {
+
+    @Param({"2000", "6000", "12947"})
+    public int dictionarySize;
+
+    @Param({"tares wwwww", "tares wmwww", "tares wwwww;doily wmwww"})
+    public String history;
+
+    @Param({"1"})
+    public int parallelism;
+
+    private List<Guess> guesses;
+    private Prune prune;
+
+    @Setup
+    public void setup() {
+        Dictionary dictionary = Dictionary.of(BenchmarkData.dictionary(dictionarySize));
+        guesses = new ArrayList<>();
+        for (String guess : history.split(";")) {
+            String[] split = guess.strip().split(" ");
+            guesses.add(new Guess(split[0], CorrectnessPattern.parse(split[1])));
+        }
+        prune = new Prune(dictionary, null, EntropyScorer.withParallelism(parallelism));
+    }
+
+    @Benchmark
+    public String guess() {
+        return prune.guess(guesses);
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.wordle.benchmark;
+
+import org.example.wordle.CorrectnessPattern;
+import org.example.wordle.Guess;
+import org.example.wordle.PatternCode;
+import org.example.wordle.dictionary.WordCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of computing and matching a single correctness pattern.
+ * Each invocation works through a fixed set of word pairs drawn from the dictionary.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternBenchmark {
+
+    // the number of word pairs worked through by each invocation
+    private static final int PAIRS = 1024;
+
+    private String[] answers;
+    private String[] guesses;
+    private int[] packedAnswers;
+    private int[] packedGuesses;
+    private Guess[] history;
+
+    @Setup
+    public void setup() {
+        List<String> words = new ArrayList<>(BenchmarkData.dictionary(Integer.MAX_VALUE).keySet());
+        // a fixed seed so every run uses the same pairs
+        Random random = new Random(42);
+        answers = new String[PAIRS];
+        guesses = new String[PAIRS];
+        packedAnswers = new int[PAIRS];
+        packedGuesses = new int[PAIRS];
+        history = new Guess[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            answers[i] = words.get(random.nextInt(words.size()));
+            guesses[i] = words.get(random.nextInt(words.size()));
+            packedAnswers[i] = WordCodec.pack(answers[i]);
+            packedGuesses[i] = WordCodec.pack(guesses[i]);
+            history[i] = new Guess(guesses[i], CorrectnessPattern.compute(words.get(random.nextInt(words.size())), guesses[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public int computeCode() {
+        int sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += PatternCode.computeCode(answers[i], guesses[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public int computeCodePacked() {
+        int sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += PatternCode.computeCode(packedAnswers[i], packedGuesses[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void compute(Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) {
+            bh.consume(CorrectnessPattern.compute(answers[i], guesses[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public int matches() {
+        int matched = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            if (history[i].matches(answers[i])) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<CorrectnessPattern> patterns() {
+        return CorrectnessPattern.patterns();
+    }
+}
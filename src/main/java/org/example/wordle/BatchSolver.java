@@ -0,0 +1,138 @@
+package org.example.wordle;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A non-interactive line protocol for solving many games with one Guesser, for driving the solver
+ * from scripts.
+ *
+ * Each input line is a game id followed by the guesses made so far and their correctness
+ * patterns, each line is answered with the game id and the next guess:
+ * <pre>
+ *   game-1                       game-1 tares
+ *   game-2 tares wwmcw           game-2 under
+ *   game-3 tares cccc            game-3 ERROR correctness patterns must be ...
+ * </pre>
+ * A line that can not be parsed is answered with `ERROR` and a message, and a history that no
+ * dictionary word matches is answered with `NONE`. Blank lines are skipped.
+ *
+ * Lines are guessed in parallel and answered in the order they were read. At most `maxInFlight`
+ * lines are read ahead of the oldest unanswered line, so a fast producer can not queue unbounded
+ * work. Whenever no more input is ready, every pending line is answered and the output is flushed,
+ * so a script can also write one line at a time and wait for its answer.
+ */
+public class BatchSolver {
+
+    // answers a line whose history no dictionary word matches
+    static final String NONE = "NONE";
+
+    // the Guesser shared by every game, it must be safe to call from multiple threads
+    private final Guesser guesser;
+
+    private final int threads;
+
+    private final int maxInFlight;
+
+    /**
+     * @param guesser - the Guesser used for every line, it must be safe to call from multiple threads
+     * @param threads - the number of lines to guess at the same time
+     * @param maxInFlight - the most lines read but not yet answered
+     * @throws IllegalArgumentException if `threads` or `maxInFlight` is less than 1
+     */
+    public BatchSolver(Guesser guesser, int threads, int maxInFlight) {
+        if (threads < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("threads and maxInFlight must be at least 1");
+        }
+        this.guesser = guesser;
+        this.threads = threads;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * answers every line of `in` on `out`, until the end of `in`
+     * @return the number of lines answered
+     */
+    public long run(BufferedReader in, Writer out) throws IOException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            ArrayDeque<Future<String>> pending = new ArrayDeque<>();
+            long answered = 0L;
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String request = line;
+                pending.add(executor.submit(() -> answer(guesser, request)));
+                // answer the lines that are done, and wait for the oldest when too many are pending
+                while (!pending.isEmpty() && (pending.size() >= maxInFlight || pending.peek().isDone())) {
+                    write(pending.remove(), out);
+                    answered++;
+                }
+                if (!in.ready()) {
+                    // the next read may wait for input, which may be waiting for these answers
+                    while (!pending.isEmpty()) {
+                        write(pending.remove(), out);
+                        answered++;
+                    }
+                    out.flush();
+                }
+            }
+            while (!pending.isEmpty()) {
+                write(pending.remove(), out);
+                answered++;
+            }
+            out.flush();
+            return answered;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void write(Future<String> answer, Writer out) throws IOException, InterruptedException {
+        try {
+            out.write(answer.get());
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("guess failed", e.getCause());
+        }
+        out.write('\n');
+    }
+
+    /**
+     * answers a single line of the protocol
+     * @param guesser - the Guesser that makes the guess
+     * @param line - a game id followed by pairs of a guessed word and its correctness pattern
+     * @return the game id followed by the next guess, `NONE`, or `ERROR` and a message
+     */
+    static String answer(Guesser guesser, String line) {
+        String[] tokens = line.strip().split("\\s+");
+        String id = tokens[0];
+        if (tokens.length % 2 == 0) {
+            return id + " ERROR each guessed word must be followed by its correctness pattern";
+        }
+        List<Guess> history = new ArrayList<>(tokens.length / 2);
+        for (int i = 1; i < tokens.length; i += 2) {
+            String word = tokens[i].toLowerCase(Locale.ROOT);
+            if (!word.matches("[a-z]{5}")) {
+                return id + " ERROR guessed words must be 5 letters: " + tokens[i];
+            }
+            try {
+                history.add(new Guess(word, CorrectnessPattern.parse(tokens[i + 1].toLowerCase(Locale.ROOT))));
+            } catch (IllegalArgumentException e) {
+                return id + " ERROR correctness patterns must be 5 of the letters 'c' 'm' or 'w': " + tokens[i + 1];
+            }
+        }
+        String guess = guesser.guess(history);
+        return id + " " + (guess == null ? NONE : guess);
+    }
+}
@@ -1,43 +1,106 @@
 package org.example.wordle;
 
-import java.util.Arrays;
+import org.example.wordle.dictionary.WordCodec;
+
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * CorrectnessPattern contains the details of which characters of a guessed word
  * are Correct, Misplaced, or Wrong.
  *
+ * It is a thin view over a {@link PatternCode}, used for parsing and printing patterns. Hot paths
+ * should work with the primitive pattern code directly.
+ *
+ * Patterns are five letters unless they are created with another length, from 4 to 8 letters.
  */
 public class CorrectnessPattern {
 
-    // the correctness pattern stores as an array of Correctness of length 5
-    private final Correctness[] pattern;
+    // the correctness pattern packed into a base-3 pattern code
+    private int code;
+
+    // the number of letters in the pattern
+    private final int length;
 
     public CorrectnessPattern() {
-        this.pattern = new Correctness[] {
-                Correctness.WRONG,
-                Correctness.WRONG,
-                Correctness.WRONG,
-                Correctness.WRONG,
-                Correctness.WRONG,
-        };
+        this(PatternCode.COUNT - 1, PatternCode.WORD_LENGTH);
     }
 
+    /**
+     * @throws IllegalArgumentException if the pattern is not 4 to 8 letters
+     */
     public CorrectnessPattern(Correctness[] pattern) {
-        this.pattern = pattern;
+        this(PatternCode.encode(pattern), checkLength(pattern.length));
     }
 
+    /**
+     * @throws IllegalArgumentException if the pattern is not 4 to 8 letters
+     */
     public CorrectnessPattern(List<Correctness> pattern) {
-        assert pattern.size() == 5;
-        this.pattern = pattern.toArray(new Correctness[5]);
+        this(pattern.toArray(new Correctness[0]));
+    }
+
+    private CorrectnessPattern(int code) {
+        this(code, PatternCode.WORD_LENGTH);
+    }
+
+    private CorrectnessPattern(int code, int length) {
+        this.code = code;
+        this.length = length;
+    }
+
+    // returns length if it is between 4 and 8 letters
+    private static int checkLength(int length) {
+        PatternCode.count(length);
+        return length;
+    }
+
+    /**
+     * @param code - a pattern code in the range 0 to 242
+     * @return a new CorrectnessPattern for the given pattern code
+     * @throws IllegalArgumentException if code is not a valid pattern code
+     */
+    public static CorrectnessPattern fromCode(int code) {
+        if (code < 0 || code >= PatternCode.COUNT) {
+            throw new IllegalArgumentException("pattern code must be between 0 and " + (PatternCode.COUNT - 1));
+        }
+        return new CorrectnessPattern(code);
+    }
+
+    /**
+     * @param code - a pattern code in the range 0 to {@link PatternCode#count(int)} - 1
+     * @param length - the number of letters in the pattern
+     * @return a new CorrectnessPattern of `length` letters for the given pattern code
+     * @throws IllegalArgumentException if length is not 4 to 8 or code is not a valid pattern code
+     */
+    public static CorrectnessPattern fromCode(int code, int length) {
+        if (code < 0 || code >= PatternCode.count(length)) {
+            throw new IllegalArgumentException("pattern code must be between 0 and " + (PatternCode.count(length) - 1));
+        }
+        return new CorrectnessPattern(code, length);
     }
 
     /**
      * @return the pattern array of this CorrectnessPattern
      */
     public Correctness[] getPattern() {
-        return pattern;
+        return PatternCode.decode(code, length);
+    }
+
+    /**
+     * @return the number of letters in this pattern
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return this pattern packed into a pattern code of a word of {@link #length()} letters
+     * @see PatternCode
+     */
+    public int code() {
+        return code;
     }
 
     /**
@@ -45,11 +108,13 @@ public class CorrectnessPattern {
      * @return the correctness enum at the sepcified index of this pattern
      */
     public Correctness get(int index) {
-        return pattern[index];
+        return PatternCode.get(code, index, length);
     }
 
     public void set(int index, Correctness correctness) {
-        this.pattern[index] = correctness;
+        Correctness[] pattern = getPattern();
+        pattern[index] = correctness;
+        this.code = PatternCode.encode(pattern);
     }
 
     /**
@@ -58,41 +123,14 @@ public class CorrectnessPattern {
      * @param answer - the wordle answer to compare the guess's characters against
      * @param guess - the word that will be compared against the answer
      * @return a CorrectnessPattern containing results of the comparison
+     * @throws IllegalArgumentException if the words are not the same length of 4 to 8 letters
+     * @see PatternCode#computeCode(String, String) for an allocation free version
      */
     public static CorrectnessPattern compute(String answer, String guess) {
-        assert answer.length() == 5;
-        assert guess.length() == 5;
-
-        CorrectnessPattern cp = new CorrectnessPattern();
-
-        // mark green characters
-        for (int i = 0; i < answer.length(); i++) {
-            if (answer.charAt(i) == guess.charAt(i)) {
-                cp.set(i, Correctness.CORRECT);
-            }
+        if (answer.length() != guess.length()) {
+            throw new IllegalArgumentException("the answer and the guess must be the same length: " + answer + " " + guess);
         }
-
-        // mark yellow, misplaced, characters
-        boolean[] used = new boolean[] {false, false, false, false, false};
-        for (int i = 0; i < cp.pattern.length; i++) {
-            if (cp.get(i) == Correctness.CORRECT) {
-                used[i] = true;
-            }
-        }
-        for (int i = 0; i < guess.length(); i++) {
-            if (cp.get(i) == Correctness.CORRECT) {
-                // position already marked green
-                continue;
-            }
-            for (int ai = 0; ai < answer.length(); ai++) {
-                if (answer.charAt(ai) == guess.charAt(i) && !used[ai]) {
-                    used[ai] = true;
-                    cp.set(i, Correctness.MISPLACED);
-                    break;
-                }
-            }
-        }
-        return cp;
+        return new CorrectnessPattern(PatternCode.computeCode(answer, guess), checkLength(guess.length()));
     }
 
 
@@ -101,16 +139,17 @@ public class CorrectnessPattern {
      * CorrectnessPattern type.
      * @param pattern - the String to parse
      * @return a new CorrectnessPattern
-     * @throws IllegalArgumentException if pattern is not 5 characters or does not contain a valid
-     * correctness pattern character
+     * @throws IllegalArgumentException if pattern is not 4 to 8 characters or does not contain a
+     * valid correctness pattern character
      */
     public static CorrectnessPattern parse(String pattern) throws IllegalArgumentException {
-        // check length of pattern == 5
-        if (pattern.length() != 5) {
-            throw new IllegalArgumentException("correctness pattern must be 5 characters");
+        // check length of pattern is 4 to 8, usually 5
+        if (pattern.length() < WordCodec.MIN_WORD_LENGTH || pattern.length() > WordCodec.MAX_WORD_LENGTH) {
+            throw new IllegalArgumentException("correctness pattern must be " + WordCodec.MIN_WORD_LENGTH
+                    + " to " + WordCodec.MAX_WORD_LENGTH + " characters");
         }
 
-        Correctness[] cp = new Correctness[5];
+        Correctness[] cp = new Correctness[pattern.length()];
 
         for (int i = 0; i < pattern.length(); i++) {
             char c = pattern.charAt(i);
@@ -127,23 +166,27 @@ public class CorrectnessPattern {
 
 
     /**
-     * computes the Cartesian Product of all possible correctness patterns for a 5 letter word.
+     * generates all possible correctness patterns for a 5 letter word.
      * There are 3 correctness patterns for each of the 5 character positions in a word, so the
      * total patterns will be of length 3^5.
      * Some patterns are impossible to reach so in reality this would be slightly
-     * less than 3^5, but it should not affect our calculations. We'll generate the Cartesian
-     * Product and optimize later
-     * @return a List of CorrectnessPattern
+     * less than 3^5, but it should not affect our calculations.
+     * @return a List of CorrectnessPattern, ordered by their pattern code
      */
     public static List<CorrectnessPattern> patterns() {
-        return com.google.common.collect.Lists.cartesianProduct(
-                List.of(Correctness.CORRECT, Correctness.MISPLACED, Correctness.WRONG),
-                List.of(Correctness.CORRECT, Correctness.MISPLACED, Correctness.WRONG),
-                List.of(Correctness.CORRECT, Correctness.MISPLACED, Correctness.WRONG),
-                List.of(Correctness.CORRECT, Correctness.MISPLACED, Correctness.WRONG),
-                List.of(Correctness.CORRECT, Correctness.MISPLACED, Correctness.WRONG)
-        ).stream()
-                .map(CorrectnessPattern::new)
+        return IntStream.range(0, PatternCode.COUNT)
+                .mapToObj(CorrectnessPattern::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * generates all 3^length possible correctness patterns for a word of `length` letters
+     * @return a List of CorrectnessPattern, ordered by their pattern code
+     * @throws IllegalArgumentException if length is not between 4 and 8
+     */
+    public static List<CorrectnessPattern> patterns(int length) {
+        return IntStream.range(0, PatternCode.count(length))
+                .mapToObj(code -> new CorrectnessPattern(code, length))
                 .collect(Collectors.toList());
     }
 
@@ -152,18 +195,18 @@ public class CorrectnessPattern {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         CorrectnessPattern that = (CorrectnessPattern) o;
-        return Arrays.equals(pattern, that.pattern);
+        return code == that.code && length == that.length;
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(pattern);
+        return 31 * length + code;
     }
 
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder(5);
-        for (Correctness c : this.pattern) {
+        StringBuilder sb = new StringBuilder(length);
+        for (Correctness c : getPattern()) {
             switch (c) {
                 case CORRECT -> sb.append("C");
                 case MISPLACED -> sb.append("M");
@@ -1,5 +1,7 @@
 package org.example.wordle;
 
+import org.example.wordle.table.PatternTable;
+
 /**
  * Holds a word that was guessed in a Wordle turn, along with the Correctness "mask"
  * of the word. In a sense, it's really the outcome of a guess
@@ -8,6 +10,15 @@ package org.example.wordle;
  */
 public record Guess(String word, CorrectnessPattern mask) {
 
+    /**
+     * @throws IllegalArgumentException if the word and the mask are not the same length
+     */
+    public Guess {
+        if (word.length() != mask.length()) {
+            throw new IllegalArgumentException("the correctness pattern must be as long as the word: " + word + " " + mask);
+        }
+    }
+
     /**
      * Compares `otherWord` against the word in this guess to see if `otherWord` could be a
      * plausible guess... a.k.a  a "match"
@@ -15,6 +26,14 @@ public record Guess(String word, CorrectnessPattern mask) {
      * that `word` would match this Guess based on the Guesses mask data
      */
     public boolean matches(String otherWord) {
-        return CorrectnessPattern.compute(otherWord, this.word).equals(this.mask);
+        return PatternCode.computeCode(otherWord, this.word) == this.mask.code();
+    }
+
+    /**
+     * Same as {@link #matches(String)} but looks the pattern up in a precomputed PatternTable
+     * @param table - a table containing the patterns of this guess's word
+     */
+    public boolean matches(String otherWord, PatternTable table) {
+        return table.code(otherWord, this.word) == this.mask.code();
     }
 }
@@ -1,10 +1,15 @@
 package org.example.wordle;
 
+import org.example.wordle.algorithm.GameState;
+
 import java.util.List;
 
 /**
  * Guesser contains an wordle guessing algorithm.
  *
+ * A Guesser should keep no state between calls to {@link #guess(List)}, everything it needs to
+ * know about a game is in the game's history. That way a single Guesser, and the dictionary it
+ * holds, can be shared by many concurrent games.
  */
 public interface Guesser {
 
@@ -28,4 +33,15 @@ public interface Guesser {
      * @return a String that would be the best guess
      */
     String guess(List<Guess> history);
+
+    /**
+     * Same as {@link #guess(List)} for a game whose history was already replayed into `state`,
+     * such as a game whose remaining words are also reported, so that guessers which replay the
+     * history do not replay it again. `state` is not modified.
+     * @param state - the state of the game after its history
+     * @return a String that would be the best guess
+     */
+    default String guess(GameState state) {
+        return guess(state.history());
+    }
 }
@@ -0,0 +1,274 @@
+package org.example.wordle;
+
+import org.example.wordle.dictionary.WordCodec;
+
+/**
+ * A primitive codec for correctness patterns.
+ *
+ * A correctness pattern of a five-letter word is packed into a single base-3 number, where each
+ * position of the word is one digit (most significant digit first) and the digit is the
+ * {@link Correctness#ordinal()} of that position. This gives a code in the range 0 to 242
+ * (3^5 - 1) that fits into a single unsigned byte, so patterns can be computed, compared and
+ * counted without allocating any objects.
+ *
+ * Codes are ordered the same way as {@link CorrectnessPattern#patterns()}, so code 0 is "ccccc"
+ * and code 242 is "wwwww".
+ *
+ * Words of 4 to 8 letters are coded the same way with one digit per letter, so their codes range
+ * up to {@link #count(int)} - 1, 6560 for 8 letters. The methods that take a `length` handle these
+ * words, the others assume five letters.
+ */
+public final class PatternCode {
+
+    // the number of letters in a wordle word
+    public static final int WORD_LENGTH = 5;
+
+    // the total number of possible pattern codes, 3^5
+    public static final int COUNT = 243;
+
+    // the code of a pattern where every letter is correct
+    public static final int ALL_CORRECT = 0;
+
+    // the value of each digit of a code, indexed by the position of the letter in the word
+    private static final int[] PLACE = {81, 27, 9, 3, 1};
+
+    // the powers of 3, POWERS[n] is the number of codes of an n letter word
+    private static final int[] POWERS = {1, 3, 9, 27, 81, 243, 729, 2187, 6561};
+
+    private static final Correctness[] VALUES = Correctness.values();
+
+    // system property that, when false, computes codes in bulk without the Vector API
+    private static final String vectorProperty = "wordle.vector";
+
+    /**
+     * true when {@link #computeCodes(int, int[], int, int[])} uses the incubator Vector API. The
+     * JVM must be started with `--add-modules jdk.incubator.vector`, and the `wordle.vector`
+     * system property must not be false
+     */
+    public static final boolean VECTORIZED = Boolean.parseBoolean(System.getProperty(vectorProperty, "true"))
+            && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private PatternCode() {}
+
+    /**
+     * computes the pattern code of the given `guess` when compared against the given `answer`.
+     * This produces the same result as {@link CorrectnessPattern#compute(String, String)} but
+     * does not allocate.
+     * @param answer - the wordle answer to compare the guess's characters against
+     * @param guess - the word that will be compared against the answer
+     * @return the pattern code, in the range 0 to 242
+     */
+    public static int computeCode(String answer, String guess) {
+        int length = guess.length();
+        assert answer.length() == length;
+        assert length >= WordCodec.MIN_WORD_LENGTH && length <= WordCodec.MAX_WORD_LENGTH;
+
+        // bit i is set when position i of the answer has been "used" by a correct or misplaced letter
+        int used = 0;
+        // start with every position marked WRONG and then subtract to CORRECT or MISPLACED
+        int code = POWERS[length] - 1;
+
+        // mark green characters
+        for (int i = 0; i < length; i++) {
+            if (answer.charAt(i) == guess.charAt(i)) {
+                used |= 1 << i;
+                code -= 2 * POWERS[length - 1 - i];
+            }
+        }
+
+        // mark yellow, misplaced, characters
+        for (int i = 0; i < length; i++) {
+            if (answer.charAt(i) == guess.charAt(i)) {
+                // position already marked green
+                continue;
+            }
+            char g = guess.charAt(i);
+            for (int ai = 0; ai < length; ai++) {
+                if ((used & (1 << ai)) == 0 && answer.charAt(ai) == g) {
+                    used |= 1 << ai;
+                    code -= POWERS[length - 1 - i];
+                    break;
+                }
+            }
+        }
+        return code;
+    }
+
+    /**
+     * computes the pattern code of the packed `guess` when compared against the packed `answer`.
+     * This produces the same result as {@link #computeCode(String, String)} for the unpacked words
+     * @param answer - the wordle answer, packed with {@link WordCodec#pack(String)}
+     * @param guess - the guessed word, packed with {@link WordCodec#pack(String)}
+     * @return the pattern code, in the range 0 to 242
+     */
+    public static int computeCode(int answer, int guess) {
+        // bit i is set when position i of the answer has been "used" by a correct or misplaced letter
+        int used = 0;
+        // start with every position marked WRONG and then subtract to CORRECT or MISPLACED
+        int code = COUNT - 1;
+
+        // mark green characters, every 5 bit letter of `same` is zero where the letters are equal
+        int same = answer ^ guess;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            if (((same >>> (i * 5)) & 31) == 0) {
+                used |= 1 << i;
+                code -= 2 * PLACE[i];
+            }
+        }
+        if (used == 0b11111) {
+            return code;
+        }
+
+        // mark yellow, misplaced, characters
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            if (((same >>> (i * 5)) & 31) == 0) {
+                // position already marked green
+                continue;
+            }
+            int g = (guess >>> (i * 5)) & 31;
+            for (int ai = 0; ai < WORD_LENGTH; ai++) {
+                if ((used & (1 << ai)) == 0 && ((answer >>> (ai * 5)) & 31) == g) {
+                    used |= 1 << ai;
+                    code -= PLACE[i];
+                    break;
+                }
+            }
+        }
+        return code;
+    }
+
+    /**
+     * computes the pattern code of the `guess` when compared against the `answer`, both words of
+     * `length` letters packed with {@link WordCodec#packLong(String)}. This produces the same
+     * result as {@link #computeCode(String, String)} for the unpacked words
+     * @return the pattern code, in the range 0 to {@link #count(int)} - 1
+     */
+    public static int computeCode(long answer, long guess, int length) {
+        // bit i is set when position i of the answer has been "used" by a correct or misplaced letter
+        int used = 0;
+        // start with every position marked WRONG and then subtract to CORRECT or MISPLACED
+        int code = POWERS[length] - 1;
+
+        // mark green characters, every 5 bit letter of `same` is zero where the letters are equal
+        long same = answer ^ guess;
+        for (int i = 0; i < length; i++) {
+            if (((same >>> (i * 5)) & 31) == 0) {
+                used |= 1 << i;
+                code -= 2 * POWERS[length - 1 - i];
+            }
+        }
+        if (used == (1 << length) - 1) {
+            return code;
+        }
+
+        // mark yellow, misplaced, characters
+        for (int i = 0; i < length; i++) {
+            if (((same >>> (i * 5)) & 31) == 0) {
+                // position already marked green
+                continue;
+            }
+            long g = (guess >>> (i * 5)) & 31;
+            for (int ai = 0; ai < length; ai++) {
+                if ((used & (1 << ai)) == 0 && ((answer >>> (ai * 5)) & 31) == g) {
+                    used |= 1 << ai;
+                    code -= POWERS[length - 1 - i];
+                    break;
+                }
+            }
+        }
+        return code;
+    }
+
+    /**
+     * @param length - the number of letters in a word
+     * @return the number of pattern codes of a word of `length` letters, 3^length
+     * @throws IllegalArgumentException if length is not between 4 and 8
+     */
+    public static int count(int length) {
+        if (length < WordCodec.MIN_WORD_LENGTH || length > WordCodec.MAX_WORD_LENGTH) {
+            throw new IllegalArgumentException("words must be " + WordCodec.MIN_WORD_LENGTH + " to "
+                    + WordCodec.MAX_WORD_LENGTH + " letters: " + length);
+        }
+        return POWERS[length];
+    }
+
+    /**
+     * computes the pattern codes of the packed `guess` against each of the first `count` packed
+     * `answers`, the same codes as {@link #computeCode(int, int)} but many at a time with SIMD
+     * instructions when {@link #VECTORIZED} is true
+     * @param guess - the guessed word, packed with {@link WordCodec#pack(String)}
+     * @param answers - the wordle answers, packed with {@link WordCodec#pack(String)}
+     * @param count - the number of answers to compute codes for
+     * @param codes - receives the code of each answer, at the answer's index
+     */
+    public static void computeCodes(int guess, int[] answers, int count, int[] codes) {
+        if (VECTORIZED) {
+            VectorPatternCode.computeCodes(guess, answers, count, codes);
+        } else {
+            computeCodesScalar(guess, answers, count, codes);
+        }
+    }
+
+    // the scalar fallback of computeCodes
+    static void computeCodesScalar(int guess, int[] answers, int count, int[] codes) {
+        for (int a = 0; a < count; a++) {
+            codes[a] = computeCode(answers[a], guess);
+        }
+    }
+
+    /**
+     * packs the given correctness array into a pattern code
+     * @param pattern - an array of Correctness values, one for each letter of the word
+     * @return the pattern code, in the range 0 to {@link #count(int)} - 1 of the array's length
+     */
+    public static int encode(Correctness[] pattern) {
+        int code = 0;
+        for (Correctness c : pattern) {
+            code = code * 3 + c.ordinal();
+        }
+        return code;
+    }
+
+    /**
+     * unpacks a pattern code into a new array of Correctness values
+     * @param code - a pattern code in the range 0 to 242
+     * @return a new array of five Correctness values
+     * @throws IllegalArgumentException if code is not a valid pattern code
+     */
+    public static Correctness[] decode(int code) {
+        return decode(code, WORD_LENGTH);
+    }
+
+    /**
+     * unpacks the pattern code of a word of `length` letters into a new array of Correctness values
+     * @param code - a pattern code in the range 0 to {@link #count(int)} - 1
+     * @return a new array of `length` Correctness values
+     * @throws IllegalArgumentException if code is not a valid pattern code of a word of `length` letters
+     */
+    public static Correctness[] decode(int code, int length) {
+        if (code < 0 || code >= count(length)) {
+            throw new IllegalArgumentException("pattern code must be between 0 and " + (count(length) - 1));
+        }
+        Correctness[] pattern = new Correctness[length];
+        for (int i = length - 1; i >= 0; i--) {
+            pattern[i] = VALUES[code % 3];
+            code /= 3;
+        }
+        return pattern;
+    }
+
+    /**
+     * @return the Correctness of the letter at `index` within the pattern packed in `code`
+     */
+    public static Correctness get(int code, int index) {
+        return VALUES[(code / PLACE[index]) % 3];
+    }
+
+    /**
+     * @return the Correctness of the letter at `index` within the pattern of a word of `length`
+     * letters packed in `code`
+     */
+    public static Correctness get(int code, int index, int length) {
+        return VALUES[(code / POWERS[length - 1 - index]) % 3];
+    }
+}
@@ -0,0 +1,263 @@
+package org.example.wordle;
+
+import org.example.wordle.algorithm.EntropyScorer;
+import org.example.wordle.algorithm.GuessCache;
+import org.example.wordle.algorithm.Prune;
+import org.example.wordle.algorithm.PruneMetrics;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.table.PatternTable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * A non-interactive wordle simulation that plays a game for every answer in answers.txt and
+ * reports how many turns the Guesser needed and how fast it was.
+ *
+ * Games are played concurrently on a pool of worker threads, all sharing one stateless Guesser.
+ * The feedback for each guess is computed with {@link CorrectnessPattern#compute(String, String)}.
+ */
+public class Simulation {
+
+    // the name of the file containing the wordle answers
+    static final String answersFileName = "answers.txt";
+
+    // system property holding the number of games to play at the same time, defaults to the number of processors
+    private static final String threadsProperty = "wordle.simulation.threads";
+
+    // system property holding the number of answers to play, defaults to every answer in answers.txt
+    private static final String gamesProperty = "wordle.simulation.games";
+
+    // a game not solved within this many turns is a failure, just like in wordle
+    public static final int MAX_TURNS = 6;
+
+    // a game is abandoned after this many turns
+    private static final int TURN_LIMIT = 20;
+
+    // the Guesser shared by every game, it must be safe to call from multiple threads
+    private final Guesser guesser;
+
+    private final int threads;
+
+    /**
+     * @param guesser - the Guesser used by every game, it must be safe to call from multiple threads
+     * @param threads - the number of games to play at the same time
+     */
+    public Simulation(Guesser guesser, int threads) {
+        this.guesser = guesser;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Dictionary dictionary = Solver.loadDictionary();
+        System.out.println("loaded " + dictionary.size() + " words from dictionary.txt");
+        PatternTable table = Solver.loadPatternTable(dictionary);
+
+        List<String> answers = loadAnswers();
+        int games = Integer.getInteger(gamesProperty, answers.size());
+        answers = answers.subList(0, Math.min(games, answers.size()));
+        int threads = Integer.getInteger(threadsProperty, Runtime.getRuntime().availableProcessors());
+
+        // games run in parallel with each other, so each game scores its guesses on a single thread
+        GuessCache cache = Solver.createGuessCache();
+        Prune prune = Solver.createPrune(dictionary, table, EntropyScorer.SEQUENTIAL, cache);
+        Simulation simulation = new Simulation(Solver.createGuesser(prune), threads);
+        System.out.println("playing " + answers.size() + " games on " + threads + " threads");
+        simulation.run(answers).print(System.out);
+        if (cache != null) {
+            System.out.println("guess cache " + cache.stats());
+        }
+        if (prune.turnListener() instanceof PruneMetrics metrics) {
+            System.out.println(metrics);
+        }
+    }
+
+    /**
+     * plays a game for every answer in `answers`
+     * @param answers - the answers to play
+     * @return a Report summarizing all the games that were played
+     */
+    public Report run(List<String> answers) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<GameResult>> futures = new ArrayList<>(answers.size());
+            for (String answer : answers) {
+                futures.add(executor.submit(() -> play(answer)));
+            }
+            List<GameResult> results = new ArrayList<>(answers.size());
+            for (Future<GameResult> future : futures) {
+                results.add(future.get());
+            }
+            return Report.of(results, System.nanoTime() - start);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("simulated game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * plays a single game of wordle until `answer` is guessed, or the turn limit is reached
+     * @param answer - the answer of the game
+     * @return the outcome of the game
+     */
+    public GameResult play(String answer) {
+        List<Guess> history = new ArrayList<>();
+        long[] turnNanos = new long[TURN_LIMIT];
+
+        for (int turn = 1; turn <= TURN_LIMIT; turn++) {
+            long start = System.nanoTime();
+            String guess = guesser.guess(history);
+            turnNanos[turn - 1] = System.nanoTime() - start;
+
+            if (answer.equals(guess)) {
+                return new GameResult(answer, turn, true, Arrays.copyOf(turnNanos, turn));
+            }
+            if (guess == null) {
+                // the guesser ran out of words, the answer is not in its dictionary
+                return new GameResult(answer, turn, false, Arrays.copyOf(turnNanos, turn));
+            }
+            history.add(new Guess(guess, CorrectnessPattern.compute(answer, guess)));
+        }
+        return new GameResult(answer, TURN_LIMIT, false, turnNanos);
+    }
+
+    /**
+     * reads the words stored in answers.txt
+     * @return the answers, in file order
+     */
+    static List<String> loadAnswers() {
+        InputStream is = Simulation.class.getClassLoader().getResourceAsStream(answersFileName);
+        if (is == null) {
+            throw new IllegalStateException(answersFileName + " not found on the classpath");
+        }
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            return br.lines()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty())
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("error reading " + answersFileName, e);
+        }
+    }
+
+    /**
+     * The outcome of one simulated game
+     * @param answer - the answer of the game
+     * @param turns - the number of turns that were played
+     * @param solved - true if the answer was guessed
+     * @param turnNanos - how long the Guesser took on each turn, in nanoseconds
+     */
+    public record GameResult(String answer, int turns, boolean solved, long[] turnNanos) {
+
+        /**
+         * @return true if the game was not solved within {@link #MAX_TURNS}
+         */
+        public boolean failed() {
+            return !solved || turns > MAX_TURNS;
+        }
+    }
+
+    /**
+     * A summary of a simulation run
+     * @param games - the number of games played
+     * @param turnDistribution - maps a number of turns to the number of games solved in that many turns
+     * @param failures - the number of games not solved within {@link #MAX_TURNS}
+     * @param unsolved - the number of games abandoned at the turn limit
+     * @param averageTurns - the average number of turns of the solved games
+     * @param gamesPerSecond - the number of games played per second of wall clock time
+     * @param p50TurnNanos - the median time the Guesser took for a turn
+     * @param p99TurnNanos - the 99th percentile of the time the Guesser took for a turn
+     */
+    public record Report(int games,
+                         SortedMap<Integer, Integer> turnDistribution,
+                         int failures,
+                         int unsolved,
+                         double averageTurns,
+                         double gamesPerSecond,
+                         long p50TurnNanos,
+                         long p99TurnNanos) {
+
+        static Report of(List<GameResult> results, long elapsedNanos) {
+            SortedMap<Integer, Integer> distribution = new TreeMap<>();
+            int failures = 0;
+            int unsolved = 0;
+            long solvedTurns = 0;
+            int turnCount = 0;
+            for (GameResult result : results) {
+                if (result.failed()) {
+                    failures++;
+                }
+                if (result.solved()) {
+                    distribution.merge(result.turns(), 1, Integer::sum);
+                    solvedTurns += result.turns();
+                } else {
+                    unsolved++;
+                }
+                turnCount += result.turnNanos().length;
+            }
+
+            long[] latencies = new long[turnCount];
+            int i = 0;
+            for (GameResult result : results) {
+                for (long nanos : result.turnNanos()) {
+                    latencies[i++] = nanos;
+                }
+            }
+            Arrays.sort(latencies);
+
+            int solved = results.size() - unsolved;
+            return new Report(
+                    results.size(),
+                    distribution,
+                    failures,
+                    unsolved,
+                    solved == 0 ? 0.0 : (double) solvedTurns / solved,
+                    elapsedNanos == 0 ? 0.0 : results.size() / (elapsedNanos / 1e9),
+                    percentile(latencies, 0.50),
+                    percentile(latencies, 0.99));
+        }
+
+        // nearest-rank percentile of sorted values
+        private static long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0L;
+            }
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+
+        /**
+         * prints this report in a human readable form
+         */
+        public void print(PrintStream out) {
+            out.println("games played: " + games);
+            out.println("turn distribution:");
+            for (Map.Entry<Integer, Integer> entry : turnDistribution.entrySet()) {
+                out.printf("  %2d turns: %d%n", entry.getKey(), entry.getValue());
+            }
+            out.printf("average turns: %.4f%n", averageTurns);
+            out.println("failures (more than " + MAX_TURNS + " turns): " + failures);
+            out.println("unsolved: " + unsolved);
+            out.printf("games per second: %.2f%n", gamesPerSecond);
+            out.printf("turn latency p50: %.3f ms, p99: %.3f ms%n", p50TurnNanos / 1e6, p99TurnNanos / 1e6);
+        }
+    }
+}
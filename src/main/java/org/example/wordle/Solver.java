@@ -1,8 +1,38 @@
 package org.example.wordle;
 
+import org.example.wordle.algorithm.DecisionTree;
+import org.example.wordle.algorithm.EntropyScorer;
+import org.example.wordle.algorithm.GameState;
+import org.example.wordle.algorithm.GuessCache;
+import org.example.wordle.algorithm.HardMode;
+import org.example.wordle.algorithm.Lookahead;
+import org.example.wordle.algorithm.MultiBoardGame;
+import org.example.wordle.algorithm.MultiBoardSolver;
+import org.example.wordle.algorithm.OpeningBook;
 import org.example.wordle.algorithm.Prune;
+import org.example.wordle.algorithm.PruneMetrics;
+import org.example.wordle.algorithm.SavedGame;
+import org.example.wordle.algorithm.TreeGuesser;
+import org.example.wordle.dictionary.AnswerPool;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.DictionaryLoader;
+import org.example.wordle.dictionary.Weighting;
+import org.example.wordle.dictionary.WordCodec;
+import org.example.wordle.dictionary.WordList;
+import org.example.wordle.server.SolverServer;
+import org.example.wordle.table.PatternTable;
 
-import java.io.*;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
 
 /**
@@ -13,33 +43,145 @@ public class Solver {
     // the name of the dictionary file
     private static final String dictionaryFileName = "dictionary.txt";
 
+    // the name of the binary dictionary loaded instead of dictionaryFileName if it is on the classpath
+    private static final String binaryFileName = "dictionary.bin";
+
+    // system property holding the path of an optional pattern table file, see PatternTable
+    private static final String patternTableProperty = "wordle.patternTable";
+
+    // system property holding the number of threads used to score guesses, defaults to the number of processors
+    private static final String parallelismProperty = "wordle.parallelism";
+
+    // system property that, when true, scores guesses on a single thread so that runs can be reproduced
+    private static final String sequentialProperty = "wordle.sequential";
+
+    // system property holding the most guesses to cache, 0 disables the cache
+    private static final String guessCacheProperty = "wordle.guessCache";
+
+    // the default number of guesses to cache, each cached guess takes at most about 1.7KB
+    private static final int defaultGuessCacheSize = 4096;
+
+    // system property choosing how likely each dictionary word is: "counts" (the default) by its occurrence count,
+    // "sigmoid" by the rank of its count, or "answers" by its count with the words of answers.txt boosted
+    private static final String weightingProperty = "wordle.weighting";
+
+    // the rank of the words that weigh 1/2 with the "sigmoid" weighting, and how quickly the weights fall around it
+    private static final double sigmoidMidpoint = 3000.0;
+    private static final double sigmoidWidth = 300.0;
+
+    // how many times more likely the words of answers.txt are with the "answers" weighting
+    private static final double answerBoost = 100.0;
+
+    // system property choosing the possible answers: "dictionary" (the default) for every dictionary word,
+    // "uniform" for the words of answers.txt, or "weighted" for the words of answers.txt weighted by their counts
+    private static final String answerPoolProperty = "wordle.answerPool";
+
+    // system property holding the number of guesses to look ahead, 0 (the default) picks the guess with the most information
+    private static final String lookaheadProperty = "wordle.lookahead";
+
+    // system property holding the number of best guesses by entropy a lookahead searches at every step
+    private static final String lookaheadCandidatesProperty = "wordle.lookahead.candidates";
+
+    // system property holding the milliseconds a lookahead may take before it returns the best guess found so far
+    private static final String lookaheadBudgetProperty = "wordle.lookahead.budgetMillis";
+
+    // system property that, when true, measures every guess and exposes the totals as the JMX MBean
+    // org.example.wordle:type=PruneMetrics,name="solver"
+    private static final String metricsProperty = "wordle.metrics";
+
+    // system property that, when true, only makes guesses that use every revealed hint, like the hard mode of wordle
+    private static final String hardModeProperty = "wordle.hardMode";
+
+    // system property that, when false, ignores the decision tree even when it was built for the answers
+    private static final String decisionTreeProperty = "wordle.decisionTree";
+
+    // system property holding the port `Solver serve` listens on
+    private static final String serverPortProperty = "wordle.server.port";
+
+    // system property holding the number of lines `Solver batch` guesses at the same time, defaults to the number of processors
+    private static final String batchThreadsProperty = "wordle.batch.threads";
+
+    // system property holding the most lines `Solver batch` reads ahead of the oldest unanswered line
+    private static final String batchInFlightProperty = "wordle.batch.inFlight";
+
+    // system property holding the path of a text word list, one "word count" pair per line, of 4 to 8
+    // letter words that `Solver multi` plays instead of the dictionary
+    private static final String wordsProperty = "wordle.words";
+
+    // system property holding the number of best ranked words `Solver multi` scores exactly every turn
+    private static final String multiCandidatesProperty = "wordle.multi.candidates";
+
+    // system property holding the path of an engine snapshot, the loaded and weighted dictionary in the binary format.
+    // It is loaded instead of dictionary.txt while dictionary.txt and the weighting are unchanged, and rewritten otherwise
+    private static final String snapshotProperty = "wordle.snapshot";
+
+    // system property holding the path the interactive solver saves its game to after every guess, and resumes
+    // the game from when it starts
+    private static final String sessionProperty = "wordle.session";
+
+    // the number of letters in the words of the interactive solver
+    private static final int wordLength = WordCodec.WORD_LENGTH;
+
     // the guessing algorithm that will be used to solve a wordle challenge
     private Guesser guesser;
 
     // a history of guesses that have been made at each turn of a wordle challenge
     private List<Guess> guessHistory;
 
+    // tracks the words that could still be the answer, so the game can be saved and guessed without replaying it
+    private Prune prune;
+
+    // the game being played, null if it is not saved
+    private GameState game;
+
+    // the file the game is saved to after every guess, null if it is not saved
+    private Path sessionFile;
+
     Scanner scanner;
 
     public Solver() {
-        HashMap<String, Long> dictionary = loadDictionary();
+        Dictionary dictionary = loadDictionary();
         System.out.println("loaded " + dictionary.size() + " words from " + dictionaryFileName);
-        this.guesser = new Prune(dictionary);
+        this.prune = createPrune(dictionary, loadPatternTable(dictionary), createScorer(), createGuessCache());
+        this.guesser = createGuesser(this.prune);
         this.guessHistory = new ArrayList<>();
         this.scanner = new Scanner(System.in);
+        String session = System.getProperty(sessionProperty);
+        if (session != null) {
+            this.sessionFile = Path.of(session);
+            this.game = resumeGame(this.prune, this.sessionFile);
+            this.guessHistory.addAll(this.game.history());
+        }
     }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("serve")) {
+            serve();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("batch")) {
+            batch();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("multi")) {
+            multi(args.length > 1 ? Integer.parseInt(args[1]) : 4);
+            return;
+        }
         Solver solver = new Solver();
-        int turn = 1;
+        int turn = solver.guessHistory.size() + 1;
 
         System.out.println("Enter a guess and its resulting correctness pattern separated by a space then press ENTER, example:'tares ccwmm'  CTRL-C to exit");
+        if (turn > 1) {
+            System.out.println("resumed a game of " + solver.guessHistory.size() + " guesses, " + solver.game.remainingCount()
+                    + " words remain, try this word: " + solver.nextGuess() + "\n");
+        }
         System.out.print(String.format("Turn %d:", turn));
         while (solver.scanner.hasNextLine()) {
             Guess g = solver.parseNextLine();
             if (g != null) {
                 solver.guessHistory.add(g);
-                String bestWord = solver.guesser.guess(solver.guessHistory);
+                solver.saveGame(g);
+                String bestWord = solver.nextGuess();
                 System.out.println("try this word: " + bestWord + "\n");
                 turn++;
             } else {
@@ -51,50 +193,383 @@ public class Solver {
         solver.scanner.close();
     }
 
+    // the best next guess. A saved game already holds its remaining words, so its history is not replayed
+    private String nextGuess() {
+        return this.game != null ? this.guesser.guess(this.game) : this.guesser.guess(this.guessHistory);
+    }
+
+    /**
+     * resumes the game saved to `file`, or starts a new game if there is none, it was played with
+     * another dictionary or answers, or its answer was already guessed
+     */
+    static GameState resumeGame(Prune prune, Path file) {
+        if (Files.exists(file)) {
+            try {
+                SavedGame saved = SavedGame.load(file);
+                List<Guess> history = saved.history();
+                if (!history.isEmpty() && history.get(history.size() - 1).mask().code() == PatternCode.ALL_CORRECT) {
+                    return prune.newGame();
+                }
+                return saved.restore(prune);
+            } catch (IllegalArgumentException e) {
+                System.err.println("ignoring saved game " + file + ", it was played with another dictionary or answers");
+            } catch (IOException e) {
+                System.err.println("error reading saved game " + e);
+            }
+        }
+        return prune.newGame();
+    }
+
+    // adds `guess` to the saved game, if the game is saved. Once the answer is guessed the saved game is
+    // deleted, so the next launch starts a new game, and the rest of this session is not saved
+    private void saveGame(Guess guess) {
+        if (this.game == null) {
+            return;
+        }
+        try {
+            if (guess.mask().code() == PatternCode.ALL_CORRECT) {
+                this.game = null;
+                Files.deleteIfExists(this.sessionFile);
+                return;
+            }
+            this.prune.pruneRemaining(this.game, guess);
+            SavedGame.of(this.prune, this.game).save(this.sessionFile);
+        } catch (IOException e) {
+            System.err.println("error saving game " + e);
+        }
+    }
+
+    /**
+     * starts a {@link SolverServer} on the port in the `wordle.server.port` system property,
+     * configured by the same system properties as the interactive solver
+     */
+    private static void serve() throws IOException {
+        Dictionary dictionary = loadDictionary();
+        System.out.println("loaded " + dictionary.size() + " words from " + dictionaryFileName);
+        Prune prune = createPrune(dictionary, loadPatternTable(dictionary), createScorer(), createGuessCache());
+        SolverServer server = new SolverServer(Integer.getInteger(serverPortProperty, 8080), prune, createGuesser(prune));
+        server.start();
+        System.out.println("listening on port " + server.port() + ", POST a game history to /guess, metrics are at /metrics");
+    }
+
+    /**
+     * answers the lines of STDIN on STDOUT with a {@link BatchSolver}, configured by the same system
+     * properties as the interactive solver. Everything else is printed to STDERR.
+     */
+    private static void batch() throws IOException {
+        Dictionary dictionary = loadDictionary();
+        System.err.println("loaded " + dictionary.size() + " words from " + dictionaryFileName);
+        // lines are guessed in parallel with each other, so each line scores its guess on a single thread
+        Prune prune = createPrune(dictionary, loadPatternTable(dictionary), EntropyScorer.SEQUENTIAL, createGuessCache());
+        int threads = Integer.getInteger(batchThreadsProperty, Runtime.getRuntime().availableProcessors());
+        BatchSolver batch = new BatchSolver(createGuesser(prune), threads, Integer.getInteger(batchInFlightProperty, 1024));
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        try {
+            long answered = batch.run(in, out);
+            System.err.println("answered " + answered + " lines");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * plays an interactive game of `boards` boards at once with a {@link MultiBoardSolver}, using the
+     * words of the `wordle.words` word list, or the dictionary if it is not set. Each line is a
+     * guess followed by its correctness pattern on every board that is not solved yet, in board order.
+     */
+    private static void multi(int boards) throws IOException {
+        WordList words = loadWordList();
+        MultiBoardSolver solver = new MultiBoardSolver(words, Integer.getInteger(multiCandidatesProperty, MultiBoardSolver.DEFAULT_CANDIDATES));
+        MultiBoardGame game = solver.newGame(boards);
+        System.out.println("loaded " + words.size() + " words of " + words.length() + " letters, playing " + boards + " boards");
+        System.out.println("Enter a guess followed by its correctness pattern on each unsolved board then press ENTER, example:'tares ccwmm wwwww'  CTRL-C to exit");
+        System.out.println("try this word: " + solver.guess(game) + "\n");
+        Scanner scanner = new Scanner(System.in);
+        System.out.print(String.format("Turn %d:", game.turns() + 1));
+        while (scanner.hasNextLine()) {
+            String[] tokens = scanner.nextLine().strip().toLowerCase(Locale.ROOT).split("\\s+");
+            try {
+                solver.pruneRemaining(game, tokens[0], unsolvedPatterns(game, tokens));
+                if (game.isOver()) {
+                    System.out.println("solved every board in " + game.turns() + " turns");
+                    return;
+                }
+                String next = solver.guess(game);
+                System.out.println(next == null ? "no word matches the correctness patterns of every board" : "try this word: " + next + "\n");
+            } catch (IllegalArgumentException e) {
+                System.out.println("INVALID GUESS: " + e.getMessage());
+            }
+            System.out.print(String.format("Turn %d:", game.turns() + 1));
+        }
+    }
+
+    // the patterns of `tokens`, after the guessed word, assigned to the unsolved boards of `game` in order
+    private static List<CorrectnessPattern> unsolvedPatterns(MultiBoardGame game, String[] tokens) {
+        List<CorrectnessPattern> patterns = new ArrayList<>(game.boards());
+        int next = 1;
+        for (int b = 0; b < game.boards(); b++) {
+            if (game.isSolved(b)) {
+                patterns.add(null);
+            } else if (next < tokens.length) {
+                patterns.add(CorrectnessPattern.parse(tokens[next++]));
+            } else {
+                break;
+            }
+        }
+        if (patterns.size() != game.boards() || next != tokens.length) {
+            throw new IllegalArgumentException("expected the guessed word and a correctness pattern for each unsolved board");
+        }
+        return patterns;
+    }
+
     /**
      * reads and parses the next guess from STDIN using the given scanner.
-     * A guess consists of a 5 character word and a five character correctness pattern
+     * A guess consists of a word and a correctness pattern, each {@link #wordLength} letters
      * @return the Guess that was entered, or null if an error occurred while trying to
      * parse the input
      */
     private Guess parseNextLine() {
         Guess guess = null;
-        // each line of input should be of the form: \\w{5} \\w{5}
+        // each line of input should be of the form: [a-zA-Z]{5} [a-zA-Z]{5}, words of other characters cannot be packed
+        String token = "[a-zA-Z]{" + wordLength + "}";
         try {
-            String word = this.scanner.next("\\w{5}");
-            String pattern = this.scanner.next("\\w{5}");
+            String word = this.scanner.next(token);
+            String pattern = this.scanner.next(token);
             CorrectnessPattern cp = CorrectnessPattern.parse(pattern.toLowerCase(Locale.ROOT));
             guess = new Guess(word.toLowerCase(Locale.ROOT), cp);
         } catch (IllegalArgumentException e) {
-            System.out.println("INVALID PATTERN: correctness pattern must be 5 characters and consist of the letters 'c' 'm' or 'w'");
+            System.out.println("INVALID PATTERN: correctness pattern must be " + wordLength + " characters and consist of the letters 'c' 'm' or 'w'");
         } catch (InputMismatchException ime) {
-            System.out.println("INVALID PATTERN: word and correctness pattern must each be 5 characters");
+            System.out.println("INVALID PATTERN: word and correctness pattern must each be " + wordLength + " letters");
         }
 
         return guess;
     }
 
     /**
-     * reads the words and counts stored in dictionary.txt into a HashMap
-     * @return A hashMap that maps words to their occurrence count
+     * creates the scorer configured by the `wordle.sequential` and `wordle.parallelism` system properties
+     * @return a scorer that uses a pool of `wordle.parallelism` threads, or a sequential scorer
+     * if `wordle.sequential` is true
+     */
+    static EntropyScorer createScorer() {
+        if (Boolean.getBoolean(sequentialProperty)) {
+            return EntropyScorer.SEQUENTIAL;
+        }
+        int parallelism = Integer.getInteger(parallelismProperty, Runtime.getRuntime().availableProcessors());
+        return EntropyScorer.withParallelism(parallelism);
+    }
+
+    /**
+     * creates a Prune for the answers configured by the `wordle.answerPool` system property. The
+     * opening book is only used when every dictionary word could be the answer, as it was
+     * generated for that.
+     * When the `wordle.metrics` system property is true its guesses are measured by a registered
+     * {@link PruneMetrics}.
+     * @throws IllegalArgumentException if `wordle.answerPool` is not a known answer pool
+     */
+    static Prune createPrune(Dictionary dictionary, PatternTable table, EntropyScorer scorer, GuessCache cache) {
+        String pool = System.getProperty(answerPoolProperty, "dictionary");
+        Prune prune = switch (pool) {
+            case "dictionary" -> new Prune(dictionary, table, scorer, loadOpeningBook(dictionary), cache);
+            case "uniform" -> new Prune(AnswerPool.uniform(dictionary, Simulation.loadAnswers()), table, scorer, null, cache);
+            case "weighted" -> new Prune(AnswerPool.weighted(dictionary, Simulation.loadAnswers()), table, scorer, null, cache);
+            default -> throw new IllegalArgumentException(answerPoolProperty + " must be one of dictionary, uniform or weighted, not " + pool);
+        };
+        if (Boolean.getBoolean(metricsProperty)) {
+            PruneMetrics metrics = new PruneMetrics();
+            metrics.register("solver");
+            prune.setTurnListener(metrics);
+        }
+        return prune;
+    }
+
+    /**
+     * wraps `prune` in the Lookahead configured by the `wordle.lookahead` system properties, and in
+     * a TreeGuesser if there is a decision tree for its answers
+     * @return a HardMode guesser if the `wordle.hardMode` property is true, otherwise a Lookahead
+     * searching `wordle.lookahead` guesses deep, or `prune` if the property is 0, playing the
+     * decision tree first if there is one
+     */
+    static Guesser createGuesser(Prune prune) {
+        if (Boolean.getBoolean(hardModeProperty)) {
+            // the lookahead and the decision tree may make guesses that do not use every hint
+            return new HardMode(prune);
+        }
+        Guesser guesser = prune;
+        int depth = Integer.getInteger(lookaheadProperty, 0);
+        if (depth > 0) {
+            int candidates = Integer.getInteger(lookaheadCandidatesProperty, 8);
+            Duration budget = Duration.ofMillis(Long.getLong(lookaheadBudgetProperty, 1000L));
+            guesser = new Lookahead(prune, depth, candidates, budget);
+        }
+        DecisionTree tree = loadDecisionTree(prune);
+        return tree == null ? guesser : new TreeGuesser(tree, guesser);
+    }
+
+    /**
+     * loads the decision tree resource, unless the `wordle.decisionTree` system property is false
+     * @return the tree, or null if there is none for the answers of `prune`
      */
-    private HashMap<String,Long> loadDictionary() {
-        ClassLoader classLoader = this.getClass().getClassLoader();
-        File dictFile = new File(classLoader.getResource(dictionaryFileName).getFile());
-
-        HashMap<String, Long> dictionary = new HashMap<>();
-        try (FileReader fr = new FileReader(dictFile);
-             BufferedReader br = new BufferedReader(fr)
-        ) {
-            br.lines()
-                    .forEach(line -> {
-                        String[] split = line.split(" ");
-                        dictionary.put(split[0], Long.parseLong(split[1], 10));
-                    });
+    static DecisionTree loadDecisionTree(Prune prune) {
+        if (!Boolean.parseBoolean(System.getProperty(decisionTreeProperty, "true"))) {
+            return null;
+        }
+        try {
+            DecisionTree tree = DecisionTree.loadResource(prune);
+            // the tree is built for the answers of answers.txt, so other answer pools do not match it
+            return tree != null && tree.matches(prune.checksum()) ? tree : null;
         } catch (IOException e) {
-            System.err.println("error reading dictionary file " + e);
+            System.err.println("error reading decision tree " + e);
+            return null;
+        }
+    }
+
+    /**
+     * creates the guess cache configured by the `wordle.guessCache` system property
+     * @return a cache of at most `wordle.guessCache` guesses, or null if the property is 0
+     */
+    static GuessCache createGuessCache() {
+        int size = Integer.getInteger(guessCacheProperty, defaultGuessCacheSize);
+        return size > 0 ? new GuessCache(size) : null;
+    }
+
+    /**
+     * loads, or builds, the pattern table file named by the `wordle.patternTable` system property.
+     * The table's word indices are the same as the dictionary's.
+     * @return the PatternTable, or null if the property is not set or the table could not be loaded
+     */
+    static PatternTable loadPatternTable(Dictionary dictionary) {
+        String tableFile = System.getProperty(patternTableProperty);
+        if (tableFile == null) {
+            return null;
+        }
+        try {
+            PatternTable table = PatternTable.loadOrBuild(Path.of(tableFile), dictionary.words());
+            System.err.println("loaded pattern table from " + tableFile);
+            return table;
+        } catch (IOException e) {
+            System.err.println("error loading pattern table file " + e);
+            return null;
+        }
+    }
+
+    /**
+     * loads the opening book stored on the classpath, see {@link OpeningBook}
+     * @return the OpeningBook, or null if there is none or it was generated from a different dictionary
+     */
+    static OpeningBook loadOpeningBook(Dictionary dictionary) {
+        try {
+            OpeningBook book = OpeningBook.loadResource();
+            if (book != null && !book.matches(dictionary)) {
+                System.err.println("ignoring opening book, it was generated from a different dictionary. Regenerate it with OpeningBook");
+                return null;
+            }
+            return book;
+        } catch (IOException e) {
+            System.err.println("error reading opening book " + e);
+            return null;
+        }
+    }
+
+    /**
+     * loads the text word list named by the `wordle.words` system property
+     * @return the WordList, or the words of the dictionary if the property is not set
+     * @throws IOException if the word list could not be read
+     */
+    static WordList loadWordList() throws IOException {
+        String wordsFile = System.getProperty(wordsProperty);
+        if (wordsFile == null) {
+            return WordList.of(loadDictionary());
+        }
+        try (InputStream is = Files.newInputStream(Path.of(wordsFile))) {
+            return DictionaryLoader.readWordList(is);
+        }
+    }
+
+    /**
+     * streams the words and counts stored in dictionary.txt from the classpath into a Dictionary.
+     * A binary dictionary.bin on the classpath is loaded instead, if there is one. The counts are
+     * then replaced by the priors of the weighting named by the `wordle.weighting` system property.
+     * If the `wordle.snapshot` file holds a snapshot made from the same files with the same
+     * weighting, the dictionary is read from it instead, which skips parsing, weighting and hashing
+     * the words, otherwise the dictionary is written to it.
+     * @return A Dictionary of the words and their occurrence counts, or their priors
+     * @throws IllegalArgumentException if `wordle.weighting` is not a known weighting
+     * @see DictionaryLoader
+     */
+    static Dictionary loadDictionary() {
+        String weightingName = System.getProperty(weightingProperty, "counts");
+        Weighting weighting = weighting(weightingName);
+        // the weighting's parameters are part of the key, so changing them also rebuilds the snapshot
+        String weightingKey = switch (weightingName) {
+            case "sigmoid" -> weightingName + " " + sigmoidMidpoint + " " + sigmoidWidth;
+            case "answers" -> weightingName + " " + answerBoost;
+            default -> weightingName;
+        };
+        String snapshot = System.getProperty(snapshotProperty);
+        long source = -1L;
+        if (snapshot != null) {
+            try {
+                source = weightingName.equals("answers")
+                        ? DictionaryLoader.resourceChecksum(binaryFileName, dictionaryFileName, Simulation.answersFileName)
+                        : DictionaryLoader.resourceChecksum(binaryFileName, dictionaryFileName);
+                Dictionary dictionary = readSnapshot(Path.of(snapshot), source, weightingKey);
+                if (dictionary != null) {
+                    return dictionary;
+                }
+            } catch (IOException e) {
+                System.err.println("error reading snapshot " + e + ", loading " + dictionaryFileName);
+                source = -1L;
+            }
         }
 
+        Dictionary dictionary;
+        try {
+            dictionary = DictionaryLoader.loadResource(dictionaryFileName);
+        } catch (IOException e) {
+            System.err.println("error reading dictionary file " + e);
+            return Dictionary.of(new String[0], new long[0]);
+        }
+        if (weighting != null) {
+            dictionary = dictionary.weigh(weighting);
+        }
+        if (snapshot != null && source >= 0) {
+            try {
+                DictionaryLoader.saveSnapshot(dictionary, source, weightingKey, Path.of(snapshot));
+                System.err.println("wrote dictionary snapshot " + snapshot);
+            } catch (IOException e) {
+                System.err.println("error writing snapshot " + e);
+            }
+        }
         return dictionary;
     }
+
+    /**
+     * @return the weighting named `name`, or null for "counts", where the counts are used as they are
+     * so the dictionary still matches the opening book
+     * @throws IllegalArgumentException if `name` is not a known weighting
+     */
+    private static Weighting weighting(String name) {
+        return switch (name) {
+            case "counts" -> null;
+            case "sigmoid" -> Weighting.sigmoidByRank(sigmoidMidpoint, sigmoidWidth);
+            case "answers" -> Weighting.counts().boost(Simulation.loadAnswers(), answerBoost);
+            default -> throw new IllegalArgumentException(weightingProperty + " must be one of counts, sigmoid or answers, not " + name);
+        };
+    }
+
+    // the dictionary of the snapshot at `path`, or null if there is none or it is out of date
+    private static Dictionary readSnapshot(Path path, long source, String weightingKey) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (InputStream is = Files.newInputStream(path)) {
+            Dictionary dictionary = DictionaryLoader.readSnapshot(is, source, weightingKey);
+            System.err.println(dictionary == null
+                    ? "dictionary snapshot " + path + " is out of date, rebuilding it"
+                    : "read dictionary snapshot " + path);
+            return dictionary;
+        }
+    }
 }
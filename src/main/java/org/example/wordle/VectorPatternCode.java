@@ -0,0 +1,103 @@
+package org.example.wordle;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Computes the pattern codes of one guess against many packed answers at once with the incubator
+ * Vector API, one answer per lane. Only loaded by {@link PatternCode} when the
+ * jdk.incubator.vector module is present, see {@link PatternCode#VECTORIZED}.
+ *
+ * The guess is the same in every lane, so its letters are scalars and only the answer letters are
+ * vectors. Rather than marking answer letters as used one at a time, a non-green guess letter at
+ * position i is misplaced when the answer has more non-green copies of the letter than the guess
+ * has non-green copies before position i. This gives the same codes as
+ * {@link PatternCode#computeCode(int, int)} without any per-lane control flow.
+ */
+final class VectorPatternCode {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    // the value of each digit of a code, indexed by the position of the letter in the word
+    private static final int[] PLACE = {81, 27, 9, 3, 1};
+
+    private VectorPatternCode() {}
+
+    /**
+     * computes the codes of `guess` against `answers[0, count)` into `codes`, the answers that do
+     * not fill a whole vector are computed by {@link PatternCode#computeCode(int, int)}
+     */
+    static void computeCodes(int guess, int[] answers, int count, int[] codes) {
+        int[] g = new int[PatternCode.WORD_LENGTH];
+        for (int i = 0; i < PatternCode.WORD_LENGTH; i++) {
+            g[i] = (guess >>> (i * 5)) & 31;
+        }
+
+        int bound = SPECIES.loopBound(count);
+        for (int a = 0; a < bound; a += SPECIES.length()) {
+            IntVector answer = IntVector.fromArray(SPECIES, answers, a);
+            IntVector a0 = answer.and(31);
+            IntVector a1 = answer.lanewise(VectorOperators.LSHR, 5).and(31);
+            IntVector a2 = answer.lanewise(VectorOperators.LSHR, 10).and(31);
+            IntVector a3 = answer.lanewise(VectorOperators.LSHR, 15).and(31);
+            IntVector a4 = answer.lanewise(VectorOperators.LSHR, 20).and(31);
+
+            // the positions whose letters are not correct, in the answer and the guess alike
+            VectorMask<Integer> n0 = a0.compare(VectorOperators.NE, g[0]);
+            VectorMask<Integer> n1 = a1.compare(VectorOperators.NE, g[1]);
+            VectorMask<Integer> n2 = a2.compare(VectorOperators.NE, g[2]);
+            VectorMask<Integer> n3 = a3.compare(VectorOperators.NE, g[3]);
+            VectorMask<Integer> n4 = a4.compare(VectorOperators.NE, g[4]);
+
+            // start from all correct, add 2 for every position that is not correct, then take 1
+            // back for every one of those that is misplaced
+            IntVector code = IntVector.zero(SPECIES)
+                    .add(2 * PLACE[0], n0).add(2 * PLACE[1], n1).add(2 * PLACE[2], n2)
+                    .add(2 * PLACE[3], n3).add(2 * PLACE[4], n4)
+                    .sub(PLACE[0], misplaced(g, 0, a0, a1, a2, a3, a4, n0, n1, n2, n3, n4))
+                    .sub(PLACE[1], misplaced(g, 1, a0, a1, a2, a3, a4, n0, n1, n2, n3, n4))
+                    .sub(PLACE[2], misplaced(g, 2, a0, a1, a2, a3, a4, n0, n1, n2, n3, n4))
+                    .sub(PLACE[3], misplaced(g, 3, a0, a1, a2, a3, a4, n0, n1, n2, n3, n4))
+                    .sub(PLACE[4], misplaced(g, 4, a0, a1, a2, a3, a4, n0, n1, n2, n3, n4));
+            code.intoArray(codes, a);
+        }
+        for (int a = bound; a < count; a++) {
+            codes[a] = PatternCode.computeCode(answers[a], guess);
+        }
+    }
+
+    // the lanes where the guess letter at position `i` is misplaced: it is not correct, and the
+    // answer has more copies of it at positions that are not correct than the guess has before `i`
+    private static VectorMask<Integer> misplaced(int[] g, int i,
+                                                 IntVector a0, IntVector a1, IntVector a2, IntVector a3, IntVector a4,
+                                                 VectorMask<Integer> n0, VectorMask<Integer> n1, VectorMask<Integer> n2,
+                                                 VectorMask<Integer> n3, VectorMask<Integer> n4) {
+        int letter = g[i];
+        VectorMask<Integer> m0 = a0.compare(VectorOperators.EQ, letter).and(n0);
+        VectorMask<Integer> m1 = a1.compare(VectorOperators.EQ, letter).and(n1);
+        VectorMask<Integer> m2 = a2.compare(VectorOperators.EQ, letter).and(n2);
+        VectorMask<Integer> m3 = a3.compare(VectorOperators.EQ, letter).and(n3);
+        VectorMask<Integer> m4 = a4.compare(VectorOperators.EQ, letter).and(n4);
+        VectorMask<Integer> wrong = i == 0 ? n0 : i == 1 ? n1 : i == 2 ? n2 : i == 3 ? n3 : n4;
+
+        boolean repeated = false;
+        for (int j = 0; j < i; j++) {
+            repeated |= g[j] == letter;
+        }
+        if (!repeated) {
+            // the first copy of the letter in the guess is misplaced if the answer has any copy left
+            return wrong.and(m0.or(m1).or(m2).or(m3).or(m4));
+        }
+
+        IntVector zero = IntVector.zero(SPECIES);
+        IntVector copies = zero.add(1, m0).add(1, m1).add(1, m2).add(1, m3).add(1, m4);
+        IntVector before = zero
+                .add(g[0] == letter && i > 0 ? 1 : 0, n0)
+                .add(g[1] == letter && i > 1 ? 1 : 0, n1)
+                .add(g[2] == letter && i > 2 ? 1 : 0, n2)
+                .add(g[3] == letter && i > 3 ? 1 : 0, n3);
+        return wrong.and(copies.compare(VectorOperators.GT, before));
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.wordle.algorithm;
+
+/**
+ * The outcome of a guess that had a time budget.
+ *
+ * When the budget runs out before every candidate was scored, `best` is the best of the candidates
+ * that were scored. Candidates are scored in an order that is likely to find a good guess early,
+ * see {@link EntropyScorer}.
+ * @param best - the best candidate found, or null if there were no candidates. Its goodness is NaN
+ *             if it was not scored, i.e. when it came from an opening book or cache, or when no
+ *             candidate could be scored within the budget
+ * @param evaluated - the number of candidates that were scored
+ * @param candidates - the number of candidates there were to score
+ */
+public record AnytimeGuess(Candidate best, int evaluated, int candidates) {
+
+    /**
+     * @return a result that needed no scoring, such as a guess from an opening book
+     */
+    static AnytimeGuess of(String word) {
+        return new AnytimeGuess(word == null ? null : new Candidate(word, Double.NaN), 0, 0);
+    }
+
+    /**
+     * @return the best guess, or null if there were no candidates
+     */
+    public String word() {
+        return best == null ? null : best.word();
+    }
+
+    /**
+     * @return true if every candidate was scored, so `best` is the same guess as without a budget
+     */
+    public boolean complete() {
+        return evaluated == candidates;
+    }
+
+    /**
+     * @return the fraction of the candidates that were scored, 1 if there were none
+     */
+    public double coverage() {
+        return candidates == 0 ? 1.0 : (double) evaluated / candidates;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.PatternCode;
+
+/**
+ * Sums weights by pattern code for words of any length, for computing the entropy of a guess.
+ *
+ * An eight letter word has 6561 pattern codes but a guess usually splits the remaining words into
+ * far fewer patterns, so the histogram remembers which buckets it has used and only reads and
+ * clears those. A histogram is scratch space for one thread.
+ */
+final class CodeHistogram {
+
+    // the summed weight of each pattern code
+    private final long[] weights;
+
+    // the codes with a non-zero weight, in the order they were first added
+    private final int[] used;
+
+    // the number of codes in used
+    private int size;
+
+    /**
+     * @param length - the number of letters in the words whose patterns are counted
+     * @throws IllegalArgumentException if length is not between 4 and 8
+     */
+    CodeHistogram(int length) {
+        this.weights = new long[PatternCode.count(length)];
+        this.used = new int[weights.length];
+    }
+
+    void add(int code, long weight) {
+        if (weight == 0) {
+            return;
+        }
+        if (weights[code] == 0) {
+            used[size++] = code;
+        }
+        weights[code] += weight;
+    }
+
+    /**
+     * @return the number of distinct codes added since the histogram was last emptied
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * computes the entropy, in bits, of the added codes where the probability of a code is its
+     * weight over `total`, and empties the histogram
+     */
+    double entropy(long total) {
+        // sum(w * (log2(total) - log2(w))) / total is -sum(p * log2(p)) with p = w / total
+        double logTotal = Log2.of(total);
+        double sum = 0.0;
+        for (int i = 0; i < size; i++) {
+            long weight = weights[used[i]];
+            sum += weight * (logTotal - Log2.of(weight));
+            weights[used[i]] = 0;
+        }
+        size = 0;
+        return sum / total;
+    }
+}
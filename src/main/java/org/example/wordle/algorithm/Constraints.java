@@ -0,0 +1,226 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.Correctness;
+import org.example.wordle.Guess;
+import org.example.wordle.PatternCode;
+import org.example.wordle.dictionary.WordCodec;
+import org.example.wordle.dictionary.WordSet;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The letter constraints of a game history, compiled into bitmasks so that checking a word takes
+ * a handful of bitwise operations rather than computing its pattern against every guess.
+ *
+ * The constraints are the letters allowed at each position, which holds both the correct letters
+ * and the positions each letter is known not to be at, and the least and most times each letter
+ * occurs. {@link #of(List)} compiles exactly the words that could still be the answer, the words
+ * whose pattern matches every guess. {@link #hints(List)} compiles the weaker hard mode rule, where
+ * every guess must keep the correct letters in place and use every revealed letter.
+ *
+ * Constraints are immutable.
+ */
+public final class Constraints {
+
+    // the 26 bit mask of every letter
+    private static final int ALL_LETTERS = (1 << WordCodec.LETTERS) - 1;
+
+    // the letters allowed at each position, bit l is set if letter l ('a' = 0) is allowed
+    private final int[] allowed;
+
+    // the letters that occur at least once
+    private final int required;
+
+    // the letters that do not occur
+    private final int excluded;
+
+    // the letters whose number of occurrences is bounded by more than required and excluded
+    private final int counted;
+
+    // the least and most times each letter occurs, indexed by letter
+    private final byte[] min;
+    private final byte[] max;
+
+    private Constraints(int[] allowed, byte[] min, byte[] max) {
+        this.allowed = allowed;
+        this.min = min;
+        this.max = max;
+        int required = 0;
+        int excluded = 0;
+        int counted = 0;
+        for (int l = 0; l < WordCodec.LETTERS; l++) {
+            if (min[l] > max[l]) {
+                // no word can have this letter both ways
+                Arrays.fill(allowed, 0);
+            }
+            if (min[l] > 0) {
+                required |= 1 << l;
+            }
+            if (max[l] == 0) {
+                excluded |= 1 << l;
+            }
+            if (min[l] > 1 || (max[l] > 0 && max[l] < WordCodec.WORD_LENGTH)) {
+                counted |= 1 << l;
+            }
+        }
+        this.required = required;
+        this.excluded = excluded;
+        this.counted = counted;
+    }
+
+    /**
+     * compiles the constraints that the words which could be the answer after `history` satisfy
+     * @param history - the guesses made so far, each a five-letter word with its correctness pattern
+     * @return constraints allowing exactly the words that give every guess of `history` its pattern
+     */
+    public static Constraints of(List<Guess> history) {
+        int[] allowed = new int[WordCodec.WORD_LENGTH];
+        Arrays.fill(allowed, ALL_LETTERS);
+        byte[] min = new byte[WordCodec.LETTERS];
+        byte[] max = new byte[WordCodec.LETTERS];
+        Arrays.fill(max, (byte) WordCodec.WORD_LENGTH);
+        for (Guess guess : history) {
+            int packed = WordCodec.pack(guess.word());
+            int code = guess.mask().code();
+            // the copies of each letter that are correct or misplaced, and the letters also marked wrong
+            byte[] found = new byte[WordCodec.LETTERS];
+            int wrong = 0;
+            for (int i = 0; i < WordCodec.WORD_LENGTH; i++) {
+                int letter = WordCodec.letter(packed, i);
+                Correctness correctness = PatternCode.get(code, i);
+                if (correctness == Correctness.CORRECT) {
+                    allowed[i] &= 1 << letter;
+                } else {
+                    allowed[i] &= ~(1 << letter);
+                }
+                if (correctness == Correctness.WRONG) {
+                    wrong |= 1 << letter;
+                } else {
+                    found[letter]++;
+                    if (correctness == Correctness.MISPLACED && (wrong & (1 << letter)) != 0) {
+                        // an earlier copy of the letter would have been marked misplaced first, so
+                        // no word gives this pattern
+                        Arrays.fill(allowed, 0);
+                    }
+                }
+            }
+            for (int l = 0; l < WordCodec.LETTERS; l++) {
+                min[l] = (byte) Math.max(min[l], found[l]);
+                if ((wrong & (1 << l)) != 0) {
+                    // the guess has more copies of the letter than the answer, so it has exactly those found
+                    max[l] = (byte) Math.min(max[l], found[l]);
+                }
+            }
+        }
+        return new Constraints(allowed, min, max);
+    }
+
+    /**
+     * compiles the hard mode rule of `history`: every correct letter must be guessed at its position
+     * again, and every correct or misplaced letter must be guessed at least as many times as it was
+     * revealed by a single guess
+     * @param history - the guesses made so far, each a five-letter word with its correctness pattern
+     * @return constraints allowing the words that can be guessed in hard mode after `history`
+     */
+    public static Constraints hints(List<Guess> history) {
+        int[] allowed = new int[WordCodec.WORD_LENGTH];
+        Arrays.fill(allowed, ALL_LETTERS);
+        byte[] min = new byte[WordCodec.LETTERS];
+        byte[] max = new byte[WordCodec.LETTERS];
+        Arrays.fill(max, (byte) WordCodec.WORD_LENGTH);
+        for (Guess guess : history) {
+            int packed = WordCodec.pack(guess.word());
+            int code = guess.mask().code();
+            byte[] found = new byte[WordCodec.LETTERS];
+            for (int i = 0; i < WordCodec.WORD_LENGTH; i++) {
+                int letter = WordCodec.letter(packed, i);
+                Correctness correctness = PatternCode.get(code, i);
+                if (correctness == Correctness.CORRECT) {
+                    allowed[i] &= 1 << letter;
+                }
+                if (correctness != Correctness.WRONG) {
+                    found[letter]++;
+                }
+            }
+            for (int l = 0; l < WordCodec.LETTERS; l++) {
+                min[l] = (byte) Math.max(min[l], found[l]);
+            }
+        }
+        return new Constraints(allowed, min, max);
+    }
+
+    /**
+     * @param packed - a word packed with {@link WordCodec#pack(String)}
+     * @return true if the word satisfies these constraints
+     */
+    public boolean allows(int packed) {
+        return allows(packed, WordCodec.letterMask(packed));
+    }
+
+    /**
+     * Same as {@link #allows(int)} for a word whose {@link WordCodec#letterMask(int)} is known
+     */
+    public boolean allows(int packed, int letterMask) {
+        if ((letterMask & required) != required || (letterMask & excluded) != 0) {
+            return false;
+        }
+        for (int i = 0; i < WordCodec.WORD_LENGTH; i++) {
+            if ((allowed[i] & (1 << WordCodec.letter(packed, i))) == 0) {
+                return false;
+            }
+        }
+        for (int letters = letterMask & counted; letters != 0; letters &= letters - 1) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            int occurrences = 0;
+            for (int i = 0; i < WordCodec.WORD_LENGTH; i++) {
+                if (WordCodec.letter(packed, i) == letter) {
+                    occurrences++;
+                }
+            }
+            if (occurrences < min[letter] || occurrences > max[letter]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * removes the words these constraints do not allow from `words`, with a bitset operation for
+     * each fixed or forbidden position and each bounded letter count rather than a check of each word
+     * @param words - a set of the words of the dictionary `index` was built from
+     * @param index - the letters of the dictionary words
+     */
+    void retainAllowed(WordSet words, LetterIndex index) {
+        for (int i = 0; i < WordCodec.WORD_LENGTH; i++) {
+            if (allowed[i] == 0) {
+                words.clear();
+                return;
+            }
+            if (Integer.bitCount(allowed[i]) == 1) {
+                words.and(index.at(Integer.numberOfTrailingZeros(allowed[i]), i));
+                continue;
+            }
+            // excluded letters are removed with their counts below
+            for (int letters = ~allowed[i] & ~excluded & ALL_LETTERS; letters != 0; letters &= letters - 1) {
+                words.andNot(index.at(Integer.numberOfTrailingZeros(letters), i));
+            }
+        }
+        for (int letters = required | excluded | counted; letters != 0; letters &= letters - 1) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            if (min[letter] > 0) {
+                words.and(index.atLeast(letter, min[letter]));
+            }
+            if (max[letter] < WordCodec.WORD_LENGTH) {
+                words.andNot(index.atLeast(letter, max[letter] + 1));
+            }
+        }
+    }
+
+    /**
+     * @return true if a word of the letters 'a' to 'z' satisfies these constraints
+     */
+    public boolean allows(String word) {
+        return allows(WordCodec.pack(word));
+    }
+}
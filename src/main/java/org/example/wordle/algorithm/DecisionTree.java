@@ -0,0 +1,744 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.PatternCode;
+import org.example.wordle.dictionary.AnswerPool;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.DictionaryLoader;
+import org.example.wordle.dictionary.WordSet;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+
+/**
+ * A complete strategy for a set of answers: the guess to make for every sequence of patterns that
+ * can occur, so a game needs no scoring at all. See {@link TreeGuesser}.
+ *
+ * Each node of the tree is a guess, and has a child for every pattern other than all correct that
+ * the guess can give the answers that remain at the node. A game starts at the root and moves to
+ * a child with every pattern it is given, so a turn costs one lookup among at most 242 children.
+ *
+ * Trees are built offline by {@link #build(Prune, Objective, int)}, a branch and bound search over
+ * the `candidates` best guesses by entropy at every node. Every set of remaining answers is solved
+ * once and memoized, and the candidates of large sets are searched in parallel. The search is exact,
+ * over every strategy, when `candidates` is the size of the dictionary, which is only practical for
+ * small sets of answers.
+ *
+ * A tree is tied to the dictionary and answers it was built from by {@link Prune#checksum()}, and
+ * is stored in a compact binary format:
+ * <pre>
+ *   int magic, int version, long checksum, int dictionary size
+ *   int answers, long total turns, int worst turns, int nodes
+ *   the nodes in preorder, each as:
+ *     unsigned short guess, unsigned byte number of children,
+ *     then for every child in pattern order: unsigned byte pattern code, followed by the child node
+ * </pre>
+ */
+public final class DecisionTree {
+
+    // the name of the decision tree resource, built for the words of answers.txt
+    public static final String RESOURCE_NAME = "decision-tree.bin";
+
+    // the first int of a tree file, "WDTR"
+    private static final int MAGIC = 0x57445452;
+
+    private static final int VERSION = 1;
+
+    // the index of the root node
+    public static final int ROOT = 0;
+
+    // answer sets at least this large have their candidates searched in parallel
+    private static final int PARALLEL_ANSWERS = 64;
+
+    /**
+     * What a tree minimizes
+     */
+    public enum Objective {
+        // the average number of turns, then the most turns any answer takes
+        AVERAGE,
+        // the most turns any answer takes, then the average number of turns
+        WORST
+    }
+
+    // the dictionary the guesses are indices of
+    private final Dictionary dictionary;
+
+    // the checksum of the dictionary and answers the tree was built for
+    private final long checksum;
+
+    // the dictionary index of the guess of each node
+    private final int[] guesses;
+
+    // the children of node n are at [childStart[n], childStart[n + 1]) of the child arrays
+    private final int[] childStart;
+
+    // the pattern code of each child, sorted within each node
+    private final byte[] childCodes;
+
+    // the node index of each child
+    private final int[] childNodes;
+
+    private final int answers;
+
+    private final long totalTurns;
+
+    private final int worstTurns;
+
+    private DecisionTree(Dictionary dictionary, long checksum, int[] guesses, int[] childStart, byte[] childCodes,
+                         int[] childNodes, int answers, long totalTurns, int worstTurns) {
+        this.dictionary = dictionary;
+        this.checksum = checksum;
+        this.guesses = guesses;
+        this.childStart = childStart;
+        this.childCodes = childCodes;
+        this.childNodes = childNodes;
+        this.answers = answers;
+        this.totalTurns = totalTurns;
+        this.worstTurns = worstTurns;
+    }
+
+    /**
+     * rebuilds the decision tree for the answers of answers.txt, run this whenever dictionary.txt
+     * or answers.txt change.
+     * usage: DecisionTree [output file] [candidates] [average|worst]
+     */
+    public static void main(String[] args) throws IOException {
+        Path output = Path.of(args.length > 0 ? args[0] : "src/main/resources/" + RESOURCE_NAME);
+        int candidates = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        Objective objective = args.length > 2 ? Objective.valueOf(args[2].toUpperCase(Locale.ROOT)) : Objective.AVERAGE;
+
+        Dictionary dictionary = DictionaryLoader.loadResource("dictionary.txt");
+        AnswerPool answers = AnswerPool.uniform(dictionary, loadAnswers());
+        Prune prune = new Prune(answers, null, EntropyScorer.SEQUENTIAL, null, null);
+        long start = System.nanoTime();
+        DecisionTree tree = build(prune, objective, candidates);
+        tree.save(output);
+        System.out.printf("wrote a tree of %d nodes to %s in %.1fs, %.4f turns on average, %d at most%n",
+                tree.nodes(), output, (System.nanoTime() - start) / 1e9, tree.averageTurns(), tree.worstTurns());
+        System.exit(0);
+    }
+
+    // the words of answers.txt
+    private static List<String> loadAnswers() throws IOException {
+        InputStream is = DecisionTree.class.getClassLoader().getResourceAsStream("answers.txt");
+        if (is == null) {
+            throw new IOException("answers.txt not found on the classpath");
+        }
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            return br.lines().map(String::strip).filter(line -> !line.isEmpty()).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * searches for the tree that solves every answer of `prune` best
+     * @param prune - the Prune whose dictionary, answers and pattern table are searched. Its scorer
+     *              finds the candidates of every node, a sequential scorer is best as the search
+     *              itself runs in parallel
+     * @param objective - what the tree minimizes
+     * @param candidates - the number of best guesses by entropy to search at every node
+     * @return the best tree found
+     * @throws IllegalArgumentException if candidates is less than 1, or no dictionary word is an answer
+     */
+    public static DecisionTree build(Prune prune, Objective objective, int candidates) {
+        return build(prune, objective, candidates, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #build(Prune, Objective, int)}, searching in parallel on `pool`
+     * @param pool - the pool to search on, or null to search on the calling thread
+     */
+    public static DecisionTree build(Prune prune, Objective objective, int candidates, ForkJoinPool pool) {
+        if (candidates < 1) {
+            throw new IllegalArgumentException("a decision tree must search at least one candidate");
+        }
+        if (prune.dictionary().size() > 0xFFFF) {
+            throw new IllegalArgumentException("decision trees support dictionaries of at most 65535 words");
+        }
+        Builder builder = new Builder(prune, objective, candidates, pool);
+        WordSet all = prune.newGame().remaining;
+        int[] answers = all.toArray();
+        if (answers.length == 0) {
+            throw new IllegalArgumentException("there are no answers to build a decision tree for");
+        }
+        builder.solve(answers, Cost.UNBOUNDED);
+
+        Nodes nodes = new Nodes();
+        builder.materialize(answers, nodes);
+        DecisionTree tree = nodes.toTree(prune.dictionary(), prune.checksum(), 0, 0L, 0);
+
+        // play every answer through the tree, both to check it and to report how well it does
+        long total = 0L;
+        int worst = 0;
+        for (int answer : answers) {
+            int turns = tree.play(prune, answer);
+            total += turns;
+            worst = Math.max(worst, turns);
+        }
+        return nodes.toTree(prune.dictionary(), prune.checksum(), answers.length, total, worst);
+    }
+
+    // the number of turns the tree takes to solve `answer`
+    private int play(Prune prune, int answer) {
+        int node = ROOT;
+        for (int turn = 1; ; turn++) {
+            int code = prune.code(guesses[node], answer);
+            if (code == PatternCode.ALL_CORRECT) {
+                return turn;
+            }
+            node = child(node, code);
+            if (node < 0) {
+                throw new IllegalStateException("decision tree does not solve " + this.dictionary.word(answer));
+            }
+        }
+    }
+
+    /**
+     * @return the guess of `node`
+     */
+    public String guess(int node) {
+        return this.dictionary.word(this.guesses[node]);
+    }
+
+    /**
+     * @return the node to move to when the guess of `node` gives the pattern `code`, or -1 if the
+     * tree has no answer that gives it
+     */
+    public int child(int node, int code) {
+        int low = this.childStart[node];
+        int high = this.childStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midCode = this.childCodes[mid] & 0xFF;
+            if (midCode < code) {
+                low = mid + 1;
+            } else if (midCode > code) {
+                high = mid - 1;
+            } else {
+                return this.childNodes[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the number of nodes of the tree
+     */
+    public int nodes() {
+        return this.guesses.length;
+    }
+
+    /**
+     * @return the number of answers the tree solves
+     */
+    public int answers() {
+        return this.answers;
+    }
+
+    /**
+     * @return the average number of turns the tree takes to solve its answers
+     */
+    public double averageTurns() {
+        return this.answers == 0 ? 0.0 : (double) this.totalTurns / this.answers;
+    }
+
+    /**
+     * @return the most turns the tree takes to solve any of its answers
+     */
+    public int worstTurns() {
+        return this.worstTurns;
+    }
+
+    /**
+     * @return true if this tree was built for a Prune with the given checksum
+     */
+    public boolean matches(long checksum) {
+        return this.checksum == checksum;
+    }
+
+    /**
+     * writes the tree to a file in its binary format
+     */
+    public void save(Path path) throws IOException {
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(path))) {
+            write(os);
+        }
+    }
+
+    /**
+     * writes the tree to `os` in its binary format
+     */
+    public void write(OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(os);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(this.checksum);
+        out.writeInt(this.dictionary.size());
+        out.writeInt(this.answers);
+        out.writeLong(this.totalTurns);
+        out.writeInt(this.worstTurns);
+        out.writeInt(nodes());
+        writeNode(out, ROOT);
+        out.flush();
+    }
+
+    private void writeNode(DataOutputStream out, int node) throws IOException {
+        out.writeShort(this.guesses[node]);
+        out.writeByte(this.childStart[node + 1] - this.childStart[node]);
+        for (int c = this.childStart[node]; c < this.childStart[node + 1]; c++) {
+            out.writeByte(this.childCodes[c]);
+            writeNode(out, this.childNodes[c]);
+        }
+    }
+
+    /**
+     * reads the decision tree resource
+     * @param prune - the Prune whose dictionary the tree's guesses are words of. The tree may have
+     *              been built for other answers, see {@link #matches(long)}
+     * @return the tree, or null if there is no decision tree resource
+     * @throws IOException if the resource could not be read or is malformed
+     */
+    public static DecisionTree loadResource(Prune prune) throws IOException {
+        try (InputStream is = DecisionTree.class.getClassLoader().getResourceAsStream(RESOURCE_NAME)) {
+            return is == null ? null : read(new BufferedInputStream(is), prune.dictionary());
+        }
+    }
+
+    /**
+     * reads a tree from a file written by {@link #save(Path)}
+     * @param dictionary - the dictionary the tree was built from
+     * @throws IOException if the file can not be read, or is not a decision tree for `dictionary`
+     */
+    public static DecisionTree load(Path path, Dictionary dictionary) throws IOException {
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(path))) {
+            return read(is, dictionary);
+        }
+    }
+
+    /**
+     * reads a tree written by {@link #write(OutputStream)}
+     * @param dictionary - the dictionary the tree was built from
+     * @throws IOException if the tree can not be read, or is not a decision tree for `dictionary`
+     */
+    public static DecisionTree read(InputStream is, Dictionary dictionary) throws IOException {
+        DataInputStream in = new DataInputStream(is);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a decision tree");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("unsupported decision tree version " + version);
+        }
+        long checksum = in.readLong();
+        if (in.readInt() != dictionary.size()) {
+            throw new IOException("decision tree was built for another dictionary");
+        }
+        int answers = in.readInt();
+        long totalTurns = in.readLong();
+        int worstTurns = in.readInt();
+        int count = in.readInt();
+        if (count < 1) {
+            throw new IOException("decision tree has no nodes");
+        }
+        Nodes nodes = new Nodes();
+        readNode(in, nodes, dictionary.size());
+        if (nodes.size() != count) {
+            throw new IOException("decision tree has " + nodes.size() + " nodes, expected " + count);
+        }
+        return nodes.toTree(dictionary, checksum, answers, totalTurns, worstTurns);
+    }
+
+    private static int readNode(DataInputStream in, Nodes nodes, int dictionarySize) throws IOException {
+        int guess = in.readUnsignedShort();
+        if (guess >= dictionarySize) {
+            throw new IOException("decision tree guess " + guess + " is not in the dictionary");
+        }
+        int children = in.readUnsignedByte();
+        int node = nodes.add(guess, children);
+        int previous = -1;
+        for (int c = 0; c < children; c++) {
+            int code = in.readUnsignedByte();
+            if (code <= previous || code >= PatternCode.COUNT || code == PatternCode.ALL_CORRECT) {
+                throw new IOException("invalid decision tree pattern code " + code);
+            }
+            previous = code;
+            nodes.setChild(node, c, code, readNode(in, nodes, dictionarySize));
+        }
+        return node;
+    }
+
+    /**
+     * The cost of solving a set of answers
+     * @param worst - the most turns any answer takes
+     * @param total - the sum of the turns every answer takes, times its weight
+     */
+    private record Cost(int worst, long total) {
+
+        static final Cost UNBOUNDED = new Cost(Integer.MAX_VALUE, Long.MAX_VALUE);
+
+        int compare(Cost other, Objective objective) {
+            if (objective == Objective.WORST) {
+                int c = Integer.compare(this.worst, other.worst);
+                return c != 0 ? c : Long.compare(this.total, other.total);
+            }
+            int c = Long.compare(this.total, other.total);
+            return c != 0 ? c : Integer.compare(this.worst, other.worst);
+        }
+    }
+
+    /**
+     * The best guess for a set of answers
+     * @param guess - the dictionary index of the guess, -1 if no candidate was within the bound
+     * @param cost - the cost of the guess if `exact`, otherwise a lower bound of the best cost
+     * @param exact - true if `cost` is the cost of the best guess
+     */
+    private record Solution(int guess, Cost cost, boolean exact) {}
+
+    // the search for the best tree, shared by every task of one build
+    private static final class Builder {
+
+        private final Prune prune;
+
+        private final Objective objective;
+
+        private final int candidates;
+
+        // searches the candidates of large sets in parallel, null to search on the calling thread
+        private final ForkJoinPool pool;
+
+        // the best guess of every set of answers searched so far, by the set
+        private final ConcurrentHashMap<GuessCache.Key, Solution> memo = new ConcurrentHashMap<>();
+
+        Builder(Prune prune, Objective objective, int candidates, ForkJoinPool pool) {
+            this.prune = prune;
+            this.objective = objective;
+            this.candidates = candidates;
+            this.pool = pool;
+        }
+
+        /**
+         * finds the best guess for `answers`
+         * @param bound - only guesses that cost at most this are of interest
+         * @return the best guess, or a lower bound of its cost if it costs more than `bound`
+         */
+        Solution solve(int[] answers, Cost bound) {
+            if (answers.length <= 2) {
+                return small(answers);
+            }
+            WordSet set = toSet(answers);
+            GuessCache.Key key = GuessCache.key(this.prune.checksum(), set);
+            Solution known = this.memo.get(key);
+            if (known != null && (known.exact() || known.cost().compare(bound, this.objective) > 0)) {
+                return known;
+            }
+
+            List<Candidate> top = this.prune.top(set, this.candidates);
+            int[] guesses = new int[top.size()];
+            for (int i = 0; i < guesses.length; i++) {
+                guesses[i] = this.prune.dictionary().indexOf(top.get(i).word());
+            }
+            Best best = new Best(bound);
+            if (this.pool != null && answers.length >= PARALLEL_ANSWERS && guesses.length > 1) {
+                List<RecursiveAction> tasks = new ArrayList<>(guesses.length);
+                for (int rank = 0; rank < guesses.length; rank++) {
+                    int r = rank;
+                    tasks.add(new RecursiveAction() {
+                        @Override
+                        protected void compute() {
+                            best.offer(r, guesses[r], evaluate(guesses[r], answers, best.bound()));
+                        }
+                    });
+                }
+                if (ForkJoinTask.inForkJoinPool()) {
+                    ForkJoinTask.invokeAll(tasks);
+                } else {
+                    this.pool.invoke(new RecursiveAction() {
+                        @Override
+                        protected void compute() {
+                            invokeAll(tasks);
+                        }
+                    });
+                }
+            } else {
+                for (int rank = 0; rank < guesses.length; rank++) {
+                    best.offer(rank, guesses[rank], evaluate(guesses[rank], answers, best.bound()));
+                }
+            }
+
+            Solution solution = best.solution();
+            this.memo.merge(key, solution, (old, found) -> old.exact() || old.cost().compare(found.cost(), this.objective) > 0 ? old : found);
+            return solution;
+        }
+
+        private WordSet toSet(int[] answers) {
+            WordSet set = WordSet.empty(this.prune.dictionary().size());
+            for (int answer : answers) {
+                set.add(answer);
+            }
+            return set;
+        }
+
+        // one answer is guessed, of two the likelier is guessed first
+        private Solution small(int[] answers) {
+            if (answers.length == 1) {
+                return new Solution(answers[0], new Cost(1, weight(answers[0])), true);
+            }
+            long w0 = weight(answers[0]);
+            long w1 = weight(answers[1]);
+            return w0 >= w1
+                    ? new Solution(answers[0], new Cost(2, w0 + 2 * w1), true)
+                    : new Solution(answers[1], new Cost(2, w1 + 2 * w0), true);
+        }
+
+        /**
+         * computes the cost of guessing `guess` next and solving what remains with the best guesses
+         * @return the cost, or a lower bound of it that is more than `bound`
+         */
+        Cost evaluate(int guess, int[] answers, Cost bound) {
+            int[][] groups = groups(guess, answers);
+            if (groups[PatternCode.ALL_CORRECT] == null && countGroups(groups) == 1) {
+                // the guess tells the answers nothing
+                return Cost.UNBOUNDED;
+            }
+
+            // start from the fewest turns each group could take
+            long total = 0L;
+            int worst = 1;
+            Cost[] lower = new Cost[PatternCode.COUNT];
+            for (int code = 0; code < PatternCode.COUNT; code++) {
+                int[] group = groups[code];
+                if (group == null) {
+                    continue;
+                }
+                total += weight(group);
+                if (code == PatternCode.ALL_CORRECT) {
+                    continue;
+                }
+                lower[code] = group.length <= 2 ? small(group).cost() : lowerBound(group);
+                total += lower[code].total();
+                worst = Math.max(worst, 1 + lower[code].worst());
+            }
+            Cost cost = new Cost(worst, total);
+            if (cost.compare(bound, this.objective) > 0) {
+                return cost;
+            }
+
+            // groups of one or two answers are exact, search the others
+            for (int code = 0; code < PatternCode.COUNT; code++) {
+                int[] group = groups[code];
+                if (group == null || group.length <= 2 || code == PatternCode.ALL_CORRECT) {
+                    continue;
+                }
+                Cost childBound = this.objective == Objective.WORST
+                        ? new Cost(bound.worst() == Integer.MAX_VALUE ? Integer.MAX_VALUE : bound.worst() - 1, Long.MAX_VALUE)
+                        : new Cost(Integer.MAX_VALUE, bound.total() == Long.MAX_VALUE ? Long.MAX_VALUE : bound.total() - (total - lower[code].total()));
+                Cost child = solve(group, childBound).cost();
+                total += child.total() - lower[code].total();
+                worst = Math.max(worst, 1 + child.worst());
+                cost = new Cost(worst, total);
+                if (cost.compare(bound, this.objective) > 0) {
+                    return cost;
+                }
+            }
+            return cost;
+        }
+
+        // the fewest turns `answers` could take: one of them is solved by the next guess at best
+        private Cost lowerBound(int[] answers) {
+            long total = 0L;
+            long max = 0L;
+            for (int answer : answers) {
+                long weight = weight(answer);
+                total += weight;
+                max = Math.max(max, weight);
+            }
+            return new Cost(2, 2 * total - max);
+        }
+
+        // the answers grouped by the pattern `guess` gives them, null for patterns none of them give
+        private int[][] groups(int guess, int[] answers) {
+            int[] codes = new int[answers.length];
+            int[] sizes = new int[PatternCode.COUNT];
+            for (int a = 0; a < answers.length; a++) {
+                codes[a] = this.prune.code(guess, answers[a]);
+                sizes[codes[a]]++;
+            }
+            int[][] groups = new int[PatternCode.COUNT][];
+            for (int code = 0; code < PatternCode.COUNT; code++) {
+                if (sizes[code] > 0) {
+                    groups[code] = new int[sizes[code]];
+                    sizes[code] = 0;
+                }
+            }
+            for (int a = 0; a < answers.length; a++) {
+                groups[codes[a]][sizes[codes[a]]++] = answers[a];
+            }
+            return groups;
+        }
+
+        private static int countGroups(int[][] groups) {
+            int count = 0;
+            for (int[] group : groups) {
+                if (group != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * adds the subtree solving `answers` to `nodes`, from the memoized solutions
+         * @return the index of the subtree's root
+         */
+        int materialize(int[] answers, Nodes nodes) {
+            Solution solution = answers.length <= 2 ? small(answers) : solve(answers, Cost.UNBOUNDED);
+            if (solution.guess() < 0) {
+                throw new IllegalStateException("no candidate solves " + this.prune.dictionary().words(toSet(answers)));
+            }
+            int[][] groups = groups(solution.guess(), answers);
+            int children = countGroups(groups) - (groups[PatternCode.ALL_CORRECT] == null ? 0 : 1);
+            int node = nodes.add(solution.guess(), children);
+            int child = 0;
+            for (int code = 0; code < PatternCode.COUNT; code++) {
+                if (groups[code] != null && code != PatternCode.ALL_CORRECT) {
+                    nodes.setChild(node, child++, code, materialize(groups[code], nodes));
+                }
+            }
+            return node;
+        }
+
+        // every word is treated as a possible answer, even if its count is 0
+        private long weight(int index) {
+            return Math.max(1L, this.prune.weight(index));
+        }
+
+        private long weight(int[] answers) {
+            long total = 0L;
+            for (int answer : answers) {
+                total += weight(answer);
+            }
+            return total;
+        }
+
+        // the best candidate of one set of answers, offered to from several tasks at once
+        private final class Best {
+
+            // candidates costing more than this are of no interest
+            private final Cost bound;
+
+            private int rank = -1;
+
+            private int guess = -1;
+
+            private Cost cost;
+
+            // the least cost of the candidates that were over the bound
+            private Cost lower;
+
+            Best(Cost bound) {
+                this.bound = bound;
+            }
+
+            // the bound for the next candidate: the cost of the best so far, or the bound of the set
+            synchronized Cost bound() {
+                return this.cost == null ? this.bound : this.cost;
+            }
+
+            // keeps the cheapest candidate within the bound, ties go to the lowest rank
+            synchronized void offer(int rank, int guess, Cost cost) {
+                if (cost.equals(Cost.UNBOUNDED)) {
+                    // the candidate can not solve the answers
+                    return;
+                }
+                if (cost.compare(this.bound, objective) > 0) {
+                    if (this.lower == null || cost.compare(this.lower, objective) < 0) {
+                        this.lower = cost;
+                    }
+                    return;
+                }
+                int c = this.cost == null ? -1 : cost.compare(this.cost, objective);
+                if (c < 0 || (c == 0 && rank < this.rank)) {
+                    this.rank = rank;
+                    this.guess = guess;
+                    this.cost = cost;
+                }
+            }
+
+            synchronized Solution solution() {
+                return this.cost != null
+                        ? new Solution(this.guess, this.cost, true)
+                        : new Solution(-1, this.lower == null ? Cost.UNBOUNDED : this.lower, false);
+            }
+        }
+    }
+
+    // the nodes of a tree in preorder, as they are built or read
+    private static final class Nodes {
+
+        private int[] guesses = new int[64];
+
+        private int[] childStart = new int[65];
+
+        private byte[] childCodes = new byte[64];
+
+        private int[] childNodes = new int[64];
+
+        private int size;
+
+        private int children;
+
+        int size() {
+            return this.size;
+        }
+
+        // adds a node with `children` children, to be set with setChild
+        int add(int guess, int children) {
+            if (this.size == this.guesses.length) {
+                this.guesses = Arrays.copyOf(this.guesses, this.size * 2);
+                this.childStart = Arrays.copyOf(this.childStart, this.size * 2 + 1);
+            }
+            while (this.children + children > this.childCodes.length) {
+                this.childCodes = Arrays.copyOf(this.childCodes, this.childCodes.length * 2);
+                this.childNodes = Arrays.copyOf(this.childNodes, this.childNodes.length * 2);
+            }
+            int node = this.size++;
+            this.guesses[node] = guess;
+            this.childStart[node] = this.children;
+            this.children += children;
+            return node;
+        }
+
+        void setChild(int node, int index, int code, int child) {
+            this.childCodes[this.childStart[node] + index] = (byte) code;
+            this.childNodes[this.childStart[node] + index] = child;
+        }
+
+        DecisionTree toTree(Dictionary dictionary, long checksum, int answers, long totalTurns, int worstTurns) {
+            // children are allocated in node order, so node n's children end where node n + 1's start
+            int[] start = Arrays.copyOf(this.childStart, this.size + 1);
+            start[this.size] = this.children;
+            return new DecisionTree(dictionary, checksum,
+                    Arrays.copyOf(this.guesses, this.size), start,
+                    Arrays.copyOf(this.childCodes, this.children),
+                    Arrays.copyOf(this.childNodes, this.children),
+                    answers, totalTurns, worstTurns);
+        }
+    }
+}
@@ -0,0 +1,620 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.PatternCode;
+import org.example.wordle.dictionary.AnswerPool;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.WordCodec;
+import org.example.wordle.dictionary.WordSet;
+import org.example.wordle.table.PatternTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Scores candidate words by the amount of information, or entropy, they are expected to give.
+ *
+ * For every candidate the pattern against each remaining word is computed exactly once and the
+ * word's count is added to a histogram with one bucket per pattern code. The entropy is then
+ * computed from the histogram, which makes a turn O(N^2) instead of O(243 * N^2).
+ * When a {@link PatternTable} is given, patterns are looked up in it instead of being computed.
+ *
+ * Candidates are scored independently of each other, so they can be split across the threads of
+ * a {@link ForkJoinPool}. The best candidate is the one with the highest goodness, with ties
+ * going to the candidate that comes first in the word array, so the result is the same no matter
+ * how many threads were used.
+ *
+ * With an {@link AnswerPool} the candidates are every dictionary word, including words that can no
+ * longer be the answer, and only the remaining answers are scored against, see
+ * {@link #best(AnswerPool, WordSet, PatternTable)}.
+ *
+ * Scoring can be given a deadline, after which the best candidate scored so far is returned. To
+ * make the most of the time, candidates are then scored in order of a cheap letter frequency
+ * heuristic: words whose letters split the remaining words closest to half come first.
+ */
+public final class EntropyScorer {
+
+    // scores every candidate on the calling thread
+    public static final EntropyScorer SEQUENTIAL = new EntropyScorer(null);
+
+    // the smallest number of candidates a fork-join task will split off
+    private static final int MIN_SPLIT = 32;
+
+    // the number of candidates a thread takes at a time when scoring against a deadline
+    private static final int DEADLINE_BATCH = 8;
+
+    // the pool used to score candidates in parallel, null to score on the calling thread
+    private final ForkJoinPool pool;
+
+    /**
+     * @param pool - the pool used to score candidates in parallel, or null to score
+     *             candidates sequentially on the calling thread
+     */
+    public EntropyScorer(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @param parallelism - the number of threads to score candidates with
+     * @return a scorer that uses a new pool of `parallelism` threads, or {@link #SEQUENTIAL}
+     * if parallelism is 1
+     * @throws IllegalArgumentException if parallelism is less than 1
+     */
+    public static EntropyScorer withParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        return parallelism == 1 ? SEQUENTIAL : new EntropyScorer(new ForkJoinPool(parallelism));
+    }
+
+    /**
+     * @return the number of threads this scorer uses
+     */
+    public int parallelism() {
+        return pool == null ? 1 : pool.getParallelism();
+    }
+
+    /**
+     * finds the word with the highest goodness score.
+     *
+     * Every word is scored as a guess against every word as a possible answer. Ties are broken
+     * by keeping the earliest word.
+     * @param words - the words that could still be the answer
+     * @param counts - the occurrence count of each word in `words`
+     * @return the Candidate with the highest goodness score, or null if `words` is empty
+     * @see org.example.wordle.Guesser#guess(java.util.List) for details of how the goodness score is computed.
+     */
+    public Candidate best(String[] words, long[] counts) {
+        return best(words, counts, null);
+    }
+
+    /**
+     * Same as {@link #best(String[], long[])} but looks patterns up in `table`
+     * @param table - a table containing every word in `words`, or null to compute patterns
+     * @throws IllegalArgumentException if `table` does not contain one of the words
+     */
+    public Candidate best(String[] words, long[] counts, PatternTable table) {
+        int[] packed = new int[words.length];
+        int[] letterMasks = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            packed[i] = WordCodec.pack(words[i]);
+            letterMasks[i] = WordCodec.letterMask(packed[i]);
+        }
+        int[] indices = table == null ? null : indicesOf(words, table);
+        Scored best = best(words.length, packed, letterMasks, counts, indices, table);
+        return best == null ? null : new Candidate(words[best.index], best.goodness);
+    }
+
+    /**
+     * finds the remaining dictionary word with the highest goodness score.
+     * Ties are broken by keeping the word with the lowest index.
+     * @param dictionary - the dictionary the words are taken from
+     * @param remaining - the indices of the words that could still be the answer
+     * @param table - a table with the same word indices as `dictionary`, or null to compute patterns
+     * @return the Candidate with the highest goodness score, or null if `remaining` is empty
+     */
+    public Candidate best(Dictionary dictionary, WordSet remaining, PatternTable table) {
+        int[] indices = remaining.toArray();
+        if (indices.length == 0) {
+            return null;
+        }
+        Scored best = score(dictionaryTurn(dictionary, indices, table), indices.length);
+        return new Candidate(dictionary.word(indices[best.index]), best.goodness);
+    }
+
+    /**
+     * Same as {@link #best(Dictionary, WordSet, PatternTable)} but returns the `k` best words
+     * @param k - the most candidates to return
+     * @return up to `k` Candidates, best first, none if `k` is not positive
+     */
+    public List<Candidate> top(Dictionary dictionary, WordSet remaining, PatternTable table, int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        int[] indices = remaining.toArray();
+        if (indices.length == 0) {
+            return List.of();
+        }
+        return top(dictionaryTurn(dictionary, indices, table), indices.length, k, g -> dictionary.word(indices[g]));
+    }
+
+    /**
+     * finds the dictionary word that is expected to narrow down the remaining answers the most.
+     *
+     * Every word of the pool's dictionary is a candidate, including words that can no longer be
+     * the answer, but each candidate is only compared against the remaining answers. A candidate's
+     * goodness is the entropy of the patterns it gives over the remaining answers, plus the
+     * probability that the candidate is itself the answer. That way a word that can win this turn
+     * is preferred over a probe word that splits the answers just as well.
+     * Ties are broken by keeping the word with the lowest index.
+     * @param answers - the answers and their weights
+     * @param remaining - the dictionary indices of the answers that are still possible
+     * @param table - a table with the same word indices as the dictionary, or null to compute patterns
+     * @return the Candidate with the highest goodness score, or null if `remaining` is empty
+     */
+    public Candidate best(AnswerPool answers, WordSet remaining, PatternTable table) {
+        int[] answerIndices = remaining.toArray();
+        if (answerIndices.length == 0) {
+            return null;
+        }
+        Scored best = score(poolTurn(answers, answerIndices, table), answers.dictionary().size());
+        return new Candidate(answers.dictionary().word(best.index), best.goodness);
+    }
+
+    /**
+     * Same as {@link #best(AnswerPool, WordSet, PatternTable)} but only the dictionary words in
+     * `candidates` can be guessed, such as the words allowed by the hard mode rule
+     * @param candidates - the dictionary indices of the words that can be guessed
+     * @return the Candidate with the highest goodness score, or null if `remaining` or `candidates` is empty
+     */
+    public Candidate best(AnswerPool answers, WordSet remaining, WordSet candidates, PatternTable table) {
+        int[] answerIndices = remaining.toArray();
+        int[] candidateIndices = candidates.toArray();
+        if (answerIndices.length == 0 || candidateIndices.length == 0) {
+            return null;
+        }
+        Scored best = score(poolTurn(answers, answerIndices, candidateIndices, table), candidateIndices.length);
+        return new Candidate(answers.dictionary().word(candidateIndices[best.index]), best.goodness);
+    }
+
+    /**
+     * Same as {@link #best(AnswerPool, WordSet, PatternTable)} but returns the `k` best words
+     * @param k - the most candidates to return
+     * @return up to `k` Candidates, best first, none if `k` is not positive
+     */
+    public List<Candidate> top(AnswerPool answers, WordSet remaining, PatternTable table, int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        int[] answerIndices = remaining.toArray();
+        if (answerIndices.length == 0) {
+            return List.of();
+        }
+        Dictionary dictionary = answers.dictionary();
+        return top(poolTurn(answers, answerIndices, table), dictionary.size(), k, dictionary::word);
+    }
+
+    /**
+     * Same as {@link #best(Dictionary, WordSet, PatternTable)} but stops scoring at `deadline`
+     * @param deadline - the {@link System#nanoTime()} after which no more candidates are scored
+     * @return the best candidate that was scored and how many candidates were scored
+     */
+    public AnytimeGuess best(Dictionary dictionary, WordSet remaining, PatternTable table, long deadline) {
+        int[] indices = remaining.toArray();
+        return anytime(dictionaryTurn(dictionary, indices, table), indices.length, deadline, g -> dictionary.word(indices[g]));
+    }
+
+    /**
+     * Same as {@link #best(AnswerPool, WordSet, PatternTable)} but stops scoring at `deadline`
+     * @param deadline - the {@link System#nanoTime()} after which no more candidates are scored
+     * @return the best candidate that was scored and how many candidates were scored
+     */
+    public AnytimeGuess best(AnswerPool answers, WordSet remaining, PatternTable table, long deadline) {
+        int[] answerIndices = remaining.toArray();
+        if (answerIndices.length == 0) {
+            return new AnytimeGuess(null, 0, 0);
+        }
+        Dictionary dictionary = answers.dictionary();
+        return anytime(poolTurn(answers, answerIndices, table), dictionary.size(), deadline, dictionary::word);
+    }
+
+    // scores the candidates of `turn` most promising first until every candidate is scored or `deadline` passes
+    private AnytimeGuess anytime(Turn turn, int count, long deadline, IntFunction<String> word) {
+        if (count == 0) {
+            return new AnytimeGuess(null, 0, 0);
+        }
+        int[] order = turn.order(count);
+        AtomicInteger cursor = new AtomicInteger();
+        Progress progress;
+        if (pool == null || count <= MIN_SPLIT) {
+            progress = new DeadlineTask(turn, order, cursor, deadline).compute();
+        } else {
+            // every thread takes the next few candidates in order, so the most promising are scored first
+            List<DeadlineTask> tasks = new ArrayList<>();
+            for (int i = 0; i < pool.getParallelism(); i++) {
+                tasks.add(new DeadlineTask(turn, order, cursor, deadline));
+            }
+            progress = pool.invoke(new RecursiveTask<Progress>() {
+                @Override
+                protected Progress compute() {
+                    Progress combined = new Progress(null, 0);
+                    for (DeadlineTask task : invokeAll(tasks)) {
+                        combined = combined.merge(task.join());
+                    }
+                    return combined;
+                }
+            });
+        }
+        if (progress.best == null) {
+            // nothing could be scored in time, fall back to the most promising candidate
+            return new AnytimeGuess(new Candidate(word.apply(order[0]), Double.NaN), 0, count);
+        }
+        return new AnytimeGuess(new Candidate(word.apply(progress.best.index), progress.best.goodness), progress.evaluated, count);
+    }
+
+    // a turn where the remaining dictionary words at `indices` are both the candidates and the answers
+    private static Turn dictionaryTurn(Dictionary dictionary, int[] indices, PatternTable table) {
+        int[] packed = new int[indices.length];
+        int[] letterMasks = new int[indices.length];
+        long[] counts = new long[indices.length];
+        long remainingWordCount = 0L;
+        for (int i = 0; i < indices.length; i++) {
+            packed[i] = dictionary.packed(indices[i]);
+            letterMasks[i] = dictionary.letterMask(indices[i]);
+            counts[i] = dictionary.count(indices[i]);
+            remainingWordCount += counts[i];
+        }
+        int[] tableIndices = table == null ? null : indices;
+        return new Turn(packed, letterMasks, counts, tableIndices, packed, letterMasks, counts, tableIndices,
+                remainingWordCount, table, false);
+    }
+
+    // a turn where every dictionary word is a candidate and the answers at `answerIndices` remain
+    private static Turn poolTurn(AnswerPool answers, int[] answerIndices, PatternTable table) {
+        int[] candidateIndices = new int[answers.dictionary().size()];
+        for (int i = 0; i < candidateIndices.length; i++) {
+            candidateIndices[i] = i;
+        }
+        return poolTurn(answers, answerIndices, candidateIndices, table);
+    }
+
+    // a turn where the dictionary words at `candidateIndices` are the candidates and the answers at `answerIndices` remain
+    private static Turn poolTurn(AnswerPool answers, int[] answerIndices, int[] candidateIndices, PatternTable table) {
+        Dictionary dictionary = answers.dictionary();
+        int[] answerPacked = new int[answerIndices.length];
+        int[] answerMasks = new int[answerIndices.length];
+        long[] answerCounts = new long[answerIndices.length];
+        long remainingWeight = 0L;
+        for (int i = 0; i < answerIndices.length; i++) {
+            answerPacked[i] = dictionary.packed(answerIndices[i]);
+            answerMasks[i] = dictionary.letterMask(answerIndices[i]);
+            answerCounts[i] = answers.weight(answerIndices[i]);
+            remainingWeight += answerCounts[i];
+        }
+
+        int n = candidateIndices.length;
+        int[] guessPacked = new int[n];
+        int[] guessMasks = new int[n];
+        int[] guessIndices = table == null ? null : candidateIndices;
+        // a candidate's weight as a remaining answer, 0 if it can not be the answer
+        long[] guessCounts = new long[n];
+        long[] answerWeights = new long[dictionary.size()];
+        for (int i = 0; i < answerIndices.length; i++) {
+            answerWeights[answerIndices[i]] = answerCounts[i];
+        }
+        for (int i = 0; i < n; i++) {
+            guessPacked[i] = dictionary.packed(candidateIndices[i]);
+            guessMasks[i] = dictionary.letterMask(candidateIndices[i]);
+            guessCounts[i] = answerWeights[candidateIndices[i]];
+        }
+
+        return new Turn(guessPacked, guessMasks, guessCounts, guessIndices,
+                answerPacked, answerMasks, answerCounts, table == null ? null : answerIndices,
+                remainingWeight, table, true);
+    }
+
+    // scores `count` words against themselves, if `table` is not null then `indices` holds the table index of each word
+    private Scored best(int count, int[] packed, int[] letterMasks, long[] counts, int[] indices, PatternTable table) {
+        assert count == counts.length;
+        if (count == 0) {
+            return null;
+        }
+
+        // the sum of the counts of all the remaining words
+        long remainingWordCount = 0L;
+        for (long c : counts) {
+            remainingWordCount += c;
+        }
+
+        Turn turn = new Turn(packed, letterMasks, counts, indices, packed, letterMasks, counts, indices,
+                remainingWordCount, table, false);
+        return score(turn, count);
+    }
+
+    // scores the first `count` candidates of `turn`, in parallel if this scorer has a pool
+    private Scored score(Turn turn, int count) {
+        if (pool == null || count <= MIN_SPLIT) {
+            return turn.score(0, count);
+        }
+        int split = Math.max(MIN_SPLIT, count / (pool.getParallelism() * 4));
+        return pool.invoke(new ScoreTask(turn, 0, count, split));
+    }
+
+    // scores every candidate of `turn` and keeps the `k` best, best first with ties going to the lowest index
+    private List<Candidate> top(Turn turn, int count, int k, IntFunction<String> word) {
+        double[] goodness = new double[count];
+        if (pool == null || count <= MIN_SPLIT) {
+            turn.goodness(0, count, goodness);
+        } else {
+            int split = Math.max(MIN_SPLIT, count / (pool.getParallelism() * 4));
+            pool.invoke(new GoodnessTask(turn, 0, count, split, goodness));
+        }
+
+        // insertion into a sorted array of the best k, k is expected to be small
+        int size = Math.min(k, count);
+        int[] best = new int[size];
+        int found = 0;
+        for (int g = 0; g < count; g++) {
+            if (found == size && goodness[g] <= goodness[best[size - 1]]) {
+                continue;
+            }
+            int i = found < size ? found++ : size - 1;
+            while (i > 0 && goodness[best[i - 1]] < goodness[g]) {
+                best[i] = best[i - 1];
+                i--;
+            }
+            best[i] = g;
+        }
+        List<Candidate> candidates = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            candidates.add(new Candidate(word.apply(best[i]), goodness[best[i]]));
+        }
+        return candidates;
+    }
+
+    private static int[] indicesOf(String[] words, PatternTable table) {
+        int[] indices = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            indices[i] = table.indexOf(words[i]);
+            if (indices[i] < 0) {
+                throw new IllegalArgumentException("pattern table does not contain the word: " + words[i]);
+            }
+        }
+        return indices;
+    }
+
+    // the goodness of the word at `index` of the word array
+    private record Scored(int index, double goodness) {
+
+        // the better of this and other, preferring the earlier word on a tie
+        Scored max(Scored other) {
+            if (other.goodness > this.goodness || (other.goodness == this.goodness && other.index < this.index)) {
+                return other;
+            }
+            return this;
+        }
+    }
+
+    // the read-only inputs of scoring one turn, shared by every task. The guess arrays describe
+    // the candidates and the answer arrays the words that could be the answer, the index arrays
+    // hold table indices and are null when there is no table. When `probe` is true a candidate's
+    // goodness is its entropy plus its probability, otherwise its entropy times its probability
+    private record Turn(int[] guessPacked, int[] guessMasks, long[] guessCounts, int[] guessIndices,
+                        int[] answerPacked, int[] answerMasks, long[] answerCounts, int[] answerIndices,
+                        long remainingWordCount, PatternTable table, boolean probe) {
+
+        // scores the words in [from, to) and returns the best of them
+        Scored score(int from, int to) {
+            // sum of the count(s) of all words that match each pattern code
+            long[] histogram = new long[PatternCode.COUNT];
+            int[] codes = codes();
+            Scored best = null;
+
+            for (int g = from; g < to; g++) {
+                double goodness = goodness(g, histogram, codes);
+                if (best == null || goodness > best.goodness) {
+                    best = new Scored(g, goodness);
+                }
+            }
+            return best;
+        }
+
+        // orders the first `count` candidates by how evenly their letters split the remaining words,
+        // the sum of f * (1 - f) over the distinct letters of the candidate, where f is the weighted
+        // fraction of remaining words containing the letter. The sum stands in for the entropy and
+        // is combined with the candidate's probability the same way the goodness is
+        int[] order(int count) {
+            double[] frequency = new double[26];
+            for (int a = 0; a < answerMasks.length; a++) {
+                for (int letters = answerMasks[a]; letters != 0; letters &= letters - 1) {
+                    frequency[Integer.numberOfTrailingZeros(letters)] += answerCounts[a];
+                }
+            }
+            double[] split = new double[26];
+            for (int l = 0; l < 26; l++) {
+                double f = remainingWordCount == 0 ? 0.0 : frequency[l] / remainingWordCount;
+                split[l] = f * (1.0 - f);
+            }
+            // sort by the heuristic, best first, packing the (non negative) heuristic above the index
+            long[] keys = new long[count];
+            for (int g = 0; g < count; g++) {
+                double heuristic = 0.0;
+                for (int letters = guessMasks[g]; letters != 0; letters &= letters - 1) {
+                    heuristic += split[Integer.numberOfTrailingZeros(letters)];
+                }
+                double probWord = remainingWordCount == 0 ? 0.0 : (double) guessCounts[g] / remainingWordCount;
+                heuristic = probe ? heuristic + probWord : heuristic * probWord;
+                keys[g] = ((long) Float.floatToIntBits((float) heuristic) << 32) | (Integer.MAX_VALUE - g);
+            }
+            Arrays.sort(keys);
+            int[] order = new int[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = Integer.MAX_VALUE - (int) keys[count - 1 - i];
+            }
+            return order;
+        }
+
+        // scores the words in [from, to) into `goodness`
+        void goodness(int from, int to, double[] goodness) {
+            long[] histogram = new long[PatternCode.COUNT];
+            int[] codes = codes();
+            for (int g = from; g < to; g++) {
+                goodness[g] = goodness(g, histogram, codes);
+            }
+        }
+
+        // scratch space for the pattern codes of a guess against every answer, null when the codes
+        // are read from the table or computed one at a time
+        int[] codes() {
+            return guessIndices == null && PatternCode.VECTORIZED ? new int[answerPacked.length] : null;
+        }
+
+        // the goodness of the word at `g`, `histogram` is scratch space of COUNT buckets and `codes`
+        // is the scratch space returned by codes()
+        double goodness(int g, long[] histogram, int[] codes) {
+            Arrays.fill(histogram, 0L);
+            if (codes != null) {
+                PatternCode.computeCodes(guessPacked[g], answerPacked, answerPacked.length, codes);
+                for (int a = 0; a < codes.length; a++) {
+                    histogram[codes[a]] += answerCounts[a];
+                }
+            } else if (guessIndices == null) {
+                int guess = guessPacked[g];
+                int guessMask = guessMasks[g];
+                for (int a = 0; a < answerPacked.length; a++) {
+                    // an answer that shares no letters with the guess is all wrong
+                    int code = (answerMasks[a] & guessMask) == 0
+                            ? PatternCode.COUNT - 1
+                            : PatternCode.computeCode(answerPacked[a], guess);
+                    histogram[code] += answerCounts[a];
+                }
+            } else {
+                int guessIndex = guessIndices[g];
+                for (int a = 0; a < answerPacked.length; a++) {
+                    histogram[table.get(guessIndex, answerIndices[a])] += answerCounts[a];
+                }
+            }
+
+            // the entropy -sum(p * log2(p)) of the patterns, where p = inPatternTotal / remainingWordCount,
+            // summed as sum(inPatternTotal * (log2(remainingWordCount) - log2(inPatternTotal))) / remainingWordCount
+            // so the logarithms come from the tables of Log2
+            double logTotal = Log2.of(remainingWordCount);
+            double sum = 0.0;
+            for (long inPatternTotal : histogram) {
+                // patterns that no word matched add no information
+                if (inPatternTotal != 0) {
+                    sum += inPatternTotal * (logTotal - Log2.of(inPatternTotal));
+                }
+            }
+            double entropy = sum / remainingWordCount;
+            // compute the probability of the current `word` using its occurrence `count`
+            double probWord = (double) guessCounts[g] / (double) remainingWordCount;
+            // the goodness score of `word` a.k.a. its entropy "bits"
+            return probe ? entropy + probWord : probWord * entropy;
+        }
+    }
+
+    // splits a range of candidates in half until it is small enough to score directly
+    private static final class ScoreTask extends RecursiveTask<Scored> {
+        private final Turn turn;
+        private final int from;
+        private final int to;
+        private final int split;
+
+        ScoreTask(Turn turn, int from, int to, int split) {
+            this.turn = turn;
+            this.from = from;
+            this.to = to;
+            this.split = split;
+        }
+
+        @Override
+        protected Scored compute() {
+            if (to - from <= split) {
+                return turn.score(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(turn, from, mid, split);
+            left.fork();
+            Scored right = new ScoreTask(turn, mid, to, split).compute();
+            return left.join().max(right);
+        }
+    }
+
+    // splits a range of candidates in half until it is small enough to score directly into `goodness`
+    private static final class GoodnessTask extends RecursiveAction {
+        private final Turn turn;
+        private final int from;
+        private final int to;
+        private final int split;
+        private final double[] goodness;
+
+        GoodnessTask(Turn turn, int from, int to, int split, double[] goodness) {
+            this.turn = turn;
+            this.from = from;
+            this.to = to;
+            this.split = split;
+            this.goodness = goodness;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= split) {
+                turn.goodness(from, to, goodness);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new GoodnessTask(turn, from, mid, split, goodness), new GoodnessTask(turn, mid, to, split, goodness));
+        }
+    }
+
+    // the best candidate scored so far and how many candidates were scored
+    private record Progress(Scored best, int evaluated) {
+
+        Progress merge(Progress other) {
+            Scored best = this.best == null ? other.best : other.best == null ? this.best : this.best.max(other.best);
+            return new Progress(best, this.evaluated + other.evaluated);
+        }
+    }
+
+    // scores candidates in `order`, taking a batch at a time from the shared `cursor`, until every
+    // candidate was taken or the deadline passes
+    private static final class DeadlineTask extends RecursiveTask<Progress> {
+        private final Turn turn;
+        private final int[] order;
+        private final AtomicInteger cursor;
+        private final long deadline;
+
+        DeadlineTask(Turn turn, int[] order, AtomicInteger cursor, long deadline) {
+            this.turn = turn;
+            this.order = order;
+            this.cursor = cursor;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Progress compute() {
+            long[] histogram = new long[PatternCode.COUNT];
+            int[] codes = turn.codes();
+            Scored best = null;
+            int evaluated = 0;
+            for (int from = cursor.getAndAdd(DEADLINE_BATCH); from < order.length; from = cursor.getAndAdd(DEADLINE_BATCH)) {
+                int to = Math.min(from + DEADLINE_BATCH, order.length);
+                for (int i = from; i < to; i++) {
+                    if (System.nanoTime() - deadline > 0) {
+                        return new Progress(best, evaluated);
+                    }
+                    Scored scored = new Scored(order[i], turn.goodness(order[i], histogram, codes));
+                    best = best == null ? scored : best.max(scored);
+                    evaluated++;
+                }
+            }
+            return new Progress(best, evaluated);
+        }
+    }
+}
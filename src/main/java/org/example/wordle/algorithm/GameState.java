@@ -0,0 +1,58 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.Guess;
+import org.example.wordle.dictionary.WordSet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The state of a single game of wordle: the guesses made so far and the set of dictionary words
+ * that could still be the answer.
+ *
+ * A GameState only holds a bitset of word indices, the dictionary itself is shared, so a game
+ * costs very little memory. GameStates are created by {@link Prune#newGame()} and are not
+ * thread-safe, each game should have its own.
+ */
+public final class GameState {
+
+    // the guesses made so far, with the most recent guess at the end
+    private final List<Guess> history;
+
+    // the indices of the dictionary words that could still be the answer
+    final WordSet remaining;
+
+    // the words removed by the latest guess, only counted while its Prune has a TurnListener
+    int wordsPruned;
+
+    GameState(WordSet remaining) {
+        this.history = new ArrayList<>();
+        this.remaining = remaining;
+    }
+
+    /**
+     * @return the guesses made so far, with the most recent guess at the end
+     */
+    public List<Guess> history() {
+        return Collections.unmodifiableList(history);
+    }
+
+    /**
+     * @return a copy of the indices of the dictionary words that could still be the answer
+     */
+    public WordSet remaining() {
+        return remaining.copy();
+    }
+
+    /**
+     * @return the number of dictionary words that could still be the answer
+     */
+    public int remainingCount() {
+        return remaining.size();
+    }
+
+    void addGuess(Guess guess) {
+        history.add(guess);
+    }
+}
@@ -0,0 +1,232 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.WordSet;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe cache of the best guess for a set of remaining words.
+ *
+ * Games that make the same guesses and get the same patterns end up with the same remaining
+ * words, and the best guess only depends on those words, so a guess scored once can be reused by
+ * every later game. Entries are keyed by a fingerprint of the dictionary and of the remaining
+ * words, which makes one cache safe to share between Guessers of different dictionaries. Every
+ * Guesser sharing a cache must pick its guess for a set of remaining words the same way.
+ *
+ * The cache is split into segments, each with its own lock and least recently used eviction, so
+ * concurrent games rarely wait on each other. Two games missing on the same key at the same time
+ * both score it, the cache never blocks while a guess is computed.
+ */
+public final class GuessCache {
+
+    // the number of independently locked segments
+    private static final int SEGMENTS = 16;
+
+    private final int maxEntries;
+
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxEntries - the most guesses to keep, the least recently used guesses are evicted
+     *                   beyond this
+     * @throws IllegalArgumentException if maxEntries is less than 1
+     */
+    public GuessCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("guess cache must hold at least one entry");
+        }
+        this.maxEntries = maxEntries;
+        this.segments = new Segment[SEGMENTS];
+        // spread the capacity over the segments, rounding up so the cache holds at least maxEntries
+        int perSegment = (maxEntries + SEGMENTS - 1) / SEGMENTS;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * computes the key identifying the `remaining` words of a dictionary
+     * @param dictionary - the {@link Dictionary#checksum()} of the dictionary
+     * @param remaining - the remaining words of the dictionary
+     */
+    static Key key(long dictionary, WordSet remaining) {
+        return new Key(dictionary, remaining);
+    }
+
+    /**
+     * @return the cached guess for `key`, or null if it is not cached
+     */
+    String get(Key key) {
+        String guess = segment(key).get(key);
+        if (guess == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return guess;
+    }
+
+    /**
+     * caches `guess` as the best guess for `key`, possibly evicting the least recently used guess
+     */
+    void put(Key key, String guess) {
+        segment(key).put(key, guess);
+    }
+
+    private Segment segment(Key key) {
+        // the low bits of the hash are already well mixed by Arrays.hashCode
+        return segments[(key.hash ^ (key.hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    /**
+     * @return the most guesses this cache holds
+     */
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return the number of guesses currently cached
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * removes every cached guess, the statistics are kept
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * @return a snapshot of the hits, misses and evictions since this cache was created
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    /**
+     * Cache statistics
+     * @param hits - lookups that found a cached guess
+     * @param misses - lookups that had to score the guess
+     * @param evictions - guesses evicted to make room for newer ones
+     * @param size - the number of guesses cached
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {
+
+        /**
+         * @return the fraction of lookups that were hits, or 0 if there were no lookups
+         */
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits: %d, misses: %d, hit rate: %.1f%%, evictions: %d, size: %d",
+                    hits, misses, hitRate() * 100, evictions, size);
+        }
+    }
+
+    /**
+     * A canonical fingerprint of the remaining words of a dictionary. Sets of few words are stored
+     * as their sorted indices and larger sets as bits, whichever takes less memory.
+     */
+    static final class Key {
+
+        private final long dictionary;
+
+        private final int capacity;
+
+        // the sorted word indices, or null if the set is stored in bits
+        private final int[] indices;
+
+        // the bits of the set, or null if the set is stored in indices
+        private final long[] bits;
+
+        private final int hash;
+
+        private Key(long dictionary, WordSet remaining) {
+            this.dictionary = dictionary;
+            this.capacity = remaining.capacity();
+            // an index takes 32 bits, a bitset one bit per word of the dictionary
+            if ((long) remaining.size() * 32 < capacity) {
+                this.indices = remaining.toArray();
+                this.bits = null;
+            } else {
+                this.indices = null;
+                this.bits = remaining.toLongArray();
+            }
+            int h = Long.hashCode(dictionary) * 31 + capacity;
+            this.hash = h * 31 + (indices != null ? Arrays.hashCode(indices) : Arrays.hashCode(bits));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key that = (Key) o;
+            return hash == that.hash
+                    && dictionary == that.dictionary
+                    && capacity == that.capacity
+                    && Arrays.equals(indices, that.indices)
+                    && Arrays.equals(bits, that.bits);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // a least recently used map guarded by its own lock
+    private final class Segment {
+
+        private final LinkedHashMap<Key, String> map;
+
+        Segment(int maxEntries) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                    if (size() > maxEntries) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized String get(Key key) {
+            return map.get(key);
+        }
+
+        synchronized void put(Key key, String guess) {
+            map.put(key, guess);
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+
+        synchronized void clear() {
+            map.clear();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.Guess;
+import org.example.wordle.Guesser;
+
+import java.util.List;
+
+/**
+ * A wordle Guesser that plays by the hard mode rule: every correct letter must be guessed at its
+ * position again, and every correct or misplaced letter must be used in the next guesses.
+ *
+ * The history is compiled once per guess into {@link Constraints}, so checking whether a word may
+ * be guessed takes a few bitwise operations rather than computing its pattern against every past
+ * guess. Without an AnswerPool a {@link Prune} only guesses words that could still be the answer,
+ * which already use every hint. With an AnswerPool only the dictionary words the hints allow are
+ * scored.
+ */
+public class HardMode implements Guesser {
+
+    private final Prune prune;
+
+    /**
+     * @param prune - scores the guesses, its guess cache is not used
+     */
+    public HardMode(Prune prune) {
+        this.prune = prune;
+    }
+
+    @Override
+    public String guess(List<Guess> history) {
+        return guess(this.prune.replay(history));
+    }
+
+    @Override
+    public String guess(GameState state) {
+        return this.prune.guess(state, Constraints.hints(state.history()));
+    }
+}
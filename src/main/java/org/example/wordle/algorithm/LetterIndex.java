@@ -0,0 +1,70 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.WordCodec;
+import org.example.wordle.dictionary.WordSet;
+
+/**
+ * An inverted index of the dictionary words by letter: for every letter and position the set of
+ * words with the letter at that position, and for every letter and count the set of words with at
+ * least that many copies of the letter.
+ *
+ * With the index, {@link Constraints#retainAllowed(WordSet, LetterIndex)} applies a guess to the
+ * remaining words with a few bitset intersections, whose cost depends on the size of the
+ * dictionary rather than the number of words remaining. The index of the full dictionary holds
+ * 200 sets, about 320KB. It is immutable once built and can be shared by any number of games.
+ */
+final class LetterIndex {
+
+    // the words with letter l at position i, indexed by [i][l]
+    private final WordSet[][] positions;
+
+    // the words with at least k copies of letter l, indexed by [l][k], k = 0 is unused
+    private final WordSet[][] counts;
+
+    // returned for counts no word has, never modified
+    private final WordSet none;
+
+    LetterIndex(Dictionary dictionary) {
+        int n = dictionary.size();
+        this.positions = new WordSet[WordCodec.WORD_LENGTH][WordCodec.LETTERS];
+        this.counts = new WordSet[WordCodec.LETTERS][WordCodec.WORD_LENGTH + 1];
+        this.none = WordSet.empty(n);
+        int[] occurrences = new int[WordCodec.LETTERS];
+        for (int w = 0; w < n; w++) {
+            int packed = dictionary.packed(w);
+            for (int i = 0; i < WordCodec.WORD_LENGTH; i++) {
+                int letter = WordCodec.letter(packed, i);
+                if (positions[i][letter] == null) {
+                    positions[i][letter] = WordSet.empty(n);
+                }
+                positions[i][letter].add(w);
+                int k = ++occurrences[letter];
+                if (counts[letter][k] == null) {
+                    counts[letter][k] = WordSet.empty(n);
+                }
+                counts[letter][k].add(w);
+            }
+            for (int i = 0; i < WordCodec.WORD_LENGTH; i++) {
+                occurrences[WordCodec.letter(packed, i)] = 0;
+            }
+        }
+    }
+
+    /**
+     * @return the words with `letter` ('a' = 0) at `position`, which must not be modified
+     */
+    WordSet at(int letter, int position) {
+        WordSet words = positions[position][letter];
+        return words == null ? none : words;
+    }
+
+    /**
+     * @param count - from 1 to the word length
+     * @return the words with at least `count` copies of `letter` ('a' = 0), which must not be modified
+     */
+    WordSet atLeast(int letter, int count) {
+        WordSet words = counts[letter][count];
+        return words == null ? none : words;
+    }
+}
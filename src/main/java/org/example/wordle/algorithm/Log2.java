@@ -0,0 +1,57 @@
+package org.example.wordle.algorithm;
+
+/**
+ * Base 2 logarithms of positive whole numbers from precomputed tables, so that the entropy of a
+ * histogram can be summed without calling {@link Math#log(double)} for every pattern.
+ *
+ * Numbers below {@value #EXACT} are looked up directly and are as exact as Math.log. Larger
+ * numbers, such as the summed occurrence counts of dictionary words, are split into their binary
+ * exponent and mantissa, and the logarithm of the mantissa is interpolated between the entries of
+ * a table of {@value #MANTISSA_STEPS} steps, which is within 2e-8 of the exact value.
+ */
+final class Log2 {
+
+    // the numbers whose logarithm is looked up directly
+    static final int EXACT = 1 << 12;
+
+    // the number of steps the mantissa table splits [1, 2) into
+    static final int MANTISSA_STEPS = 1 << 12;
+
+    // log2(n) for n in [0, EXACT), the entry for 0 is unused
+    private static final double[] SMALL = new double[EXACT];
+
+    // log2(1 + i / MANTISSA_STEPS) for i in [0, MANTISSA_STEPS]
+    private static final double[] MANTISSA = new double[MANTISSA_STEPS + 1];
+
+    // the mantissa bits below the ones that index MANTISSA
+    private static final int FRACTION_BITS = 52 - Integer.numberOfTrailingZeros(MANTISSA_STEPS);
+
+    static {
+        double ln2 = Math.log(2);
+        for (int n = 1; n < EXACT; n++) {
+            SMALL[n] = Math.log(n) / ln2;
+        }
+        for (int i = 0; i <= MANTISSA_STEPS; i++) {
+            MANTISSA[i] = Math.log(1.0 + (double) i / MANTISSA_STEPS) / ln2;
+        }
+    }
+
+    private Log2() {
+    }
+
+    /**
+     * @param n - a number greater than 0
+     * @return the base 2 logarithm of `n`
+     */
+    static double of(long n) {
+        if (n < EXACT) {
+            return SMALL[(int) n];
+        }
+        long bits = Double.doubleToRawLongBits((double) n);
+        int exponent = (int) (bits >>> 52) - 1023;
+        long mantissa = bits & ((1L << 52) - 1);
+        int step = (int) (mantissa >>> FRACTION_BITS);
+        double fraction = (double) (mantissa & ((1L << FRACTION_BITS) - 1)) / (1L << FRACTION_BITS);
+        return exponent + MANTISSA[step] + fraction * (MANTISSA[step + 1] - MANTISSA[step]);
+    }
+}
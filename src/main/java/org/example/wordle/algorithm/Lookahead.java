@@ -0,0 +1,276 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.Guess;
+import org.example.wordle.Guesser;
+import org.example.wordle.PatternCode;
+import org.example.wordle.dictionary.WordSet;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A wordle Guesser that looks more than one guess ahead and picks the guess with the fewest
+ * expected turns, instead of the guess with the most information.
+ *
+ * For each of the top candidates by entropy, see {@link Prune}, the remaining words are split by
+ * the pattern the candidate gives, and the expected number of turns to solve each group is found
+ * by searching the top candidates for that group, `depth` guesses deep. Groups of one or two words
+ * are solved exactly and deeper groups are estimated from their size, see {@link #estimate(int[])}.
+ *
+ * The search is kept tractable by only considering the `candidates` best words by entropy at every
+ * step, and by bounding: every group needs at least one more turn, so a candidate is dropped as soon
+ * as the turns it is known to need add up to more than the best candidate found so far.
+ *
+ * The search stops when its time budget runs out and returns the best guess it has fully evaluated,
+ * or the best guess by entropy if it evaluated none. Like Prune, Lookahead keeps no state between
+ * guesses and can be shared by concurrent games.
+ */
+public class Lookahead implements Guesser {
+
+    // the expected information, in bits, of a guess made by a deeper search. Used to estimate the
+    // turns needed by a group of words the search does not explore
+    private static final double ESTIMATED_BITS_PER_GUESS = 4.0;
+
+    // finds the candidates, replays histories and computes patterns
+    private final Prune prune;
+
+    // the number of guesses to search, including the guess being made
+    private final int depth;
+
+    // the number of candidates, by entropy, searched at every step
+    private final int candidates;
+
+    // the time a search may take before it returns the best guess found so far
+    private final long budgetNanos;
+
+    /**
+     * @param prune - the Prune whose dictionary, answers and pattern table are searched
+     * @param depth - the number of guesses to search, including the guess being made
+     * @param candidates - the number of best guesses by entropy to search at every step
+     * @param budget - the time a guess may take, after which the best guess found so far is returned
+     * @throws IllegalArgumentException if depth or candidates are less than 1, or budget is negative
+     */
+    public Lookahead(Prune prune, int depth, int candidates, Duration budget) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("lookahead depth must be at least 1");
+        }
+        if (candidates < 1) {
+            throw new IllegalArgumentException("lookahead must search at least one candidate");
+        }
+        if (budget.isNegative()) {
+            throw new IllegalArgumentException("lookahead budget must not be negative");
+        }
+        this.prune = prune;
+        this.depth = depth;
+        this.candidates = candidates;
+        this.budgetNanos = budget.toNanos();
+    }
+
+    @Override
+    public String guess(List<Guess> history) {
+        return search(history).guess();
+    }
+
+    @Override
+    public String guess(GameState state) {
+        return search(state, System.nanoTime() + budgetNanos).guess();
+    }
+
+    /**
+     * Same as {@link #guess(List)} but also reports how the search went
+     * @param history - a list of past guesses that were made, with the most recent guess at the end
+     * @return the Result of the search
+     */
+    public Result search(List<Guess> history) {
+        long deadline = System.nanoTime() + budgetNanos;
+        return search(this.prune.replay(history), deadline);
+    }
+
+    // searches for the best guess after the history of `state`, until `deadline`
+    private Result search(GameState state, long deadline) {
+        Search search = new Search(deadline);
+        int[] answers = state.remaining.toArray();
+        if (state.history().isEmpty() || answers.length <= 2) {
+            // the opener is always the same, and one or two words are solved by guessing the likelier one
+            String guess = this.prune.guess(state);
+            double expected = answers.length <= 2 && answers.length > 0 ? lowerBound(answers) : Double.NaN;
+            return new Result(guess, expected, 0, 0, false);
+        }
+
+        List<Candidate> top = this.prune.top(state.remaining, this.candidates);
+        String best = top.get(0).word();
+        double bestTurns = Double.POSITIVE_INFINITY;
+        int evaluated = 0;
+        boolean timedOut = false;
+        for (Candidate candidate : top) {
+            try {
+                double turns = evaluate(search, this.prune.dictionary().indexOf(candidate.word()), answers, this.depth, bestTurns);
+                evaluated++;
+                if (turns < bestTurns) {
+                    best = candidate.word();
+                    bestTurns = turns;
+                }
+            } catch (OutOfTime e) {
+                timedOut = true;
+                break;
+            }
+        }
+        return new Result(best, evaluated == 0 ? Double.NaN : bestTurns, evaluated, top.size(), timedOut);
+    }
+
+    /**
+     * computes the expected number of turns, including `guess`, to solve `answers` when `guess`
+     * is guessed next
+     * @param guess - the dictionary index of the guess
+     * @param answers - the dictionary indices of the words that could be the answer
+     * @param depth - the number of guesses to search, including `guess`
+     * @param bound - stop as soon as the expected turns are known to be at least this
+     * @return the expected number of turns, or a number of turns at least `bound`
+     */
+    private double evaluate(Search search, int guess, int[] answers, int depth, double bound) {
+        search.check();
+
+        // group the answers by the pattern the guess gives them
+        int[] codes = new int[answers.length];
+        int[] start = new int[PatternCode.COUNT + 1];
+        long[] weights = new long[PatternCode.COUNT];
+        long[] maxWeights = new long[PatternCode.COUNT];
+        long total = 0L;
+        for (int a = 0; a < answers.length; a++) {
+            int code = this.prune.code(guess, answers[a]);
+            long weight = weight(answers[a]);
+            codes[a] = code;
+            start[code + 1]++;
+            weights[code] += weight;
+            maxWeights[code] = Math.max(maxWeights[code], weight);
+            total += weight;
+        }
+        for (int code = 0; code < PatternCode.COUNT; code++) {
+            start[code + 1] += start[code];
+        }
+        int[] grouped = new int[answers.length];
+        int[] next = start.clone();
+        for (int a = 0; a < answers.length; a++) {
+            grouped[next[codes[a]]++] = answers[a];
+        }
+
+        // start from the fewest turns each group could take. Only the guess itself gives the all
+        // correct pattern, and it is solved by this guess
+        double expected = 1.0;
+        double[] lower = new double[PatternCode.COUNT];
+        for (int code = 0; code < PatternCode.COUNT; code++) {
+            int size = start[code + 1] - start[code];
+            if (size == 0 || code == PatternCode.ALL_CORRECT) {
+                continue;
+            }
+            lower[code] = size == 1 ? 1.0 : 2.0 - (double) maxWeights[code] / weights[code];
+            expected += (double) weights[code] / total * lower[code];
+        }
+        if (expected >= bound) {
+            return expected;
+        }
+
+        // groups of one or two words are already exact, replace the lower bound of the others
+        for (int code = 0; code < PatternCode.COUNT; code++) {
+            int size = start[code + 1] - start[code];
+            if (size <= 2 || code == PatternCode.ALL_CORRECT) {
+                continue;
+            }
+            int[] group = new int[size];
+            System.arraycopy(grouped, start[code], group, 0, size);
+            double p = (double) weights[code] / total;
+            double turns = depth > 1
+                    ? solve(search, group, depth - 1, lower[code] + (bound - expected) / p)
+                    : estimate(group);
+            expected += p * (turns - lower[code]);
+            if (expected >= bound) {
+                return expected;
+            }
+        }
+        return expected;
+    }
+
+    /**
+     * computes the expected number of turns to solve `answers` with the best of the top candidates
+     * @param answers - the dictionary indices of the words that could be the answer
+     * @param depth - the number of guesses to search
+     * @param bound - stop as soon as the expected turns are known to be at least this
+     * @return the fewest expected turns, or `bound` if no candidate needs fewer turns than `bound`
+     */
+    private double solve(Search search, int[] answers, int depth, double bound) {
+        if (answers.length <= 2) {
+            return lowerBound(answers);
+        }
+        WordSet remaining = WordSet.empty(this.prune.dictionary().size());
+        for (int answer : answers) {
+            remaining.add(answer);
+        }
+        double best = bound;
+        for (Candidate candidate : this.prune.top(remaining, this.candidates)) {
+            best = Math.min(best, evaluate(search, this.prune.dictionary().indexOf(candidate.word()), answers, depth, best));
+        }
+        return best;
+    }
+
+    // the fewest expected turns to solve `answers`, exact for one or two words: guessing the
+    // likeliest word solves it in one turn, otherwise the game takes at least two
+    private double lowerBound(int[] answers) {
+        if (answers.length == 1) {
+            return 1.0;
+        }
+        long total = 0L;
+        long max = 0L;
+        for (int answer : answers) {
+            long weight = weight(answer);
+            total += weight;
+            max = Math.max(max, weight);
+        }
+        return 2.0 - (double) max / total;
+    }
+
+    /**
+     * estimates the expected number of turns to solve `answers` without searching: the lower bound,
+     * plus the turns needed to tell the words apart at {@link #ESTIMATED_BITS_PER_GUESS}
+     */
+    private double estimate(int[] answers) {
+        return lowerBound(answers) + Math.log(answers.length - 1) / Math.log(2) / ESTIMATED_BITS_PER_GUESS;
+    }
+
+    // every word is treated as a possible answer, even if its count is 0
+    private long weight(int index) {
+        return Math.max(1L, this.prune.weight(index));
+    }
+
+    /**
+     * The outcome of a search
+     * @param guess - the best guess found, or null if no word matches the history
+     * @param expectedTurns - the expected number of turns, including `guess`, to solve the game,
+     *                      NaN if no candidate was evaluated
+     * @param evaluated - the number of candidates that were fully evaluated
+     * @param candidates - the number of candidates that were to be evaluated
+     * @param timedOut - true if the time budget ran out before every candidate was evaluated
+     */
+    public record Result(String guess, double expectedTurns, int evaluated, int candidates, boolean timedOut) {}
+
+    // the deadline of one search
+    private static final class Search {
+        private final long deadline;
+
+        Search(long deadline) {
+            this.deadline = deadline;
+        }
+
+        void check() {
+            if (System.nanoTime() - deadline > 0) {
+                throw new OutOfTime();
+            }
+        }
+    }
+
+    // thrown to unwind a search whose time budget ran out
+    private static final class OutOfTime extends RuntimeException {
+        OutOfTime() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.dictionary.WordSet;
+
+/**
+ * The state of a game played on several boards at once, like Quordle (4 boards) or Octordle
+ * (8 boards). Every board has its own answer, and every guess is played on every board that is not
+ * solved yet, so each board has its own set of words that could still be its answer.
+ *
+ * MultiBoardGames are created by {@link MultiBoardSolver#newGame(int)} and are not thread-safe,
+ * each game should have its own.
+ */
+public final class MultiBoardGame {
+
+    // the indices of the words that could still be the answer of each board
+    final WordSet[] remaining;
+
+    // whether each board has been solved
+    final boolean[] solved;
+
+    // the number of guesses made so far
+    int turns;
+
+    MultiBoardGame(WordSet all, int boards) {
+        this.remaining = new WordSet[boards];
+        this.solved = new boolean[boards];
+        for (int b = 0; b < boards; b++) {
+            remaining[b] = all.copy();
+        }
+    }
+
+    /**
+     * @return the number of boards in this game
+     */
+    public int boards() {
+        return remaining.length;
+    }
+
+    /**
+     * @return the number of guesses made so far
+     */
+    public int turns() {
+        return turns;
+    }
+
+    /**
+     * @return true if `board` was solved by one of the guesses
+     */
+    public boolean isSolved(int board) {
+        return solved[board];
+    }
+
+    /**
+     * @return true if every board has been solved
+     */
+    public boolean isOver() {
+        for (boolean s : solved) {
+            if (!s) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return a copy of the indices of the words that could still be the answer of `board`
+     */
+    public WordSet remaining(int board) {
+        return remaining[board].copy();
+    }
+
+    /**
+     * @return the number of words that could still be the answer of `board`
+     */
+    public int remainingCount(int board) {
+        return remaining[board].size();
+    }
+}
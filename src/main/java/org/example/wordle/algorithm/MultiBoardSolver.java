@@ -0,0 +1,255 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.CorrectnessPattern;
+import org.example.wordle.PatternCode;
+import org.example.wordle.dictionary.WordCodec;
+import org.example.wordle.dictionary.WordList;
+import org.example.wordle.dictionary.WordSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Picks the guesses of games played on several boards at once, see {@link MultiBoardGame}, with
+ * the words of a {@link WordList} of 4 to 8 letters.
+ *
+ * The answers of the boards are independent, so the information a guess gives is the sum of the
+ * entropies of its patterns on every board that is not solved. Like the probe scoring of
+ * {@link EntropyScorer}, every board also adds the probability that the guess is its answer, so a
+ * guess that may solve a board beats an equally informative guess that can not.
+ *
+ * Scoring every word against the remaining words of every board would grow with the number of
+ * boards and the size of the word list, so the words are first ranked by how evenly their letters
+ * split the remaining words of all the boards, which takes one pass over the words. Only the best
+ * `candidates` of them, plus the remaining words of nearly solved boards, are scored exactly, so a
+ * turn computes at most (candidates + boards * {@value #NEARLY_SOLVED}) patterns for each
+ * remaining word of every board. The patterns are counted in a {@link CodeHistogram}, which only
+ * clears the codes a guess produced rather than all 3^length of them.
+ *
+ * A MultiBoardSolver is immutable and can be shared by any number of concurrent games.
+ */
+public final class MultiBoardSolver {
+
+    // the number of words scored exactly every turn when no other number is given
+    public static final int DEFAULT_CANDIDATES = 256;
+
+    // the remaining words of a board with at most this many remaining words are always scored
+    static final int NEARLY_SOLVED = 8;
+
+    private final WordList words;
+
+    // the number of best ranked words scored exactly every turn
+    private final int candidates;
+
+    // scratch space for scoring a word, one per thread
+    private final ThreadLocal<CodeHistogram> histograms;
+
+    public MultiBoardSolver(WordList words) {
+        this(words, DEFAULT_CANDIDATES);
+    }
+
+    /**
+     * @param words - the words that can be guessed and can be the answers
+     * @param candidates - the number of best ranked words to score exactly every turn
+     * @throws IllegalArgumentException if candidates is less than 1
+     */
+    public MultiBoardSolver(WordList words, int candidates) {
+        if (candidates < 1) {
+            throw new IllegalArgumentException("candidates must be at least 1");
+        }
+        this.words = words;
+        this.candidates = candidates;
+        this.histograms = ThreadLocal.withInitial(() -> new CodeHistogram(words.length()));
+    }
+
+    /**
+     * @return the words that can be guessed and can be the answers
+     */
+    public WordList words() {
+        return words;
+    }
+
+    /**
+     * @return a new game of `boards` boards where every word could be the answer of every board
+     * @throws IllegalArgumentException if boards is less than 1
+     */
+    public MultiBoardGame newGame(int boards) {
+        if (boards < 1) {
+            throw new IllegalArgumentException("a game must have at least one board");
+        }
+        return new MultiBoardGame(words.all(), boards);
+    }
+
+    /**
+     * plays `guess` on every board of `game` that is not solved, removing the words that could no
+     * longer be the board's answer. A board whose pattern is all correct is solved.
+     * @param patterns - the pattern of the guess on each board, in board order. The patterns of
+     * boards that were already solved are ignored and may be null
+     * @throws IllegalArgumentException if guess is not as long as the words, or `patterns` does not
+     * have a pattern of that length for every board that is not solved
+     */
+    public void pruneRemaining(MultiBoardGame game, String guess, List<CorrectnessPattern> patterns) {
+        int length = words.length();
+        if (guess.length() != length) {
+            throw new IllegalArgumentException("guessed words must be " + length + " letters: " + guess);
+        }
+        long packed = WordCodec.packLong(guess);
+        if (patterns.size() != game.boards()) {
+            throw new IllegalArgumentException("expected a correctness pattern for each of the " + game.boards() + " boards");
+        }
+        for (int b = 0; b < game.boards(); b++) {
+            CorrectnessPattern pattern = patterns.get(b);
+            if (!game.solved[b] && (pattern == null || pattern.length() != length)) {
+                throw new IllegalArgumentException("board " + (b + 1) + " needs a correctness pattern of " + length + " letters");
+            }
+        }
+
+        for (int b = 0; b < game.boards(); b++) {
+            if (game.solved[b]) {
+                continue;
+            }
+            int code = patterns.get(b).code();
+            WordSet remaining = game.remaining[b];
+            for (int i = remaining.next(0); i >= 0; i = remaining.next(i + 1)) {
+                if (PatternCode.computeCode(words.packed(i), packed, length) != code) {
+                    remaining.remove(i);
+                }
+            }
+            game.solved[b] = code == PatternCode.ALL_CORRECT;
+        }
+        game.turns++;
+    }
+
+    /**
+     * @return the best next guess of `game`, or null if every board is solved or a board that is
+     * not solved has no remaining words
+     */
+    public String guess(MultiBoardGame game) {
+        List<Board> boards = new ArrayList<>(game.boards());
+        for (int b = 0; b < game.boards(); b++) {
+            if (game.solved[b]) {
+                continue;
+            }
+            if (game.remaining[b].isEmpty()) {
+                return null;
+            }
+            boards.add(board(game.remaining[b]));
+        }
+        if (boards.isEmpty()) {
+            return null;
+        }
+
+        int[] shortlist = shortlist(boards);
+        double[] scores = new double[shortlist.length];
+        IntStream.range(0, shortlist.length).parallel()
+                .forEach(i -> scores[i] = score(shortlist[i], boards, histograms.get()));
+        // ties go to the word ranked first
+        int best = 0;
+        for (int i = 1; i < scores.length; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        return words.word(shortlist[best]);
+    }
+
+    // the words that could still be the answer of a board that is not solved, and their weights
+    private record Board(int[] remaining, long[] weights, long total) {}
+
+    // weighs the remaining words by their counts, or all the same if they all have a count of 0
+    private Board board(WordSet set) {
+        int[] remaining = set.toArray();
+        long[] weights = new long[remaining.length];
+        long total = 0L;
+        for (int a = 0; a < remaining.length; a++) {
+            weights[a] = words.count(remaining[a]);
+            total += weights[a];
+        }
+        if (total == 0L) {
+            Arrays.fill(weights, 1L);
+            total = remaining.length;
+        }
+        return new Board(remaining, weights, total);
+    }
+
+    // the words to score exactly, best ranked first. A word is ranked by the sum over every board of
+    // f * (1 - f) for each of its distinct letters, where f is the weighted fraction of the board's
+    // remaining words containing the letter, plus the probability that it is the board's answer
+    int[] shortlist(List<Board> boards) {
+        int n = words.size();
+        double[] split = new double[WordCodec.LETTERS];
+        double[] probability = new double[n];
+        for (Board board : boards) {
+            double[] frequency = new double[WordCodec.LETTERS];
+            for (int a = 0; a < board.remaining.length; a++) {
+                for (int letters = words.letterMask(board.remaining[a]); letters != 0; letters &= letters - 1) {
+                    frequency[Integer.numberOfTrailingZeros(letters)] += board.weights[a];
+                }
+                probability[board.remaining[a]] += (double) board.weights[a] / board.total;
+            }
+            for (int l = 0; l < WordCodec.LETTERS; l++) {
+                double f = frequency[l] / board.total;
+                split[l] += f * (1.0 - f);
+            }
+        }
+
+        // sort by the (non negative) rank, best first, packing the rank above the index
+        long[] keys = new long[n];
+        for (int w = 0; w < n; w++) {
+            double rank = probability[w];
+            for (int letters = words.letterMask(w); letters != 0; letters &= letters - 1) {
+                rank += split[Integer.numberOfTrailingZeros(letters)];
+            }
+            keys[w] = ((long) Float.floatToIntBits((float) rank) << 32) | (Integer.MAX_VALUE - w);
+        }
+        Arrays.sort(keys);
+
+        int count = Math.min(candidates, n);
+        int[] shortlist = new int[count + boards.size() * NEARLY_SOLVED];
+        WordSet listed = WordSet.empty(n);
+        for (int i = 0; i < count; i++) {
+            shortlist[i] = Integer.MAX_VALUE - (int) keys[n - 1 - i];
+            listed.add(shortlist[i]);
+        }
+        for (Board board : boards) {
+            if (board.remaining.length > NEARLY_SOLVED) {
+                continue;
+            }
+            for (int w : board.remaining) {
+                if (!listed.contains(w)) {
+                    listed.add(w);
+                    shortlist[count++] = w;
+                }
+            }
+        }
+        return Arrays.copyOf(shortlist, count);
+    }
+
+    // the summed entropy of the patterns of the word at `guess` on every board, plus the
+    // probability that it is each board's answer
+    double score(int guess, List<Board> boards, CodeHistogram histogram) {
+        int length = words.length();
+        long packed = words.packed(guess);
+        int mask = words.letterMask(guess);
+        int allWrong = PatternCode.count(length) - 1;
+        double score = 0.0;
+        for (Board board : boards) {
+            long answer = 0L;
+            for (int a = 0; a < board.remaining.length; a++) {
+                int word = board.remaining[a];
+                // an answer that shares no letters with the guess is all wrong
+                int code = (words.letterMask(word) & mask) == 0
+                        ? allWrong
+                        : PatternCode.computeCode(words.packed(word), packed, length);
+                histogram.add(code, board.weights[a]);
+                if (code == PatternCode.ALL_CORRECT) {
+                    answer = board.weights[a];
+                }
+            }
+            score += histogram.entropy(board.total) + (double) answer / board.total;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,246 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.CorrectnessPattern;
+import org.example.wordle.Guess;
+import org.example.wordle.PatternCode;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.DictionaryLoader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Precomputed best guesses for the first turns of a game.
+ *
+ * After the opening guess, the second guess only depends on the pattern the opener got, so there
+ * are at most 243 second guesses. The book stores the guess {@link Prune} would make for each of
+ * those patterns and, optionally, the third guess for each pattern of the book's second guess.
+ * These are the most expensive turns to score, because the fewest words have been pruned.
+ *
+ * A book is tied to the dictionary, and answers, it was generated from by {@link Prune#checksum()}
+ * and is stored as a text file:
+ * <pre>
+ *   opener tares
+ *   dictionary [checksum]
+ *   [pattern] [second guess]
+ *   [pattern] [pattern of the second guess] [third guess]
+ * </pre>
+ */
+public final class OpeningBook {
+
+    // the name of the opening book resource
+    public static final String RESOURCE_NAME = "opening-book.txt";
+
+    // the word that is always guessed first
+    private final String opener;
+
+    // the checksum of the dictionary this book was generated from
+    private final long checksum;
+
+    // the second guess, indexed by the pattern code of the opener
+    private final String[] second;
+
+    // the third guess, indexed by the pattern code of the opener * 243 + the pattern code of the second guess
+    private final String[] third;
+
+    private OpeningBook(String opener, long checksum, String[] second, String[] third) {
+        this.opener = opener;
+        this.checksum = checksum;
+        this.second = second;
+        this.third = third;
+    }
+
+    /**
+     * regenerates the opening book from dictionary.txt, run this whenever dictionary.txt changes.
+     * usage: OpeningBook [output file] [opener] [depth]
+     * where depth is 2 to only store second guesses, or 3 to also store third guesses
+     */
+    public static void main(String[] args) throws IOException {
+        Path output = Path.of(args.length > 0 ? args[0] : "src/main/resources/" + RESOURCE_NAME);
+        String opener = args.length > 1 ? args[1] : "tares";
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        Dictionary dictionary = DictionaryLoader.loadResource("dictionary.txt");
+        Prune prune = new Prune(dictionary, null, EntropyScorer.withParallelism(Runtime.getRuntime().availableProcessors()));
+        long start = System.nanoTime();
+        OpeningBook book = generate(prune, opener, depth);
+        book.save(output);
+        System.out.printf("wrote opening book for '%s' to %s in %.1fs%n", opener, output, (System.nanoTime() - start) / 1e9);
+        System.exit(0);
+    }
+
+    /**
+     * computes an opening book by asking `prune` for its guess after every reachable pattern
+     * @param prune - the guesser whose guesses are stored, it must not use an opening book
+     * @param opener - the first guess
+     * @param depth - 2 to compute second guesses, 3 to also compute third guesses
+     * @return the new OpeningBook
+     * @throws IllegalArgumentException if depth is not 2 or 3
+     */
+    public static OpeningBook generate(Prune prune, String opener, int depth) {
+        if (depth != 2 && depth != 3) {
+            throw new IllegalArgumentException("opening book depth must be 2 or 3");
+        }
+        String[] second = new String[PatternCode.COUNT];
+        String[] third = new String[PatternCode.COUNT * PatternCode.COUNT];
+
+        for (int p1 = 0; p1 < PatternCode.COUNT; p1++) {
+            Guess first = new Guess(opener, CorrectnessPattern.fromCode(p1));
+            GameState state = prune.replay(List.of(first));
+            if (state.remainingCount() == 0) {
+                // no word gives this pattern
+                continue;
+            }
+            second[p1] = prune.guess(state);
+            if (depth < 3) {
+                continue;
+            }
+            for (int p2 = 0; p2 < PatternCode.COUNT; p2++) {
+                GameState next = prune.replay(List.of(first, new Guess(second[p1], CorrectnessPattern.fromCode(p2))));
+                if (next.remainingCount() > 0) {
+                    third[p1 * PatternCode.COUNT + p2] = prune.guess(next);
+                }
+            }
+        }
+        return new OpeningBook(opener, prune.checksum(), second, third);
+    }
+
+    /**
+     * loads the opening book stored on the classpath as {@link #RESOURCE_NAME}
+     * @return the OpeningBook, or null if there is no such resource
+     * @throws IOException if the resource could not be read or is malformed
+     */
+    public static OpeningBook loadResource() throws IOException {
+        try (InputStream is = OpeningBook.class.getClassLoader().getResourceAsStream(RESOURCE_NAME)) {
+            return is == null ? null : read(is);
+        }
+    }
+
+    /**
+     * reads an opening book
+     * @param is - the stream to read, it is not closed
+     * @return the OpeningBook that was read
+     * @throws IOException if the stream could not be read or is malformed
+     */
+    public static OpeningBook read(InputStream is) throws IOException {
+        BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.US_ASCII));
+        String opener = null;
+        Long checksum = null;
+        String[] second = new String[PatternCode.COUNT];
+        String[] third = new String[PatternCode.COUNT * PatternCode.COUNT];
+
+        String line;
+        int lineNumber = 0;
+        while ((line = br.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(" ");
+            try {
+                if (fields[0].equals("opener") && fields.length == 2) {
+                    opener = fields[1];
+                } else if (fields[0].equals("dictionary") && fields.length == 2) {
+                    checksum = Long.parseLong(fields[1]);
+                } else if (fields.length == 2) {
+                    second[CorrectnessPattern.parse(fields[0]).code()] = fields[1];
+                } else if (fields.length == 3) {
+                    int p1 = CorrectnessPattern.parse(fields[0]).code();
+                    int p2 = CorrectnessPattern.parse(fields[1]).code();
+                    third[p1 * PatternCode.COUNT + p2] = fields[2];
+                } else {
+                    throw new IOException("malformed opening book line " + lineNumber + ": " + line);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException("malformed opening book line " + lineNumber + ": " + line, e);
+            }
+        }
+        if (opener == null || checksum == null) {
+            throw new IOException("opening book is missing its opener or dictionary checksum");
+        }
+        return new OpeningBook(opener, checksum, second, third);
+    }
+
+    /**
+     * writes this book to `file`
+     */
+    public void save(Path file) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.US_ASCII))) {
+            writer.write("# generated by " + OpeningBook.class.getName() + ", regenerate it whenever dictionary.txt changes\n");
+            writer.write("opener " + opener + "\n");
+            writer.write("dictionary " + checksum + "\n");
+            for (int p1 = 0; p1 < PatternCode.COUNT; p1++) {
+                if (second[p1] != null) {
+                    writer.write(patternString(p1) + " " + second[p1] + "\n");
+                }
+            }
+            for (int p1 = 0; p1 < PatternCode.COUNT; p1++) {
+                for (int p2 = 0; p2 < PatternCode.COUNT; p2++) {
+                    String guess = third[p1 * PatternCode.COUNT + p2];
+                    if (guess != null) {
+                        writer.write(patternString(p1) + " " + patternString(p2) + " " + guess + "\n");
+                    }
+                }
+            }
+        }
+    }
+
+    private static String patternString(int code) {
+        return CorrectnessPattern.fromCode(code).toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return the word this book always guesses first
+     */
+    public String opener() {
+        return opener;
+    }
+
+    /**
+     * @return true if this book was generated from `dictionary`, by a Prune without an AnswerPool
+     */
+    public boolean matches(Dictionary dictionary) {
+        return matches(dictionary.checksum());
+    }
+
+    /**
+     * @param checksum - the {@link Prune#checksum()} of a Prune
+     * @return true if this book was generated by a Prune with the same dictionary and answers
+     */
+    public boolean matches(long checksum) {
+        return this.checksum == checksum;
+    }
+
+    /**
+     * looks up the guess for a game's history
+     * @param history - the guesses made so far
+     * @return the stored guess, or null if the book has no guess for `history`
+     */
+    public String lookup(List<Guess> history) {
+        if (history.isEmpty()) {
+            return opener;
+        }
+        if (!history.get(0).word().equals(opener)) {
+            return null;
+        }
+        int p1 = history.get(0).mask().code();
+        if (history.size() == 1) {
+            return second[p1];
+        }
+        if (history.size() == 2 && history.get(1).word().equals(second[p1])) {
+            return third[p1 * PatternCode.COUNT + history.get(1).mask().code()];
+        }
+        return null;
+    }
+}
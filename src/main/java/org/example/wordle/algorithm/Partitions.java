@@ -0,0 +1,124 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.PatternCode;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.WordSet;
+import org.example.wordle.table.PatternTable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches, for a guessed word, the set of dictionary words that produce each pattern code.
+ *
+ * With a guess's partition, applying that guess to a game is a single bitset intersection instead
+ * of computing a pattern for every remaining word. Partitions pay off for guesses that are made
+ * when many words remain, such as the opening guess, which every game replays.
+ *
+ * The cache holds at most `maxGuesses` partitions and evicts the least recently used ones, so a
+ * long running server keeps the partitions of the guesses it currently sees. Like {@link GuessCache}
+ * it is split into independently locked segments, and never blocks while a partition is computed.
+ * A partition of the full dictionary takes up to 1.6KB for each pattern the guess can produce.
+ */
+final class Partitions {
+
+    // the most independently locked segments
+    private static final int SEGMENTS = 8;
+
+    private final Dictionary dictionary;
+
+    // optional table of precomputed patterns, null if patterns should be computed
+    private final PatternTable table;
+
+    // maps the index of a guessed word to its partition, split by the low bits of the index
+    private final Segment[] segments;
+
+    /**
+     * @param maxGuesses - the most partitions to keep, the least recently used are evicted beyond this
+     * @throws IllegalArgumentException if maxGuesses is less than 1
+     */
+    Partitions(Dictionary dictionary, PatternTable table, int maxGuesses) {
+        if (maxGuesses < 1) {
+            throw new IllegalArgumentException("partitions must hold at least one guess");
+        }
+        this.dictionary = dictionary;
+        this.table = table;
+        // a power of two of segments, no more than there are partitions to hold
+        this.segments = new Segment[Integer.highestOneBit(Math.min(SEGMENTS, maxGuesses))];
+        // rounding down keeps the cache within maxGuesses
+        int perSegment = maxGuesses / segments.length;
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * @param guessIndex - the dictionary index of a guessed word
+     * @return the partition of the dictionary by the pattern each word gives when `guessIndex` is
+     * guessed, indexed by pattern code, where a null entry is a pattern no word gives. The
+     * partition is computed, possibly evicting the least recently used one, if it is not cached
+     */
+    WordSet[] get(int guessIndex) {
+        Segment segment = segments[guessIndex & (segments.length - 1)];
+        WordSet[] partition = segment.get(guessIndex);
+        if (partition == null) {
+            // two games missing on the same guess both compute it, which is cheaper than waiting
+            partition = compute(guessIndex);
+            segment.put(guessIndex, partition);
+        }
+        return partition;
+    }
+
+    /**
+     * @return the number of partitions currently cached
+     */
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private WordSet[] compute(int guessIndex) {
+        WordSet[] partition = new WordSet[PatternCode.COUNT];
+        int guess = dictionary.packed(guessIndex);
+        for (int i = 0; i < dictionary.size(); i++) {
+            int code = table != null
+                    ? table.get(guessIndex, i)
+                    : PatternCode.computeCode(dictionary.packed(i), guess);
+            if (partition[code] == null) {
+                partition[code] = WordSet.empty(dictionary.size());
+            }
+            partition[code].add(i);
+        }
+        return partition;
+    }
+
+    // a least recently used map of guess indices to partitions, guarded by its own lock
+    private static final class Segment {
+
+        private final LinkedHashMap<Integer, WordSet[]> map;
+
+        Segment(int maxGuesses) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, WordSet[]> eldest) {
+                    return size() > maxGuesses;
+                }
+            };
+        }
+
+        synchronized WordSet[] get(int guessIndex) {
+            return map.get(guessIndex);
+        }
+
+        synchronized void put(int guessIndex, WordSet[] partition) {
+            map.put(guessIndex, partition);
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+    }
+}
@@ -1,113 +1,543 @@
 package org.example.wordle.algorithm;
 
-import org.example.wordle.CorrectnessPattern;
 import org.example.wordle.Guess;
 import org.example.wordle.Guesser;
+import org.example.wordle.PatternCode;
+import org.example.wordle.dictionary.AnswerPool;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.WordSet;
+import org.example.wordle.table.PatternTable;
 
-import java.util.HashMap;
-import java.util.Iterator;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 /**
- * A wordle Guesser algorithm that prunes correctness patterns and dictionary words
- * that can no longer be valid at each iteration of a guess.
+ * A wordle Guesser algorithm that prunes dictionary words that can no longer be valid at each
+ * iteration of a guess. Correctness patterns that no remaining word can produce are skipped when
+ * scoring, as they add no information.
+ *
+ * Prune never modifies its dictionary, the words that are still valid are tracked per game in a
+ * {@link GameState}. A single Prune can therefore be shared by any number of concurrent games.
+ *
+ * Only the latest guess is applied to a game's remaining words. While many words remain, the guess
+ * is applied by intersecting with the cached set of words that produce its pattern (see
+ * {@link Partitions}), otherwise the guess's compiled {@link Constraints} are applied to the
+ * remaining words with bitset operations over a {@link LetterIndex} of the dictionary. This makes
+ * replaying a history from scratch cheap, since neither visits the remaining words one by one.
+ *
+ * The first guesses of a game can be answered from an {@link OpeningBook}, without scoring or
+ * even replaying the history. Later guesses can be remembered in a {@link GuessCache}, shared
+ * between Prunes, so a set of remaining words is only scored once.
+ *
+ * Given an {@link AnswerPool}, only the pool's answers are tracked as remaining words while any
+ * dictionary word can be guessed, see {@link EntropyScorer#best(AnswerPool, WordSet, PatternTable)}.
+ *
+ * A {@link TurnListener} can be given the {@link TurnMetrics} of every guess, such as a
+ * {@link PruneMetrics} that exposes them over JMX. Without a listener nothing is measured.
  */
 public class Prune implements Guesser {
 
-    // a dictionary of five-letter words that maps a word to its occurrence count
-    private final HashMap<String, Long> dictionary;
+    // an immutable dictionary of five-letter words and their occurrence counts
+    private final Dictionary dictionary;
 
-    // a list of CorrectnessPatterns that are still "matchable" during a game of wordle
-    private final List<CorrectnessPattern> patterns;
+    // optional answers of the games, null if every dictionary word could be the answer
+    private final AnswerPool answers;
 
+    // optional table of precomputed patterns, null if patterns should be computed
+    private final PatternTable table;
 
-    public Prune(HashMap<String, Long> dictionary) {
+    // scores the remaining words, possibly in parallel
+    private final EntropyScorer scorer;
+
+    // the sets of words that produce each pattern of commonly made guesses
+    private final Partitions partitions;
+
+    // the sets of words with each letter at each position, and with each number of copies of a letter
+    private final LetterIndex letters;
+
+    // optional precomputed guesses for the first turns, null if every turn should be scored
+    private final OpeningBook book;
+
+    // optional cache of the best guess for a set of remaining words, null if guesses are not cached
+    private final GuessCache cache;
+
+    // the checksum of the dictionary and answers, part of the cache keys
+    private final long checksum;
+
+    // the first guess, computed on the first game when there is an AnswerPool and no opening book
+    private volatile String opener;
+
+    // receives the metrics of every guess, null if guesses are not measured
+    private volatile TurnListener listener;
+
+    // the first guess when there is no opening book, as it is the best starting guess
+    private static final String DEFAULT_OPENER = "tares";
+
+    // the most guessed words to cache partitions for, the least recently guessed are evicted beyond this
+    private static final int MAX_PARTITIONS = 64;
+
+    // a guess is applied with a partition while more than 1/PARTITION_RATIO of the dictionary remains
+    private static final int PARTITION_RATIO = 16;
+
+
+    public Prune(Dictionary dictionary) {
+        this(dictionary, null);
+    }
+
+    public Prune(Dictionary dictionary, PatternTable table) {
+        this(dictionary, table, new EntropyScorer(ForkJoinPool.commonPool()));
+    }
+
+    /**
+     * @param dictionary - the words that can be guessed, and could be the answer
+     * @param table - a table of precomputed patterns with the same words as `dictionary`, or null
+     *              to compute the patterns on every guess
+     * @param scorer - the scorer used to find the best remaining word
+     * @throws IllegalArgumentException if `table` was not built from the words of `dictionary`
+     */
+    public Prune(Dictionary dictionary, PatternTable table, EntropyScorer scorer) {
+        this(dictionary, table, scorer, null);
+    }
+
+    /**
+     * @param dictionary - the words that can be guessed, and could be the answer
+     * @param table - a table of precomputed patterns with the same words as `dictionary`, or null
+     *              to compute the patterns on every guess
+     * @param scorer - the scorer used to find the best remaining word
+     * @param book - the guesses for the first turns, or null to score every turn
+     * @throws IllegalArgumentException if `table` or `book` were not built from `dictionary`
+     */
+    public Prune(Dictionary dictionary, PatternTable table, EntropyScorer scorer, OpeningBook book) {
+        this(dictionary, table, scorer, book, null);
+    }
+
+    /**
+     * @param dictionary - the words that can be guessed, and could be the answer
+     * @param table - a table of precomputed patterns with the same words as `dictionary`, or null
+     *              to compute the patterns on every guess
+     * @param scorer - the scorer used to find the best remaining word
+     * @param book - the guesses for the first turns, or null to score every turn
+     * @param cache - a cache of guesses, possibly shared with other Prunes, or null to score every
+     *              guess that is not in `book`
+     * @throws IllegalArgumentException if `table` or `book` were not built from `dictionary`
+     */
+    public Prune(Dictionary dictionary, PatternTable table, EntropyScorer scorer, OpeningBook book, GuessCache cache) {
+        this(dictionary, null, table, scorer, book, cache);
+    }
+
+    /**
+     * Creates a Prune that can guess any word of the pool's dictionary, but only keeps track of the
+     * pool's answers
+     * @param answers - the words that could be the answer, and the dictionary of words that can be guessed
+     * @param table - a table of precomputed patterns with the same words as the dictionary, or
+     *              null to compute the patterns on every guess
+     * @param scorer - the scorer used to find the best guess
+     * @param book - the guesses for the first turns, or null to score every turn
+     * @param cache - a cache of guesses, possibly shared with other Prunes, or null to score every
+     *              guess that is not in `book`
+     * @throws IllegalArgumentException if `table` or `book` were not built from `answers`
+     */
+    public Prune(AnswerPool answers, PatternTable table, EntropyScorer scorer, OpeningBook book, GuessCache cache) {
+        this(answers.dictionary(), answers, table, scorer, book, cache);
+    }
+
+    private Prune(Dictionary dictionary, AnswerPool answers, PatternTable table, EntropyScorer scorer, OpeningBook book, GuessCache cache) {
+        if (table != null && !table.words().equals(dictionary.words())) {
+            throw new IllegalArgumentException("pattern table was not built from the words of the dictionary");
+        }
         this.dictionary = dictionary;
-        this.patterns = CorrectnessPattern.patterns();
+        this.answers = answers;
+        this.checksum = answers == null ? dictionary.checksum() : answers.checksum();
+        if (book != null && !book.matches(this.checksum)) {
+            throw new IllegalArgumentException("opening book was not generated from the dictionary and answers");
+        }
+        this.table = table;
+        this.scorer = scorer;
+        this.book = book;
+        this.cache = cache;
+        this.partitions = new Partitions(dictionary, table, MAX_PARTITIONS);
+        this.letters = new LetterIndex(dictionary);
     }
 
     /**
-     * removes entries from dictionary if they do not match lastGuess
+     * @return a checksum of the dictionary and answers of this Prune, files generated for this
+     * Prune, such as an {@link OpeningBook}, are tied to it
+     */
+    public long checksum() {
+        return checksum;
+    }
+
+    /**
+     * measures every guess from now on and passes the {@link TurnMetrics} to `listener`
+     * @param listener - the listener, or null to stop measuring guesses
+     */
+    public void setTurnListener(TurnListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return the listener given the metrics of every guess, or null if guesses are not measured
+     */
+    public TurnListener turnListener() {
+        return this.listener;
+    }
+
+    /**
+     * @return the state of a new game, where every dictionary word, or every answer of the
+     * AnswerPool, could be the answer
+     */
+    public GameState newGame() {
+        return new GameState(this.answers == null ? this.dictionary.all() : this.answers.answers());
+    }
+
+    /**
+     * adds `lastGuess` to the history of `state` and removes the words that do not match it
+     * from the words remaining in `state`
+     * @param state - the state of a game
      * @param lastGuess - the last guess that was made
      */
-    private void pruneRemaining(Guess lastGuess) {
-        this.dictionary
-                .keySet()
-                .removeIf(word -> !lastGuess.matches(word));
+    public void pruneRemaining(GameState state, Guess lastGuess) {
+        state.addGuess(lastGuess);
+        WordSet remaining = state.remaining;
+        int mask = lastGuess.mask().code();
+        // the index of the guessed word in the dictionary, -1 if it is not a dictionary word
+        int guessIndex = this.dictionary.indexOf(lastGuess.word());
+        // the size is only counted when it is reported, as counting it takes a pass over the set
+        int before = this.listener == null ? 0 : remaining.size();
+
+        if (guessIndex >= 0 && remaining.size() * PARTITION_RATIO > this.dictionary.size()) {
+            WordSet[] partition = this.partitions.get(guessIndex);
+            if (partition[mask] == null) {
+                // no dictionary word produces this pattern
+                remaining.clear();
+            } else {
+                remaining.and(partition[mask]);
+            }
+            state.wordsPruned = before == 0 ? 0 : before - remaining.size();
+            return;
+        }
+
+        // a few bitset operations over the letter index take less time than visiting even 50 remaining words
+        Constraints.of(List.of(lastGuess)).retainAllowed(remaining, this.letters);
+        state.wordsPruned = before == 0 ? 0 : before - remaining.size();
+    }
+
+    /**
+     * replays `history` on a new game
+     * @return the state of a game after every guess in `history` was made
+     */
+    public GameState replay(List<Guess> history) {
+        GameState state = newGame();
+        for (Guess guess : history) {
+            pruneRemaining(state, guess);
+        }
+        return state;
     }
 
     @Override
     public String guess(List<Guess> history) {
-        if (!history.isEmpty()) {
-            Guess last = history.get(history.size() - 1);
-            this.pruneRemaining(last);
-        }
-
-        // hardcode first guess to "tares",as it is the best starting guess
-        if (history.isEmpty()) {
-            return "tares";
-        } else {
-            // there should still be patterns left in this.patterns if we are still guessing
-            assert !this.patterns.isEmpty();
-        }
-
-        // the sum of the counts of all the remaining words in the dictionary
-        long remainingWordCount = this.dictionary
-                .values()
-                .stream()
-                .reduce(0L, Long::sum);
-
-        // holds the best candidate word that was found
-        Candidate best = null;
-        
-        for (Map.Entry<String, Long> words : this.dictionary.entrySet()) {
-            // sum of all: prob_of_a_pattern * prob_of_a_pattern.log2
-            Double sum = 0.0;
-
-            Iterator<CorrectnessPattern> patternIterator = this.patterns.iterator();
-            while (patternIterator.hasNext()) {
-                CorrectnessPattern pattern = patternIterator.next();
-                // sum of the count(s) of all words that match the pattern
-                Long inPatternTotal = 0L;
-
-                // given a particular candidate word, if we guess this word, what
-                // are the probabilities of getting each pattern. We sum together all those
-                // probabilities and use that to determine the entropy information amount from
-                // guessing that word.
-                for (Map.Entry<String, Long> candidates : this.dictionary.entrySet()) {
-                    Guess g = new Guess(words.getKey(), pattern);
-                    if (g.matches(candidates.getKey())) {
-                        inPatternTotal += candidates.getValue();
-                    }
+        if (this.book != null) {
+            String booked = this.book.lookup(history);
+            if (booked != null) {
+                TurnListener listener = this.listener;
+                if (listener != null) {
+                    // the history is not replayed, so the remaining words are not known
+                    listener.turn(new TurnMetrics(TurnMetrics.Source.BOOK, history.size() + 1, 0, -1, 0, 0L, 0, 0L, 0L));
                 }
-                if (inPatternTotal == 0) {
-                    // no candidate words matched pattern, remove the pattern
-                    patternIterator.remove();
-                } else {
-                    double probOfThisPattern = (double) inPatternTotal / (double) remainingWordCount;
-                    sum += probOfThisPattern * log2(probOfThisPattern);
+                return booked;
+            }
+        }
+        return guess(replay(history));
+    }
+
+    /**
+     * Same as {@link #guess(List)}, but continues from the state of a game that the caller
+     * keeps up to date with {@link #pruneRemaining(GameState, Guess)}
+     * @param state - the state of the game to guess for
+     * @return the best guess, or null if no dictionary word matches the history of `state`
+     */
+    @Override
+    public String guess(GameState state) {
+        TurnListener listener = this.listener;
+        if (this.book != null) {
+            String booked = this.book.lookup(state.history());
+            if (booked != null) {
+                report(listener, TurnMetrics.Source.BOOK, state, booked, 0, 0L, 0L);
+                return booked;
+            }
+        }
+        if (state.history().isEmpty()) {
+            String first = opener();
+            report(listener, TurnMetrics.Source.OPENER, state, first, 0, 0L, 0L);
+            return first;
+        }
+        GuessCache.Key key = null;
+        if (this.cache != null) {
+            key = GuessCache.key(this.checksum, state.remaining);
+            String cached = this.cache.get(key);
+            if (cached != null) {
+                report(listener, TurnMetrics.Source.CACHE, state, cached, 0, 0L, 0L);
+                return cached;
+            }
+        }
+
+        long start = listener == null ? 0L : System.nanoTime();
+        long allocated = listener == null ? 0L : allocatedBytes();
+        String guess = score(state.remaining);
+        if (listener != null) {
+            long nanos = System.nanoTime() - start;
+            report(listener, TurnMetrics.Source.SCORED, state, guess, candidates(state.remaining), nanos, allocation(allocated));
+        }
+        if (guess != null && key != null) {
+            this.cache.put(key, guess);
+        }
+        return guess;
+    }
+
+    /**
+     * Same as {@link #guess(List)} but returns the best guess found within `budget`, along with how
+     * many candidates were scored. A guess from the opening book or guess cache takes no scoring.
+     * Only complete guesses are added to the guess cache.
+     * @param history - a list of past guesses that were made, with the most recent guess at the end
+     * @param budget - the time to spend on the guess, replaying the history included
+     * @return the best guess found, its best candidate is null if no dictionary word matches the history
+     */
+    public AnytimeGuess guess(List<Guess> history, Duration budget) {
+        long deadline = System.nanoTime() + budget.toNanos();
+        if (this.book != null) {
+            String booked = this.book.lookup(history);
+            if (booked != null) {
+                TurnListener listener = this.listener;
+                if (listener != null) {
+                    listener.turn(new TurnMetrics(TurnMetrics.Source.BOOK, history.size() + 1, 0, -1, 0, 0L, 0, 0L, 0L));
                 }
+                return AnytimeGuess.of(booked);
+            }
+        }
+        return guess(replay(history), deadline);
+    }
+
+    /**
+     * Same as {@link #guess(List, Duration)}, but continues from the state of a game that the
+     * caller keeps up to date with {@link #pruneRemaining(GameState, Guess)}
+     * @param state - the state of the game to guess for, it is not modified
+     * @param budget - the time to spend on the guess
+     * @return the best guess found, its best candidate is null if no dictionary word matches the history
+     */
+    public AnytimeGuess guess(GameState state, Duration budget) {
+        long deadline = System.nanoTime() + budget.toNanos();
+        if (this.book != null) {
+            String booked = this.book.lookup(state.history());
+            if (booked != null) {
+                report(this.listener, TurnMetrics.Source.BOOK, state, booked, 0, 0L, 0L);
+                return AnytimeGuess.of(booked);
             }
-            // compute the probability of the current `word` using its occurrence `count`
-            Double probWord = (double) words.getValue() / (double) remainingWordCount;
-            // the goodness score of `word` a.k.a. its entropy "bits"
-            Double goodness = probWord * -sum;
-
-            if (best == null) {
-                best = new Candidate(words.getKey(), goodness);
-            } else if (goodness > best.goodness()) {
-                best = new Candidate(words.getKey(), goodness);
+        }
+        return guess(state, deadline);
+    }
+
+    // the best guess for `state` found by `deadline`, once the opening book was checked
+    private AnytimeGuess guess(GameState state, long deadline) {
+        TurnListener listener = this.listener;
+        List<Guess> history = state.history();
+        if (history.isEmpty() && (this.answers == null || this.opener != null)) {
+            String first = opener();
+            report(listener, TurnMetrics.Source.OPENER, state, first, 0, 0L, 0L);
+            return AnytimeGuess.of(first);
+        }
+
+        GuessCache.Key key = null;
+        if (this.cache != null) {
+            key = GuessCache.key(this.checksum, state.remaining);
+            String cached = this.cache.get(key);
+            if (cached != null) {
+                report(listener, TurnMetrics.Source.CACHE, state, cached, 0, 0L, 0L);
+                return AnytimeGuess.of(cached);
+            }
+        }
+        long start = listener == null ? 0L : System.nanoTime();
+        long allocated = listener == null ? 0L : allocatedBytes();
+        AnytimeGuess guess = this.answers == null
+                ? this.scorer.best(this.dictionary, state.remaining, this.table, deadline)
+                : this.scorer.best(this.answers, state.remaining, this.table, deadline);
+        if (listener != null) {
+            long nanos = System.nanoTime() - start;
+            report(listener, TurnMetrics.Source.SCORED, state, guess.word(), guess.evaluated(), nanos, allocation(allocated));
+        }
+        if (guess.complete() && guess.best() != null) {
+            if (history.isEmpty()) {
+                this.opener = guess.word();
+            } else if (key != null) {
+                this.cache.put(key, guess.word());
+            }
+        }
+        return guess;
+    }
+
+    /**
+     * Same as {@link #guess(GameState)} but the guess must be allowed by `hints`, the hard mode rule
+     * of the history of `state` (see {@link Constraints#hints(List)}). Hard mode guesses are not
+     * cached, as the guess cache is shared with games that may guess any word.
+     * @param state - the state of the game to guess for
+     * @param hints - the hard mode rule compiled from the history of `state`
+     * @return the best guess allowed by `hints`, or null if no dictionary word matches the history of `state`
+     */
+    String guess(GameState state, Constraints hints) {
+        if (this.answers == null) {
+            // the guesses are remaining words, which give the same patterns and so use every hint
+            return guess(state);
+        }
+        TurnListener listener = this.listener;
+        if (this.book != null) {
+            String booked = this.book.lookup(state.history());
+            if (booked != null && hints.allows(booked)) {
+                report(listener, TurnMetrics.Source.BOOK, state, booked, 0, 0L, 0L);
+                return booked;
+            }
+        }
+        if (state.history().isEmpty()) {
+            String first = opener();
+            report(listener, TurnMetrics.Source.OPENER, state, first, 0, 0L, 0L);
+            return first;
+        }
+
+        long start = listener == null ? 0L : System.nanoTime();
+        long allocated = listener == null ? 0L : allocatedBytes();
+        WordSet candidates = WordSet.empty(this.dictionary.size());
+        for (int i = 0; i < this.dictionary.size(); i++) {
+            if (hints.allows(this.dictionary.packed(i), this.dictionary.letterMask(i))) {
+                candidates.add(i);
+            }
+        }
+        Candidate best = this.scorer.best(this.answers, state.remaining, candidates, this.table);
+        String guess = best == null ? null : best.word();
+        if (listener != null) {
+            long nanos = System.nanoTime() - start;
+            report(listener, TurnMetrics.Source.SCORED, state, guess, candidates.size(), nanos, allocation(allocated));
+        }
+        return guess;
+    }
+
+    // the first guess of a game without an opening book
+    private String opener() {
+        if (this.answers == null) {
+            return DEFAULT_OPENER;
+        }
+        // the best opener depends on the answers, it is the same for every game so it is only scored once
+        String first = this.opener;
+        if (first == null) {
+            first = score(this.answers.answers());
+            this.opener = first;
+        }
+        return first;
+    }
+
+    /**
+     * @return the `k` best guesses for the `remaining` words, best first
+     */
+    List<Candidate> top(WordSet remaining, int k) {
+        return this.answers == null
+                ? this.scorer.top(this.dictionary, remaining, this.table, k)
+                : this.scorer.top(this.answers, remaining, this.table, k);
+    }
+
+    /**
+     * @return the pattern code of guessing the word at `guessIndex` when the answer is the word
+     * at `answerIndex`
+     */
+    int code(int guessIndex, int answerIndex) {
+        return this.table != null
+                ? this.table.get(guessIndex, answerIndex)
+                : PatternCode.computeCode(this.dictionary.packed(answerIndex), this.dictionary.packed(guessIndex));
+    }
+
+    /**
+     * @return how likely the word at `index` is to be the answer, relative to the other words
+     */
+    long weight(int index) {
+        return this.answers == null ? this.dictionary.count(index) : this.answers.weight(index);
+    }
+
+    Dictionary dictionary() {
+        return this.dictionary;
+    }
+
+    // the number of candidates scored for the `remaining` words
+    private int candidates(WordSet remaining) {
+        return this.answers == null ? remaining.size() : this.dictionary.size();
+    }
+
+    // passes the metrics of a guess to `listener`, if there is one
+    private void report(TurnListener listener, TurnMetrics.Source source, GameState state, String guess,
+                        int candidates, long scoringNanos, long allocatedBytes) {
+        if (listener == null) {
+            return;
+        }
+        WordSet remaining = state.remaining;
+        int remainingCount = remaining.size();
+        long computations = this.table == null ? (long) candidates * remainingCount : 0L;
+        // only scoring skips patterns, and finding them takes a pass over the remaining words
+        int patternsPruned = source == TurnMetrics.Source.SCORED ? patternsPruned(guess, remaining) : 0;
+        listener.turn(new TurnMetrics(source, state.history().size() + 1,
+                state.history().isEmpty() ? 0 : state.wordsPruned, remainingCount,
+                patternsPruned, computations, candidates, scoringNanos, allocatedBytes));
+    }
+
+    // the number of patterns that no remaining word produces for `guess`
+    private int patternsPruned(String guess, WordSet remaining) {
+        int guessIndex = guess == null ? -1 : this.dictionary.indexOf(guess);
+        if (guessIndex < 0) {
+            return 0;
+        }
+        boolean[] produced = new boolean[PatternCode.COUNT];
+        int patterns = 0;
+        for (int i = remaining.next(0); i >= 0; i = remaining.next(i + 1)) {
+            int code = code(guessIndex, i);
+            if (!produced[code]) {
+                produced[code] = true;
+                patterns++;
             }
         }
-        assert best != null;
-        return best.word();
+        return PatternCode.COUNT - patterns;
+    }
 
+    // the bytes allocated by the current thread so far, -1 if they are not measured
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = Allocations.THREADS;
+        return threads == null ? -1L : threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // the bytes allocated by the current thread since `before`, -1 if they are not measured
+    private static long allocation(long before) {
+        return before < 0 ? -1L : allocatedBytes() - before;
+    }
+
+    // holds the MXBean, so the management classes are only loaded once a guess is measured.
+    // Loading them takes about 40ms, which is most of the time it takes to construct a Prune
+    private static final class Allocations {
+
+        // measures the bytes allocated by the guessing thread, null if the JVM can not
+        static final com.sun.management.ThreadMXBean THREADS = allocationMXBean();
+
+        private static com.sun.management.ThreadMXBean allocationMXBean() {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean allocations
+                    && allocations.isThreadAllocatedMemorySupported()
+                    && allocations.isThreadAllocatedMemoryEnabled()) {
+                return allocations;
+            }
+            return null;
+        }
     }
 
-    // Function to calculate the log base 2 of a double
-    private static double log2(double N)
-    {
-        return Math.log(N) / Math.log(2);
+    // scores the dictionary words against the `remaining` words
+    private String score(WordSet remaining) {
+        Candidate best = this.answers == null
+                ? this.scorer.best(this.dictionary, remaining, this.table)
+                : this.scorer.best(this.answers, remaining, this.table);
+        return best == null ? null : best.word();
     }
 }
@@ -0,0 +1,197 @@
+package org.example.wordle.algorithm;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link TurnListener} that adds up the {@link TurnMetrics} of every turn, and exposes the totals
+ * as a JMX MBean, see {@link #register(String)}.
+ *
+ * Every total is a {@link LongAdder}, so concurrent games recording their turns do not contend.
+ * The totals are not read atomically with each other, a rate computed while turns are being
+ * recorded can be off by the turns in flight.
+ */
+public class PruneMetrics implements TurnListener, PruneMetricsMBean {
+
+    // the JMX domain of the MBeans
+    public static final String DOMAIN = "org.example.wordle";
+
+    private final LongAdder[] turns = new LongAdder[TurnMetrics.Source.values().length];
+
+    private final LongAdder wordsPruned = new LongAdder();
+
+    private final LongAdder patternsPruned = new LongAdder();
+
+    private final LongAdder patternComputations = new LongAdder();
+
+    private final LongAdder candidatesScored = new LongAdder();
+
+    private final LongAdder scoringNanos = new LongAdder();
+
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    // the scored turns whose allocations were measured
+    private final LongAdder allocationSamples = new LongAdder();
+
+    public PruneMetrics() {
+        for (int i = 0; i < turns.length; i++) {
+            turns[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void turn(TurnMetrics metrics) {
+        turns[metrics.source().ordinal()].increment();
+        wordsPruned.add(metrics.wordsPruned());
+        patternsPruned.add(metrics.patternsPruned());
+        patternComputations.add(metrics.patternComputations());
+        if (metrics.source() == TurnMetrics.Source.SCORED) {
+            candidatesScored.add(metrics.candidatesScored());
+            scoringNanos.add(metrics.scoringNanos());
+            if (metrics.allocatedBytes() >= 0) {
+                allocatedBytes.add(metrics.allocatedBytes());
+                allocationSamples.increment();
+            }
+        }
+    }
+
+    /**
+     * registers these metrics with the platform MBean server
+     * @param name - the name of the MBean, unique among the Prunes of this JVM
+     * @return the name the MBean was registered under
+     * @throws IllegalStateException if the MBean could not be registered, e.g. the name is taken
+     */
+    public ObjectName register(String name) {
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=PruneMetrics,name=" + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("could not register prune metrics as " + name, e);
+        }
+    }
+
+    @Override
+    public long getTurns() {
+        long total = 0L;
+        for (LongAdder count : turns) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public long getBookTurns() {
+        return turns[TurnMetrics.Source.BOOK.ordinal()].sum();
+    }
+
+    @Override
+    public long getOpenerTurns() {
+        return turns[TurnMetrics.Source.OPENER.ordinal()].sum();
+    }
+
+    @Override
+    public long getCachedTurns() {
+        return turns[TurnMetrics.Source.CACHE.ordinal()].sum();
+    }
+
+    @Override
+    public long getScoredTurns() {
+        return turns[TurnMetrics.Source.SCORED.ordinal()].sum();
+    }
+
+    @Override
+    public long getWordsPruned() {
+        return wordsPruned.sum();
+    }
+
+    @Override
+    public long getPatternsPruned() {
+        return patternsPruned.sum();
+    }
+
+    @Override
+    public long getPatternComputations() {
+        return patternComputations.sum();
+    }
+
+    @Override
+    public long getCandidatesScored() {
+        return candidatesScored.sum();
+    }
+
+    @Override
+    public double getScoringMillis() {
+        return scoringNanos.sum() / 1e6;
+    }
+
+    @Override
+    public double getMeanScoringMillis() {
+        long scored = getScoredTurns();
+        return scored == 0 ? 0.0 : getScoringMillis() / scored;
+    }
+
+    @Override
+    public double getCandidatesPerSecond() {
+        long nanos = scoringNanos.sum();
+        return nanos == 0 ? 0.0 : candidatesScored.sum() * 1e9 / nanos;
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    @Override
+    public double getMeanAllocatedBytes() {
+        long samples = allocationSamples.sum();
+        return samples == 0 ? 0.0 : (double) allocatedBytes.sum() / samples;
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder count : turns) {
+            count.reset();
+        }
+        wordsPruned.reset();
+        patternsPruned.reset();
+        patternComputations.reset();
+        candidatesScored.reset();
+        scoringNanos.reset();
+        allocatedBytes.reset();
+        allocationSamples.reset();
+    }
+
+    /**
+     * @return the totals by name, in the order of {@link PruneMetricsMBean}
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("turns", getTurns());
+        map.put("bookTurns", getBookTurns());
+        map.put("openerTurns", getOpenerTurns());
+        map.put("cachedTurns", getCachedTurns());
+        map.put("scoredTurns", getScoredTurns());
+        map.put("wordsPruned", getWordsPruned());
+        map.put("patternsPruned", getPatternsPruned());
+        map.put("patternComputations", getPatternComputations());
+        map.put("candidatesScored", getCandidatesScored());
+        map.put("scoringMillis", getScoringMillis());
+        map.put("meanScoringMillis", getMeanScoringMillis());
+        map.put("candidatesPerSecond", getCandidatesPerSecond());
+        map.put("allocatedBytes", getAllocatedBytes());
+        map.put("meanAllocatedBytes", getMeanAllocatedBytes());
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return "PruneMetrics" + toMap();
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.wordle.algorithm;
+
+/**
+ * The JMX management interface of {@link PruneMetrics}
+ */
+public interface PruneMetricsMBean {
+
+    long getTurns();
+
+    long getBookTurns();
+
+    long getOpenerTurns();
+
+    long getCachedTurns();
+
+    long getScoredTurns();
+
+    long getWordsPruned();
+
+    long getPatternsPruned();
+
+    long getPatternComputations();
+
+    long getCandidatesScored();
+
+    double getScoringMillis();
+
+    double getMeanScoringMillis();
+
+    double getCandidatesPerSecond();
+
+    long getAllocatedBytes();
+
+    double getMeanAllocatedBytes();
+
+    void reset();
+}
@@ -0,0 +1,202 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.CorrectnessPattern;
+import org.example.wordle.Guess;
+import org.example.wordle.dictionary.WordCodec;
+import org.example.wordle.dictionary.WordSet;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A snapshot of a game in progress, the guesses made so far and the words that could still be
+ * the answer, so that a restarted solver can resume the game without replaying it.
+ *
+ * A saved game is tied to the {@link Prune#checksum()} of the Prune that played it, as the
+ * remaining words are stored as a bitset of that Prune's dictionary indices. The binary format is:
+ * <pre>
+ *   int  MAGIC
+ *   int  VERSION
+ *   long checksum
+ *   int  number of dictionary words
+ *   int  number of guesses
+ *   for each guess: byte[5] the letters of the word, byte the pattern code
+ *   long[(words + 63) / 64] the bitset of remaining words
+ * </pre>
+ */
+public final class SavedGame {
+
+    // "WSAV", wordle saved game
+    private static final int MAGIC = 0x57534156;
+
+    // bump this whenever the binary layout changes
+    private static final int VERSION = 1;
+
+    // the most dictionary words and guesses a saved game is read with, far more than any game has,
+    // so a corrupt file can not make the reader allocate more than a few hundred KB
+    static final int MAX_WORDS = 1 << 20;
+    static final int MAX_GUESSES = 1 << 10;
+
+    // the Prune.checksum of the Prune that played the game
+    private final long checksum;
+
+    // the guesses made so far, with the most recent guess at the end
+    private final List<Guess> history;
+
+    // the indices of the dictionary words that could still be the answer
+    private final WordSet remaining;
+
+    private SavedGame(long checksum, List<Guess> history, WordSet remaining) {
+        this.checksum = checksum;
+        this.history = history;
+        this.remaining = remaining;
+    }
+
+    /**
+     * @return a snapshot of `state`, a game played by `prune`. Later guesses do not change it
+     */
+    public static SavedGame of(Prune prune, GameState state) {
+        return new SavedGame(prune.checksum(), List.copyOf(state.history()), state.remaining());
+    }
+
+    /**
+     * @param checksum - the {@link Prune#checksum()} of a Prune
+     * @return true if this game was played by a Prune with the same dictionary and answers
+     */
+    public boolean matches(long checksum) {
+        return this.checksum == checksum;
+    }
+
+    /**
+     * @return the guesses made so far, with the most recent guess at the end
+     */
+    public List<Guess> history() {
+        return history;
+    }
+
+    /**
+     * @return the number of dictionary words that could still be the answer
+     */
+    public int remainingCount() {
+        return remaining.size();
+    }
+
+    /**
+     * @return a new GameState of `prune` where this game's guesses were made, which can be played on
+     * @throws IllegalArgumentException if this game was not played by a Prune with the same
+     * dictionary and answers as `prune`
+     */
+    public GameState restore(Prune prune) {
+        if (!matches(prune.checksum()) || remaining.capacity() != prune.dictionary().size()) {
+            throw new IllegalArgumentException("saved game was played with another dictionary or answers");
+        }
+        GameState state = new GameState(remaining.copy());
+        for (Guess guess : history) {
+            state.addGuess(guess);
+        }
+        return state;
+    }
+
+    /**
+     * writes this game to `path`, replacing the file only once it is completely written so that a
+     * crash never leaves half a saved game
+     */
+    public void save(Path path) throws IOException {
+        Path absolute = path.toAbsolutePath();
+        Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                write(os);
+            }
+            Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * writes the game to `os` in its binary format
+     */
+    public void write(OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(os);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(this.checksum);
+        out.writeInt(this.remaining.capacity());
+        out.writeInt(this.history.size());
+        for (Guess guess : this.history) {
+            out.write(guess.word().getBytes(StandardCharsets.US_ASCII));
+            out.writeByte(guess.mask().code());
+        }
+        for (long bits : this.remaining.toLongArray()) {
+            out.writeLong(bits);
+        }
+        out.flush();
+    }
+
+    /**
+     * reads a saved game from `path`
+     * @throws IOException if the file could not be read or is malformed
+     */
+    public static SavedGame load(Path path) throws IOException {
+        try (InputStream is = Files.newInputStream(path)) {
+            return read(is);
+        }
+    }
+
+    /**
+     * reads a saved game. Whether it was played by a given Prune is checked by {@link #restore(Prune)}
+     * @param is - the stream to read, it is not closed
+     * @return the SavedGame that was read
+     * @throws IOException if the stream could not be read or is malformed, such as a saved game of
+     * more than {@link #MAX_WORDS} words or {@link #MAX_GUESSES} guesses, or a guessed word that
+     * is not five letters from 'a' to 'z'
+     */
+    public static SavedGame read(InputStream is) throws IOException {
+        DataInputStream in = new DataInputStream(is);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a saved game");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("unsupported saved game version " + version);
+        }
+        long checksum = in.readLong();
+        int words = in.readInt();
+        int guesses = in.readInt();
+        if (words < 0 || words > MAX_WORDS || guesses < 0 || guesses > MAX_GUESSES) {
+            throw new IOException("saved game has " + words + " words and " + guesses + " guesses");
+        }
+        List<Guess> history = new ArrayList<>();
+        byte[] letters = new byte[WordCodec.WORD_LENGTH];
+        for (int g = 0; g < guesses; g++) {
+            in.readFully(letters);
+            int code = in.readUnsignedByte();
+            for (byte letter : letters) {
+                if (letter < 'a' || letter > 'z') {
+                    throw new IOException("saved game guess " + (g + 1) + " is not five letters from 'a' to 'z'");
+                }
+            }
+            try {
+                history.add(new Guess(new String(letters, StandardCharsets.US_ASCII), CorrectnessPattern.fromCode(code)));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("invalid saved game guess " + (g + 1), e);
+            }
+        }
+        long[] bits = new long[(words + 63) >>> 6];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = in.readLong();
+        }
+        return new SavedGame(checksum, List.copyOf(history), WordSet.of(words, bits));
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.Guess;
+import org.example.wordle.Guesser;
+import org.example.wordle.PatternCode;
+
+import java.util.List;
+
+/**
+ * A wordle Guesser that plays the strategy of a {@link DecisionTree}, walking from the root of the
+ * tree along the patterns of the history. Each turn is a lookup, no words are scored.
+ *
+ * A history the tree does not cover, because it has a guess the tree would not have made or a
+ * pattern none of the tree's answers give, is passed on to a fallback Guesser.
+ */
+public class TreeGuesser implements Guesser {
+
+    private final DecisionTree tree;
+
+    // guesses for histories the tree does not cover
+    private final Guesser fallback;
+
+    /**
+     * @param tree - the strategy to play
+     * @param fallback - guesses for histories the tree does not cover, usually a Prune for the
+     *                 answers the tree was built for
+     */
+    public TreeGuesser(DecisionTree tree, Guesser fallback) {
+        this.tree = tree;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public String guess(List<Guess> history) {
+        int node = node(history);
+        return node < 0 ? this.fallback.guess(history) : this.tree.guess(node);
+    }
+
+    @Override
+    public String guess(GameState state) {
+        int node = node(state.history());
+        return node < 0 ? this.fallback.guess(state) : this.tree.guess(node);
+    }
+
+    // the node of the tree reached by `history`, or -1 if the tree does not cover it
+    private int node(List<Guess> history) {
+        int node = DecisionTree.ROOT;
+        for (Guess guess : history) {
+            int code = guess.mask().code();
+            if (code == PatternCode.ALL_CORRECT || !guess.word().equals(this.tree.guess(node))) {
+                return -1;
+            }
+            node = this.tree.child(node, code);
+            if (node < 0) {
+                return -1;
+            }
+        }
+        return node;
+    }
+}
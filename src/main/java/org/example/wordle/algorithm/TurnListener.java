@@ -0,0 +1,14 @@
+package org.example.wordle.algorithm;
+
+/**
+ * Receives the {@link TurnMetrics} of every guess a {@link Prune} makes, see
+ * {@link Prune#setTurnListener(TurnListener)}.
+ *
+ * A Prune is shared by concurrent games, so listeners are called from many threads at once, and
+ * they are called on the guessing thread so they should return quickly.
+ */
+@FunctionalInterface
+public interface TurnListener {
+
+    void turn(TurnMetrics metrics);
+}
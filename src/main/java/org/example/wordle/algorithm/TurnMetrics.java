@@ -0,0 +1,56 @@
+package org.example.wordle.algorithm;
+
+/**
+ * What one guess of a {@link Prune} cost, reported to a {@link TurnListener}.
+ *
+ * The counts are about the turn being guessed: the words removed by the latest guess of the
+ * history, and the scoring that found the next guess. Turns answered without scoring, from an
+ * opening book, the opener or a {@link GuessCache}, report no scoring.
+ * @param source - how the guess was found
+ * @param turn - the number of the turn being guessed, 1 for the first guess
+ * @param wordsPruned - the words removed from the remaining words by the latest guess of the history
+ * @param wordsRemaining - the words that could still be the answer, -1 for a guess from the opening
+ *                       book that was made without replaying the history
+ * @param patternsPruned - the correctness patterns of the chosen guess that no remaining word
+ *                       produces, these are skipped when scoring it. 0 for turns that were not scored
+ * @param patternComputations - the patterns computed to score the candidates, 0 for patterns read
+ *                            from a pattern table. The latest guess is pruned with
+ *                            {@link Constraints}, which computes none. Answers that share no
+ *                            letters with a candidate skip the computation, so this is an upper bound
+ * @param candidatesScored - the candidate guesses that were scored
+ * @param scoringNanos - the wall clock time spent scoring
+ * @param allocatedBytes - the bytes allocated by the guessing thread while scoring, -1 if the JVM
+ *                       does not measure allocations. Scoring on a thread pool allocates on the
+ *                       pool's threads too, which is not counted
+ */
+public record TurnMetrics(Source source,
+                          int turn,
+                          int wordsPruned,
+                          int wordsRemaining,
+                          int patternsPruned,
+                          long patternComputations,
+                          int candidatesScored,
+                          long scoringNanos,
+                          long allocatedBytes) {
+
+    /**
+     * How a guess was found
+     */
+    public enum Source {
+        // from the opening book
+        BOOK,
+        // the first guess, which is the same for every game
+        OPENER,
+        // from the guess cache
+        CACHE,
+        // by scoring the candidates
+        SCORED
+    }
+
+    /**
+     * @return the candidates scored per second of scoring, 0 if nothing was scored
+     */
+    public double candidatesPerSecond() {
+        return scoringNanos == 0 ? 0.0 : candidatesScored * 1e9 / scoringNanos;
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.wordle.dictionary;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.zip.CRC32;
+
+/**
+ * The words of a {@link Dictionary} that can be the answer of a game, and how likely each one is.
+ *
+ * Every dictionary word can be guessed, but wordle only picks its answers from a much smaller
+ * list. Guessing from the whole dictionary while only keeping track of the possible answers lets
+ * a guesser probe with words that can not be the answer, and makes each turn cost
+ * O(dictionary words * remaining answers) instead of O(dictionary words ^ 2).
+ *
+ * An AnswerPool is immutable and can be shared by any number of concurrent games.
+ */
+public final class AnswerPool {
+
+    private final Dictionary dictionary;
+
+    // the indices of the answers in the dictionary
+    private final WordSet answers;
+
+    // the weight of each dictionary word as an answer, 0 for words that are not answers
+    private final long[] weights;
+
+    private AnswerPool(Dictionary dictionary, WordSet answers, long[] weights) {
+        this.dictionary = dictionary;
+        this.answers = answers;
+        this.weights = weights;
+    }
+
+    /**
+     * creates a pool where every one of `answers` is equally likely
+     * @throws IllegalArgumentException if an answer is not in `dictionary`
+     */
+    public static AnswerPool uniform(Dictionary dictionary, Collection<String> answers) {
+        return of(dictionary, answers, false);
+    }
+
+    /**
+     * creates a pool where each of `answers` is as likely as its occurrence count in `dictionary`
+     * @throws IllegalArgumentException if an answer is not in `dictionary`
+     */
+    public static AnswerPool weighted(Dictionary dictionary, Collection<String> answers) {
+        return of(dictionary, answers, true);
+    }
+
+    private static AnswerPool of(Dictionary dictionary, Collection<String> answers, boolean weighted) {
+        WordSet set = WordSet.empty(dictionary.size());
+        long[] weights = new long[dictionary.size()];
+        for (String answer : answers) {
+            int i = dictionary.indexOf(answer);
+            if (i < 0) {
+                throw new IllegalArgumentException("answer is not in the dictionary: " + answer);
+            }
+            set.add(i);
+            // a word with a count of 0 could never be picked, so it counts at least once
+            weights[i] = weighted ? Math.max(1L, dictionary.count(i)) : 1L;
+        }
+        return new AnswerPool(dictionary, set, weights);
+    }
+
+    /**
+     * @return the dictionary the answers are taken from
+     */
+    public Dictionary dictionary() {
+        return dictionary;
+    }
+
+    /**
+     * @return the number of answers in this pool
+     */
+    public int size() {
+        return answers.size();
+    }
+
+    /**
+     * @return a new set of the dictionary indices of every answer
+     */
+    public WordSet answers() {
+        return answers.copy();
+    }
+
+    /**
+     * @return the weight of the dictionary word at `index` as an answer, 0 if it is not an answer
+     */
+    public long weight(int index) {
+        return weights[index];
+    }
+
+    /**
+     * @return a CRC32 checksum of the dictionary and of every answer and its weight, used to tie
+     * files that were generated from this pool to it
+     */
+    public long checksum() {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 2);
+        crc.update(buffer.putLong(dictionary.checksum()).flip());
+        for (int i = answers.next(0); i >= 0; i = answers.next(i + 1)) {
+            buffer.clear();
+            crc.update(buffer.putLong(i).putLong(weights[i]).flip());
+        }
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,242 @@
+package org.example.wordle.dictionary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * An immutable dictionary of five-letter words and their occurrence counts.
+ *
+ * Every word has an index, its position when the words are sorted alphabetically, so that game
+ * state can refer to words by index (see {@link WordSet}) and one Dictionary can be shared by
+ * any number of concurrent games.
+ *
+ * Each word is also stored packed into an int (see {@link WordCodec}) along with a mask of the
+ * letters it contains, so the hot loops never need to touch a String.
+ */
+public final class Dictionary {
+
+    // a word with a prior of p has a count of about p * PRIOR_SCALE in a dictionary created by weigh
+    public static final long PRIOR_SCALE = 1_000_000_000L;
+
+    // the words, sorted alphabetically
+    private final String[] words;
+
+    // the occurrence count of each word, indexed like words
+    private final long[] counts;
+
+    // each word packed with WordCodec, indexed like words
+    private final int[] packed;
+
+    // the WordCodec.letterMask of each word, indexed like words
+    private final int[] letterMasks;
+
+    // maps a word to its index
+    private final Map<String, Integer> index;
+
+    // the CRC32 of the words and counts, -1 until it is first computed
+    private volatile long checksum = -1L;
+
+    private Dictionary(String[] words, long[] counts) {
+        this.words = words;
+        this.counts = counts;
+        this.packed = new int[words.length];
+        this.letterMasks = new int[words.length];
+        this.index = new HashMap<>(words.length * 2);
+        for (int i = 0; i < words.length; i++) {
+            this.packed[i] = WordCodec.pack(words[i]);
+            this.letterMasks[i] = WordCodec.letterMask(this.packed[i]);
+            this.index.put(words[i], i);
+        }
+    }
+
+    /**
+     * creates a new dictionary from a map of words to their occurrence counts
+     * @param wordCounts - maps a word to its occurrence count
+     * @return a new Dictionary with the words sorted alphabetically
+     * @throws IllegalArgumentException if a word is not five letters between 'a' and 'z'
+     */
+    public static Dictionary of(Map<String, Long> wordCounts) {
+        String[] words = wordCounts.keySet().toArray(new String[0]);
+        Arrays.sort(words);
+        long[] counts = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            counts[i] = wordCounts.get(words[i]);
+        }
+        return new Dictionary(words, counts);
+    }
+
+    /**
+     * creates a new dictionary from parallel arrays of words and their occurrence counts
+     * @param words - the words, sorting them alphabetically up front saves a sort
+     * @param counts - the occurrence count of each word in `words`
+     * @return a new Dictionary with the words sorted alphabetically
+     * @throws IllegalArgumentException if the arrays have different lengths, a word is repeated or
+     * a word is not five letters between 'a' and 'z'
+     */
+    public static Dictionary of(String[] words, long[] counts) {
+        if (words.length != counts.length) {
+            throw new IllegalArgumentException("expected a count for each of the " + words.length + " words");
+        }
+        String[] sortedWords = words.clone();
+        long[] sortedCounts = counts.clone();
+        if (!isSorted(sortedWords)) {
+            Integer[] order = new Integer[words.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> words[a].compareTo(words[b]));
+            for (int i = 0; i < order.length; i++) {
+                sortedWords[i] = words[order[i]];
+                sortedCounts[i] = counts[order[i]];
+            }
+        }
+        for (int i = 1; i < sortedWords.length; i++) {
+            if (sortedWords[i].equals(sortedWords[i - 1])) {
+                throw new IllegalArgumentException("duplicate word in dictionary: " + sortedWords[i]);
+            }
+        }
+        return new Dictionary(sortedWords, sortedCounts);
+    }
+
+    /**
+     * Same as {@link #of(String[], long[])} for words and counts whose {@link #checksum()} is
+     * already known, such as those of a binary dictionary, so it is not computed again
+     */
+    static Dictionary of(String[] words, long[] counts, long checksum) {
+        Dictionary dictionary = of(words, counts);
+        dictionary.checksum = checksum;
+        return dictionary;
+    }
+
+    private static boolean isSorted(String[] words) {
+        for (int i = 1; i < words.length; i++) {
+            if (words[i - 1].compareTo(words[i]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of words in this dictionary
+     */
+    public int size() {
+        return words.length;
+    }
+
+    /**
+     * @return the word at `index`
+     */
+    public String word(int index) {
+        return words[index];
+    }
+
+    /**
+     * @return the word at `index` packed with {@link WordCodec#pack(String)}
+     */
+    public int packed(int index) {
+        return packed[index];
+    }
+
+    /**
+     * @return the {@link WordCodec#letterMask(int)} of the word at `index`
+     */
+    public int letterMask(int index) {
+        return letterMasks[index];
+    }
+
+    /**
+     * @return the occurrence count of the word at `index`
+     */
+    public long count(int index) {
+        return counts[index];
+    }
+
+    /**
+     * @return the index of `word`, or -1 if this dictionary does not contain `word`
+     */
+    public int indexOf(String word) {
+        Integer i = index.get(word);
+        return i == null ? -1 : i;
+    }
+
+    /**
+     * @return the words of this dictionary, in index order
+     */
+    public List<String> words() {
+        return List.of(words);
+    }
+
+    /**
+     * creates a dictionary of the same words whose counts are the priors of `weighting`: the
+     * weights normalized to sum to 1 and scaled by {@value #PRIOR_SCALE}, rounded to whole counts
+     * of at least 1 so that the scoring keeps summing exact integers
+     * @return a new Dictionary with the same word indices
+     * @throws IllegalArgumentException if a weight is negative or not a number, or the weights sum to 0
+     */
+    public Dictionary weigh(Weighting weighting) {
+        double[] weights = weighting.weights(this);
+        if (weights.length != words.length) {
+            throw new IllegalArgumentException("expected a weight for each of the " + words.length + " words");
+        }
+        double total = 0.0;
+        for (double weight : weights) {
+            if (!(weight >= 0.0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("weights must be finite and not negative: " + weight);
+            }
+            total += weight;
+        }
+        if (total == 0.0) {
+            throw new IllegalArgumentException("the weights of the words sum to 0");
+        }
+        long[] priors = new long[words.length];
+        for (int i = 0; i < priors.length; i++) {
+            // a word with a count of 0 could never be guessed, even when it is the last one remaining
+            priors[i] = Math.max(1L, Math.round(weights[i] / total * PRIOR_SCALE));
+        }
+        return new Dictionary(words, priors);
+    }
+
+    /**
+     * @return a CRC32 checksum of every word and its count, used to tie files that were
+     * generated from this dictionary to it
+     */
+    public long checksum() {
+        long checksum = this.checksum;
+        if (checksum < 0) {
+            // the same bytes as the lines "word count\n", without building a String for each line
+            StringBuilder lines = new StringBuilder(words.length * 16);
+            for (int i = 0; i < words.length; i++) {
+                lines.append(words[i]).append(' ').append(counts[i]).append('\n');
+            }
+            CRC32 crc = new CRC32();
+            crc.update(lines.toString().getBytes(StandardCharsets.US_ASCII));
+            checksum = crc.getValue();
+            this.checksum = checksum;
+        }
+        return checksum;
+    }
+
+    /**
+     * @return a new set containing the index of every word in this dictionary
+     */
+    public WordSet all() {
+        return WordSet.all(words.length);
+    }
+
+    /**
+     * @return the words whose index is in `set`, in index order
+     */
+    public List<String> words(WordSet set) {
+        List<String> result = new ArrayList<>(set.size());
+        for (int i = set.next(0); i >= 0; i = set.next(i + 1)) {
+            result.add(words[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,300 @@
+package org.example.wordle.dictionary;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Reads dictionaries from text or binary files, and writes the binary format.
+ *
+ * The text format is one word per line, followed by a space and the word's occurrence count, as
+ * in dictionary.txt. The binary format stores the same data as primitive arrays so it can be
+ * loaded without any parsing:
+ * <pre>
+ *   int  MAGIC
+ *   int  VERSION
+ *   int  number of words
+ *   long the {@link Dictionary#checksum()} of the words and counts
+ *   byte[words * 5] the letters of each word, in index order
+ *   long[words] the occurrence count of each word, in index order
+ * </pre>
+ * Version 1 files, which do not have the checksum, can still be read.
+ *
+ * A snapshot is a binary dictionary that was loaded and weighted once, so that later runs can skip
+ * both. It records what it was made from, and is only read back while that is unchanged:
+ * <pre>
+ *   int  SNAPSHOT_MAGIC
+ *   int  SNAPSHOT_VERSION
+ *   long the {@link #resourceChecksum(String...)} of the files the dictionary was loaded from
+ *   UTF  the name and parameters of the weighting
+ *   the binary dictionary
+ * </pre>
+ */
+public final class DictionaryLoader {
+
+    // "WDCT", wordle dictionary
+    static final int MAGIC = 0x57444354;
+
+    // bump this whenever the binary layout changes
+    static final int VERSION = 2;
+
+    // "WSNP", wordle dictionary snapshot
+    static final int SNAPSHOT_MAGIC = 0x57534E50;
+
+    // bump this whenever the snapshot header changes
+    static final int SNAPSHOT_VERSION = 1;
+
+    // the number of letters stored for each word of a binary dictionary
+    static final int WORD_LENGTH = 5;
+
+    private DictionaryLoader() {}
+
+    /**
+     * converts a text dictionary into a binary dictionary.
+     * usage: DictionaryLoader [text dictionary] [binary dictionary]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: DictionaryLoader <dictionary.txt> <dictionary.bin>");
+            System.exit(1);
+        }
+        Dictionary dictionary;
+        try (InputStream is = Files.newInputStream(Path.of(args[0]))) {
+            dictionary = readText(is);
+        }
+        try (OutputStream os = Files.newOutputStream(Path.of(args[1]))) {
+            writeBinary(dictionary, os);
+        }
+        System.out.println("wrote " + dictionary.size() + " words to " + args[1]);
+    }
+
+    /**
+     * loads a dictionary from the classpath. If a binary dictionary named like `textResource` but
+     * ending in ".bin" exists, it is loaded instead of the text dictionary.
+     * @param textResource - the name of a text dictionary resource, i.e. "dictionary.txt"
+     * @return the loaded Dictionary
+     * @throws IOException if neither resource exists or could not be read
+     */
+    public static Dictionary loadResource(String textResource) throws IOException {
+        ClassLoader classLoader = DictionaryLoader.class.getClassLoader();
+        String binaryResource = textResource.replaceFirst("\\.txt$", "") + ".bin";
+        try (InputStream is = classLoader.getResourceAsStream(binaryResource)) {
+            if (is != null) {
+                return readBinary(is);
+            }
+        }
+        try (InputStream is = classLoader.getResourceAsStream(textResource)) {
+            if (is == null) {
+                throw new IOException(textResource + " not found on the classpath");
+            }
+            return readText(is);
+        }
+    }
+
+    /**
+     * reads a text dictionary, one "word count" pair per line
+     * @param is - the stream to read, it is not closed
+     * @return the Dictionary that was read
+     * @throws IOException if the stream could not be read or a line is malformed
+     */
+    public static Dictionary readText(InputStream is) throws IOException {
+        WordCounts wordCounts = readWordCounts(is);
+        return Dictionary.of(wordCounts.words(), wordCounts.counts());
+    }
+
+    /**
+     * reads a text word list, one "word count" pair per line like a text dictionary, where every
+     * word has the same length of 4 to 8 letters
+     * @param is - the stream to read, it is not closed
+     * @return the WordList that was read
+     * @throws IOException if the stream could not be read or a line is malformed
+     * @throws IllegalArgumentException if the words are not all the same length of 4 to 8 letters
+     */
+    public static WordList readWordList(InputStream is) throws IOException {
+        WordCounts wordCounts = readWordCounts(is);
+        return WordList.of(wordCounts.words(), wordCounts.counts());
+    }
+
+    // the words of a text dictionary and their counts, in file order
+    private record WordCounts(String[] words, long[] counts) {}
+
+    private static WordCounts readWordCounts(InputStream is) throws IOException {
+        BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.US_ASCII), 1 << 16);
+        String[] words = new String[16384];
+        long[] counts = new long[16384];
+        int size = 0;
+        String line;
+        while ((line = br.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            int space = line.indexOf(' ');
+            if (space < 0) {
+                throw new IOException("expected a word and a count on line " + (size + 1) + ": " + line);
+            }
+            if (size == words.length) {
+                words = Arrays.copyOf(words, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            words[size] = line.substring(0, space);
+            try {
+                counts[size] = Long.parseLong(line, space + 1, line.length(), 10);
+            } catch (NumberFormatException e) {
+                throw new IOException("invalid count on line " + (size + 1) + ": " + line, e);
+            }
+            size++;
+        }
+        return new WordCounts(Arrays.copyOf(words, size), Arrays.copyOf(counts, size));
+    }
+
+    /**
+     * reads a binary dictionary
+     * @param is - the stream to read, it is not closed
+     * @return the Dictionary that was read
+     * @throws IOException if the stream could not be read or is not a binary dictionary
+     */
+    public static Dictionary readBinary(InputStream is) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(is.readAllBytes());
+        if (buffer.remaining() < 12 || buffer.getInt() != MAGIC) {
+            throw new IOException("not a binary dictionary");
+        }
+        int version = buffer.getInt();
+        if (version != 1 && version != VERSION) {
+            throw new IOException("binary dictionary is version " + version + ", expected " + VERSION);
+        }
+        int size = buffer.getInt();
+        if (version > 1 && buffer.remaining() < Long.BYTES) {
+            throw new IOException("binary dictionary is missing its checksum");
+        }
+        // a version 1 dictionary has its checksum computed when it is first needed
+        long checksum = version > 1 ? buffer.getLong() : -1L;
+        if (size < 0 || buffer.remaining() != (long) size * (WORD_LENGTH + Long.BYTES)) {
+            throw new IOException("binary dictionary has the wrong size for " + size + " words");
+        }
+
+        byte[] letters = new byte[size * WORD_LENGTH];
+        buffer.get(letters);
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            words[i] = new String(letters, i * WORD_LENGTH, WORD_LENGTH, StandardCharsets.US_ASCII);
+        }
+        long[] counts = new long[size];
+        buffer.asLongBuffer().get(counts);
+        return version > 1 ? Dictionary.of(words, counts, checksum) : Dictionary.of(words, counts);
+    }
+
+    /**
+     * writes `dictionary` in the binary format
+     * @param os - the stream to write to, it is not closed
+     * @throws IllegalArgumentException if a word of the dictionary is not five ASCII letters
+     */
+    public static void writeBinary(Dictionary dictionary, OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(os);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(dictionary.size());
+        out.writeLong(dictionary.checksum());
+        byte[] letters = new byte[dictionary.size() * WORD_LENGTH];
+        for (int i = 0; i < dictionary.size(); i++) {
+            byte[] word = dictionary.word(i).getBytes(StandardCharsets.US_ASCII);
+            if (word.length != WORD_LENGTH) {
+                throw new IllegalArgumentException("binary dictionaries only hold " + WORD_LENGTH + " letter words: " + dictionary.word(i));
+            }
+            System.arraycopy(word, 0, letters, i * WORD_LENGTH, WORD_LENGTH);
+        }
+        out.write(letters);
+        for (int i = 0; i < dictionary.size(); i++) {
+            out.writeLong(dictionary.count(i));
+        }
+        out.flush();
+    }
+
+    /**
+     * @param resources - the names of classpath resources, those that do not exist are skipped
+     * @return a CRC32 checksum of the names and bytes of the existing `resources`, which changes
+     * when one of them is edited, added or removed
+     * @throws IOException if a resource could not be read
+     */
+    public static long resourceChecksum(String... resources) throws IOException {
+        ClassLoader classLoader = DictionaryLoader.class.getClassLoader();
+        CRC32 crc = new CRC32();
+        for (String resource : resources) {
+            try (InputStream is = classLoader.getResourceAsStream(resource)) {
+                if (is != null) {
+                    crc.update(resource.getBytes(StandardCharsets.UTF_8));
+                    crc.update(is.readAllBytes());
+                }
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * writes a snapshot of `dictionary`
+     * @param source - the {@link #resourceChecksum(String...)} of the files `dictionary` was loaded from
+     * @param weighting - the name and parameters of the weighting of `dictionary`
+     * @param os - the stream to write to, it is not closed
+     */
+    public static void writeSnapshot(Dictionary dictionary, long source, String weighting, OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(os);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeLong(source);
+        out.writeUTF(weighting);
+        writeBinary(dictionary, out);
+    }
+
+    /**
+     * reads a snapshot written by {@link #writeSnapshot(Dictionary, long, String, OutputStream)}
+     * @param source - the checksum of the files the dictionary would be loaded from now
+     * @param weighting - the name and parameters of the weighting that would be used now
+     * @param is - the stream to read, it is not closed
+     * @return the Dictionary of the snapshot, or null if it was made from other files or with
+     * another weighting, and is out of date
+     * @throws IOException if the stream could not be read or is not a snapshot
+     */
+    public static Dictionary readSnapshot(InputStream is, long source, String weighting) throws IOException {
+        DataInputStream in = new DataInputStream(is);
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("not a dictionary snapshot");
+        }
+        int version = in.readInt();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IOException("dictionary snapshot is version " + version + ", expected " + SNAPSHOT_VERSION);
+        }
+        if (in.readLong() != source || !in.readUTF().equals(weighting)) {
+            return null;
+        }
+        return readBinary(in);
+    }
+
+    /**
+     * writes a snapshot of `dictionary` to `path`, replacing the file only once it is completely
+     * written so that a crash never leaves half a snapshot
+     * @see #writeSnapshot(Dictionary, long, String, OutputStream)
+     */
+    public static void saveSnapshot(Dictionary dictionary, long source, String weighting, Path path) throws IOException {
+        Path absolute = path.toAbsolutePath();
+        Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                writeSnapshot(dictionary, source, weighting, os);
+            }
+            Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
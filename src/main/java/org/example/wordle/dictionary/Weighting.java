@@ -0,0 +1,85 @@
+package org.example.wordle.dictionary;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Decides how likely each word of a {@link Dictionary} is to be the answer, from its occurrence
+ * count, its rank, or lists of likely answers.
+ *
+ * A Weighting only gives relative weights, {@link Dictionary#weigh(Weighting)} normalizes them
+ * into priors once when the dictionary is loaded, so scoring never has to.
+ */
+@FunctionalInterface
+public interface Weighting {
+
+    /**
+     * @return the non-negative weight of each word of `dictionary`, indexed like the dictionary
+     */
+    double[] weights(Dictionary dictionary);
+
+    /**
+     * @return a weighting where each word is as likely as its occurrence count
+     */
+    static Weighting counts() {
+        return dictionary -> {
+            double[] weights = new double[dictionary.size()];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = dictionary.count(i);
+            }
+            return weights;
+        };
+    }
+
+    /**
+     * creates a weighting by rank, where the words are ranked from the most common (rank 0) down
+     * by occurrence count, and a word of rank r weighs 1 / (1 + e^((r - midpoint) / width)). The
+     * common words are then all about as likely, however much their counts differ, and the words
+     * past the midpoint quickly become unlikely.
+     * @param midpoint - the rank of the words that weigh 1/2
+     * @param width - how quickly the weights fall, from 3/4 to 1/4 over about 2.2 * width ranks
+     * @throws IllegalArgumentException if width is not positive
+     */
+    static Weighting sigmoidByRank(double midpoint, double width) {
+        if (!(width > 0.0)) {
+            throw new IllegalArgumentException("width must be positive: " + width);
+        }
+        return dictionary -> {
+            int n = dictionary.size();
+            // most common first, words with the same count stay in index order
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(dictionary.count(b), dictionary.count(a)));
+            double[] weights = new double[n];
+            for (int rank = 0; rank < n; rank++) {
+                weights[order[rank]] = 1.0 / (1.0 + Math.exp((rank - midpoint) / width));
+            }
+            return weights;
+        };
+    }
+
+    /**
+     * @param words - the words to boost, words that are not in the dictionary are ignored
+     * @param factor - the factor the weights of `words` are multiplied by
+     * @return a weighting like this one, where `words`, such as the answers of answers.txt, are
+     * `factor` times as likely
+     * @throws IllegalArgumentException if factor is negative
+     */
+    default Weighting boost(Collection<String> words, double factor) {
+        if (!(factor >= 0.0)) {
+            throw new IllegalArgumentException("factor must not be negative: " + factor);
+        }
+        return dictionary -> {
+            double[] weights = weights(dictionary);
+            for (String word : words) {
+                int i = dictionary.indexOf(word);
+                if (i >= 0) {
+                    weights[i] *= factor;
+                }
+            }
+            return weights;
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.wordle.dictionary;
+
+/**
+ * Packs five-letter words into a single int, 5 bits per letter, so that words can be compared
+ * and stored without String objects.
+ *
+ * Letter i of the word ('a' = 0 through 'z' = 25) is stored in bits [5i, 5i + 5) of the int.
+ * Words of {@link #MIN_WORD_LENGTH} to {@link #MAX_WORD_LENGTH} letters are packed the same way
+ * into a long, which leaves the word's length to the caller.
+ */
+public final class WordCodec {
+
+    // the number of letters in a packed word
+    public static final int WORD_LENGTH = 5;
+
+    // the fewest letters of a word packed into a long
+    public static final int MIN_WORD_LENGTH = 4;
+
+    // the most letters of a word packed into a long
+    public static final int MAX_WORD_LENGTH = 8;
+
+    // the number of distinct letters
+    public static final int LETTERS = 26;
+
+    // the number of bits used by each letter
+    static final int BITS = 5;
+
+    private static final int LETTER_MASK = (1 << BITS) - 1;
+
+    private WordCodec() {}
+
+    /**
+     * @param word - a five-letter word of the letters 'a' to 'z'
+     * @return the word packed into an int
+     * @throws IllegalArgumentException if `word` is not five letters between 'a' and 'z'
+     */
+    public static int pack(String word) {
+        if (word.length() != WORD_LENGTH) {
+            throw new IllegalArgumentException("words must be " + WORD_LENGTH + " letters: " + word);
+        }
+        int packed = 0;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            int letter = word.charAt(i) - 'a';
+            if (letter < 0 || letter >= LETTERS) {
+                throw new IllegalArgumentException("words must only contain the letters 'a' to 'z': " + word);
+            }
+            packed |= letter << (i * BITS);
+        }
+        return packed;
+    }
+
+    /**
+     * @return the word that was packed into `packed`
+     */
+    public static String unpack(int packed) {
+        char[] letters = new char[WORD_LENGTH];
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            letters[i] = (char) ('a' + letter(packed, i));
+        }
+        return new String(letters);
+    }
+
+    /**
+     * @return the letter at `index` of a packed word, 'a' = 0 through 'z' = 25
+     */
+    public static int letter(int packed, int index) {
+        return (packed >>> (index * BITS)) & LETTER_MASK;
+    }
+
+    /**
+     * @return a 26 bit mask with bit l set if letter l ('a' = 0) occurs in the packed word
+     */
+    public static int letterMask(int packed) {
+        int mask = 0;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            mask |= 1 << letter(packed, i);
+        }
+        return mask;
+    }
+
+    /**
+     * @param word - a word of 4 to 8 letters between 'a' and 'z'
+     * @return the word packed into a long
+     * @throws IllegalArgumentException if `word` is not 4 to 8 letters between 'a' and 'z'
+     */
+    public static long packLong(String word) {
+        if (word.length() < MIN_WORD_LENGTH || word.length() > MAX_WORD_LENGTH) {
+            throw new IllegalArgumentException("words must be " + MIN_WORD_LENGTH + " to " + MAX_WORD_LENGTH + " letters: " + word);
+        }
+        long packed = 0L;
+        for (int i = 0; i < word.length(); i++) {
+            long letter = word.charAt(i) - 'a';
+            if (letter < 0 || letter >= LETTERS) {
+                throw new IllegalArgumentException("words must only contain the letters 'a' to 'z': " + word);
+            }
+            packed |= letter << (i * BITS);
+        }
+        return packed;
+    }
+
+    /**
+     * @return the word of `length` letters that was packed into `packed`
+     */
+    public static String unpack(long packed, int length) {
+        char[] letters = new char[length];
+        for (int i = 0; i < length; i++) {
+            letters[i] = (char) ('a' + letter(packed, i));
+        }
+        return new String(letters);
+    }
+
+    /**
+     * @return the letter at `index` of a word packed into a long, 'a' = 0 through 'z' = 25
+     */
+    public static int letter(long packed, int index) {
+        return (int) (packed >>> (index * BITS)) & LETTER_MASK;
+    }
+
+    /**
+     * @return a 26 bit mask with bit l set if letter l ('a' = 0) occurs in the word of `length`
+     * letters packed into a long
+     */
+    public static int letterMask(long packed, int length) {
+        int mask = 0;
+        for (int i = 0; i < length; i++) {
+            mask |= 1 << letter(packed, i);
+        }
+        return mask;
+    }
+}
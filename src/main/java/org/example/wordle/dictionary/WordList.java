@@ -0,0 +1,165 @@
+package org.example.wordle.dictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable list of words that all have the same length, from 4 to 8 letters, and their
+ * occurrence counts. It is the {@link Dictionary} of games with words that are not five letters.
+ *
+ * Words are indexed in alphabetical order like a Dictionary, so game state can refer to them with
+ * a {@link WordSet}. Each word is also stored packed into a long (see {@link WordCodec#packLong(String)})
+ * along with a mask of the letters it contains.
+ */
+public final class WordList {
+
+    // the number of letters in every word
+    private final int length;
+
+    // the words, sorted alphabetically
+    private final String[] words;
+
+    // the occurrence count of each word, indexed like words
+    private final long[] counts;
+
+    // each word packed with WordCodec.packLong, indexed like words
+    private final long[] packed;
+
+    // the WordCodec.letterMask of each word, indexed like words
+    private final int[] letterMasks;
+
+    // maps a word to its index
+    private final Map<String, Integer> index;
+
+    private WordList(int length, String[] words, long[] counts) {
+        this.length = length;
+        this.words = words;
+        this.counts = counts;
+        this.packed = new long[words.length];
+        this.letterMasks = new int[words.length];
+        this.index = new HashMap<>(words.length * 2);
+        for (int i = 0; i < words.length; i++) {
+            this.packed[i] = WordCodec.packLong(words[i]);
+            this.letterMasks[i] = WordCodec.letterMask(this.packed[i], length);
+            this.index.put(words[i], i);
+        }
+    }
+
+    /**
+     * creates a new word list from parallel arrays of words and their occurrence counts
+     * @param words - the words, which must all be the same length
+     * @param counts - the occurrence count of each word in `words`
+     * @return a new WordList with the words sorted alphabetically
+     * @throws IllegalArgumentException if there are no words, the arrays have different lengths, a
+     * word is repeated, or the words are not all 4 to 8 letters between 'a' and 'z' of the same length
+     */
+    public static WordList of(String[] words, long[] counts) {
+        if (words.length != counts.length) {
+            throw new IllegalArgumentException("expected a count for each of the " + words.length + " words");
+        }
+        if (words.length == 0) {
+            throw new IllegalArgumentException("a word list must have at least one word");
+        }
+        int length = words[0].length();
+        Integer[] order = new Integer[words.length];
+        for (int i = 0; i < order.length; i++) {
+            if (words[i].length() != length) {
+                throw new IllegalArgumentException("every word must be " + length + " letters: " + words[i]);
+            }
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> words[a].compareTo(words[b]));
+        String[] sortedWords = new String[words.length];
+        long[] sortedCounts = new long[words.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedWords[i] = words[order[i]];
+            sortedCounts[i] = counts[order[i]];
+            if (i > 0 && sortedWords[i].equals(sortedWords[i - 1])) {
+                throw new IllegalArgumentException("duplicate word in word list: " + sortedWords[i]);
+            }
+        }
+        return new WordList(length, sortedWords, sortedCounts);
+    }
+
+    /**
+     * @return a new word list of the five-letter words of `dictionary`, with the same indices
+     */
+    public static WordList of(Dictionary dictionary) {
+        long[] counts = new long[dictionary.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = dictionary.count(i);
+        }
+        return new WordList(WordCodec.WORD_LENGTH, dictionary.words().toArray(new String[0]), counts);
+    }
+
+    /**
+     * @return the number of letters in every word of this list
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return the number of words in this list
+     */
+    public int size() {
+        return words.length;
+    }
+
+    /**
+     * @return the word at `index`
+     */
+    public String word(int index) {
+        return words[index];
+    }
+
+    /**
+     * @return the word at `index` packed with {@link WordCodec#packLong(String)}
+     */
+    public long packed(int index) {
+        return packed[index];
+    }
+
+    /**
+     * @return the {@link WordCodec#letterMask(long, int)} of the word at `index`
+     */
+    public int letterMask(int index) {
+        return letterMasks[index];
+    }
+
+    /**
+     * @return the occurrence count of the word at `index`
+     */
+    public long count(int index) {
+        return counts[index];
+    }
+
+    /**
+     * @return the index of `word`, or -1 if this list does not contain `word`
+     */
+    public int indexOf(String word) {
+        Integer i = index.get(word);
+        return i == null ? -1 : i;
+    }
+
+    /**
+     * @return a new set containing the index of every word in this list
+     */
+    public WordSet all() {
+        return WordSet.all(words.length);
+    }
+
+    /**
+     * @return the words whose index is in `set`, in index order
+     */
+    public List<String> words(WordSet set) {
+        List<String> result = new ArrayList<>(set.size());
+        for (int i = set.next(0); i >= 0; i = set.next(i + 1)) {
+            result.add(words[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,195 @@
+package org.example.wordle.dictionary;
+
+import java.util.Arrays;
+
+/**
+ * A set of word indices of a {@link Dictionary}, stored as a bitset with one bit per word.
+ * A WordSet for the full dictionary of 12,947 words takes about 1.6KB.
+ *
+ * WordSets are mutable and not thread-safe, use {@link #copy()} to hand a set to another thread.
+ */
+public final class WordSet {
+
+    // the number of words the set can hold, indices are in [0, capacity)
+    private final int capacity;
+
+    // bit i of words[i / 64] is set if word i is in the set
+    private final long[] words;
+
+    private WordSet(int capacity, long[] words) {
+        this.capacity = capacity;
+        this.words = words;
+    }
+
+    /**
+     * @return a new, empty, set that can hold the indices [0, capacity)
+     */
+    public static WordSet empty(int capacity) {
+        return new WordSet(capacity, new long[(capacity + 63) >>> 6]);
+    }
+
+    /**
+     * @return a new set containing every index in [0, capacity)
+     */
+    public static WordSet all(int capacity) {
+        WordSet set = empty(capacity);
+        Arrays.fill(set.words, -1L);
+        set.clearUnused();
+        return set;
+    }
+
+    /**
+     * @return a new set that holds a copy of the given bits
+     */
+    public static WordSet of(int capacity, long[] bits) {
+        if (bits.length != (capacity + 63) >>> 6) {
+            throw new IllegalArgumentException("expected " + ((capacity + 63) >>> 6) + " longs for a capacity of " + capacity);
+        }
+        WordSet set = new WordSet(capacity, bits.clone());
+        set.clearUnused();
+        return set;
+    }
+
+    /**
+     * @return the number of words this set can hold
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean contains(int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public void add(int index) {
+        words[index >>> 6] |= 1L << index;
+    }
+
+    public void remove(int index) {
+        words[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * removes every index from this set
+     */
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    /**
+     * @return the number of words in this set
+     */
+    public int size() {
+        int size = 0;
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the first index in this set that is greater than or equal to `from`, or -1 if there is none
+     */
+    public int next(int from) {
+        if (from >= capacity) {
+            return -1;
+        }
+        int w = from >>> 6;
+        long word = words[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == words.length) {
+                return -1;
+            }
+            word = words[w];
+        }
+    }
+
+    /**
+     * @return the indices in this set, in ascending order
+     */
+    public int[] toArray() {
+        int[] indices = new int[size()];
+        int n = 0;
+        for (int i = next(0); i >= 0; i = next(i + 1)) {
+            indices[n++] = i;
+        }
+        return indices;
+    }
+
+    /**
+     * removes every index that is not also in `other`
+     */
+    public void and(WordSet other) {
+        checkCapacity(other);
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= other.words[i];
+        }
+    }
+
+    /**
+     * removes every index that is in `other`
+     */
+    public void andNot(WordSet other) {
+        checkCapacity(other);
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= ~other.words[i];
+        }
+    }
+
+    /**
+     * @return a new set with the same indices as this set
+     */
+    public WordSet copy() {
+        return new WordSet(capacity, words.clone());
+    }
+
+    /**
+     * @return a copy of the bits of this set, bit i of element i / 64 is set if index i is in the set
+     */
+    public long[] toLongArray() {
+        return words.clone();
+    }
+
+    private void checkCapacity(WordSet other) {
+        if (other.capacity != capacity) {
+            throw new IllegalArgumentException("word sets have different capacities: " + capacity + " and " + other.capacity);
+        }
+    }
+
+    // clears the bits past capacity in the last long
+    private void clearUnused() {
+        if ((capacity & 63) != 0) {
+            words[words.length - 1] &= (1L << capacity) - 1;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WordSet that = (WordSet) o;
+        return capacity == that.capacity && Arrays.equals(words, that.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * capacity + Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return "WordSet{size=" + size() + ", capacity=" + capacity + "}";
+    }
+}
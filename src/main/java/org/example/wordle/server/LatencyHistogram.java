@@ -0,0 +1,173 @@
+package org.example.wordle.server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of request latencies, and of the request rate over the last minute.
+ *
+ * Latencies are counted in buckets whose upper bounds double from 1 microsecond to about
+ * 68 seconds, so recording a latency is a couple of atomic increments and percentiles are accurate
+ * to within a factor of two. Requests are also counted per second of the last minute, in a ring of
+ * counters indexed by the second they finished in.
+ */
+final class LatencyHistogram {
+
+    // bucket i counts latencies of at most 2^i microseconds, the last bucket counts the rest
+    private static final int BUCKETS = 27;
+
+    // the seconds of request rate history kept
+    private static final int WINDOW_SECONDS = 60;
+
+    // the count bits of a perSecond slot
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    // the number of requests finished in each second, indexed by the second modulo the window. Each
+    // slot packs the second it counts in its high 32 bits and the count in its low 32 bits, so moving a
+    // slot on to a new second and counting in it is one atomic update. A slot of an older second is stale
+    private final AtomicLongArray perSecond = new AtomicLongArray(WINDOW_SECONDS);
+
+    private final long startNanos;
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * records one request that took `nanos`
+     */
+    void record(long nanos) {
+        buckets[bucket(nanos)].increment();
+        count.increment();
+        totalNanos.add(nanos);
+
+        long second = (System.nanoTime() - startNanos) / 1_000_000_000L;
+        int slot = (int) (second % WINDOW_SECONDS);
+        perSecond.getAndUpdate(slot, packed -> {
+            long slotOf = packed >>> 32;
+            if (slotOf == second) {
+                return packed + 1;
+            }
+            // a slot of an older second has left the window and starts over, while a request that
+            // finished a whole window before the slot's second is too old to count
+            return slotOf < second ? (second << 32) | 1L : packed;
+        });
+    }
+
+    // the bucket of a latency, the smallest i with nanos <= 2^i microseconds
+    static int bucket(long nanos) {
+        long micros = (nanos + 999) / 1000;
+        if (micros <= 1) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros - 1));
+    }
+
+    /**
+     * @return the upper bound of bucket `i` in milliseconds, infinity for the last bucket
+     */
+    static double upperBoundMillis(int i) {
+        return i == BUCKETS - 1 ? Double.POSITIVE_INFINITY : (1L << i) / 1000.0;
+    }
+
+    /**
+     * @return the number of requests recorded
+     */
+    long count() {
+        return count.sum();
+    }
+
+    /**
+     * estimates a percentile as the upper bound of the bucket it falls in
+     * @param p - the percentile, between 0 and 1
+     * @return the estimated latency in milliseconds, or 0 if nothing was recorded
+     */
+    double percentileMillis(double p) {
+        long[] counts = new long[BUCKETS];
+        long total = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(p * total));
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBoundMillis(i);
+            }
+        }
+        return upperBoundMillis(BUCKETS - 1);
+    }
+
+    /**
+     * @return the requests per second over the last minute, or since the histogram was created if
+     * that was less than a minute ago
+     */
+    double recentRate() {
+        long requests = recentCount();
+        double seconds = Math.min(WINDOW_SECONDS, (System.nanoTime() - startNanos) / 1e9);
+        return seconds <= 0.0 ? 0.0 : requests / Math.max(seconds, 1e-3);
+    }
+
+    /**
+     * @return the number of requests recorded over the last minute
+     */
+    long recentCount() {
+        long second = (System.nanoTime() - startNanos) / 1_000_000_000L;
+        long requests = 0L;
+        for (int slot = 0; slot < WINDOW_SECONDS; slot++) {
+            long packed = perSecond.get(slot);
+            // the current second is still being counted, so the window is the previous full minute plus it
+            if (second - (packed >>> 32) < WINDOW_SECONDS) {
+                requests += packed & COUNT_MASK;
+            }
+        }
+        return requests;
+    }
+
+    /**
+     * @return a snapshot of the histogram, ready to be written as JSON
+     */
+    Map<String, Object> toJson() {
+        long n = count.sum();
+        double uptime = (System.nanoTime() - startNanos) / 1e9;
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("count", n);
+        json.put("requestsPerSecond", uptime <= 0.0 ? 0.0 : n / uptime);
+        json.put("recentRequestsPerSecond", recentRate());
+        json.put("meanMillis", n == 0 ? 0.0 : totalNanos.sum() / 1e6 / n);
+        json.put("p50Millis", percentileMillis(0.50));
+        json.put("p90Millis", percentileMillis(0.90));
+        json.put("p99Millis", percentileMillis(0.99));
+        List<Object> histogram = new ArrayList<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucketCount = buckets[i].sum();
+            if (bucketCount > 0) {
+                Map<String, Object> bucket = new LinkedHashMap<>();
+                // null, for infinity, marks the overflow bucket
+                bucket.put("leMillis", upperBoundMillis(i));
+                bucket.put("count", bucketCount);
+                histogram.add(bucket);
+            }
+        }
+        json.put("histogram", histogram);
+        return json;
+    }
+}
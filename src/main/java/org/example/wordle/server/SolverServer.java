@@ -0,0 +1,256 @@
+package org.example.wordle.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.wordle.CorrectnessPattern;
+import org.example.wordle.Guess;
+import org.example.wordle.Guesser;
+import org.example.wordle.algorithm.AnytimeGuess;
+import org.example.wordle.algorithm.GameState;
+import org.example.wordle.algorithm.HardMode;
+import org.example.wordle.algorithm.Prune;
+import org.example.wordle.algorithm.PruneMetrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * An HTTP/JSON wordle solver service built on the JDK's {@link HttpServer}.
+ *
+ * Endpoints:
+ * <pre>
+ *   POST /guess    {"history": [{"word": "tares", "pattern": "wwmcw"}, ...], "budgetMillis": 50}
+ *                  returns {"guess": "...", "remaining": 12, "nanos": 12345, ...}
+ *   GET  /metrics  request counts, rates and latency histograms, and the {@link PruneMetrics} of
+ *                  the Prune if it has them
+ *   GET  /health   returns {"status": "ok"}
+ * </pre>
+ * "budgetMillis" is optional. With a budget the guess is the best one {@link Prune} finds within
+ * it, see {@link Prune#guess(List, Duration)}, and the response also says how many candidates were
+ * scored. Budgeted guesses are made by the Prune itself and bypass the configured Guesser, so they
+ * do not follow a decision tree or look ahead. As they could break the hard mode rule, a budget is
+ * rejected when the Guesser is a {@link HardMode}.
+ *
+ * Requests are handled on virtual threads when the JVM supports them, otherwise on a cached thread
+ * pool. Every request shares the same Guesser, and so the same immutable dictionary and tables.
+ */
+public class SolverServer {
+
+    // the largest request body accepted, a full game's history is far smaller
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    // tracks the remaining words, and makes budgeted guesses
+    private final Prune prune;
+
+    // makes guesses without a budget, prune or a guesser built on it
+    private final Guesser guesser;
+
+    // latencies of successful guesses
+    private final LatencyHistogram guessLatency = new LatencyHistogram();
+
+    // latencies of requests that failed
+    private final LatencyHistogram errorLatency = new LatencyHistogram();
+
+    private final LongAdder clientErrors = new LongAdder();
+
+    private final LongAdder serverErrors = new LongAdder();
+
+    /**
+     * creates a server listening on `port`, call {@link #start()} to start handling requests
+     * @param port - the port to listen on, 0 picks a free port
+     * @param prune - used to replay histories, and for guesses with a budget
+     * @param guesser - used for guesses without a budget, usually `prune` itself
+     */
+    public SolverServer(int port, Prune prune, Guesser guesser) throws IOException {
+        this.prune = prune;
+        this.guesser = guesser;
+        this.executor = newExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/guess", this::handleGuess);
+        this.server.createContext("/metrics", exchange -> handleGet(exchange, this::metrics));
+        this.server.createContext("/health", exchange -> handleGet(exchange, () -> Map.of("status", "ok")));
+    }
+
+    /**
+     * @return an executor that starts a virtual thread per task, or a cached thread pool if this JVM
+     * has no virtual threads
+     */
+    static ExecutorService newExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * stops accepting requests, waits up to `delaySeconds` for running requests to finish and
+     * shuts the executor down
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleGuess(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                clientErrors.increment();
+                send(exchange, 405, error("use POST"));
+                errorLatency.record(System.nanoTime() - start);
+                return;
+            }
+            Map<String, Object> response;
+            try {
+                Map<String, Object> request = readObject(exchange);
+                response = guess(request, start);
+            } catch (IllegalArgumentException e) {
+                clientErrors.increment();
+                send(exchange, 400, error(e.getMessage()));
+                errorLatency.record(System.nanoTime() - start);
+                return;
+            } catch (RuntimeException e) {
+                serverErrors.increment();
+                send(exchange, 500, error("internal error: " + e));
+                errorLatency.record(System.nanoTime() - start);
+                return;
+            }
+            send(exchange, 200, response);
+            guessLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    // answers a guess request, `start` is when the request arrived
+    private Map<String, Object> guess(Map<String, Object> request, long start) {
+        // the history is replayed once, for both the remaining words and the guess
+        GameState state = prune.replay(parseHistory(request.get("history")));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        Object budget = request.get("budgetMillis");
+        if (budget != null) {
+            if (!(budget instanceof Double millis) || millis < 0) {
+                throw new IllegalArgumentException("budgetMillis must be a non negative number");
+            }
+            if (guesser instanceof HardMode) {
+                throw new IllegalArgumentException("budgetMillis is not supported in hard mode");
+            }
+            AnytimeGuess guess = prune.guess(state, Duration.ofNanos((long) (millis * 1e6)));
+            response.put("guess", guess.word());
+            response.put("evaluated", guess.evaluated());
+            response.put("candidates", guess.candidates());
+        } else {
+            response.put("guess", guesser.guess(state));
+        }
+        response.put("remaining", state.remainingCount());
+        response.put("nanos", System.nanoTime() - start);
+        return response;
+    }
+
+    // parses [{"word": "tares", "pattern": "wwmcw"}, ...] into guesses
+    private static List<Guess> parseHistory(Object json) {
+        if (json == null) {
+            return List.of();
+        }
+        if (!(json instanceof List<?> list)) {
+            throw new IllegalArgumentException("history must be an array");
+        }
+        List<Guess> history = new ArrayList<>(list.size());
+        for (Object item : list) {
+            if (!(item instanceof Map<?, ?> turn)
+                    || !(turn.get("word") instanceof String word)
+                    || !(turn.get("pattern") instanceof String pattern)) {
+                throw new IllegalArgumentException("each turn of the history must have a word and a pattern");
+            }
+            if (!word.matches("[a-zA-Z]{5}")) {
+                throw new IllegalArgumentException("guessed words must be 5 letters: " + word);
+            }
+            // throws an IllegalArgumentException for invalid patterns
+            CorrectnessPattern mask = CorrectnessPattern.parse(pattern.toLowerCase(Locale.ROOT));
+            history.add(new Guess(word.toLowerCase(Locale.ROOT), mask));
+        }
+        return history;
+    }
+
+    private Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("guess", guessLatency.toJson());
+        metrics.put("errors", errorLatency.toJson());
+        metrics.put("clientErrors", clientErrors.sum());
+        metrics.put("serverErrors", serverErrors.sum());
+        if (prune.turnListener() instanceof PruneMetrics pruneMetrics) {
+            metrics.put("prune", pruneMetrics.toMap());
+        }
+        return metrics;
+    }
+
+    private void handleGet(HttpExchange exchange, Supplier<Map<String, Object>> body) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                send(exchange, 405, error("use GET"));
+                return;
+            }
+            send(exchange, 200, body.get());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readObject(HttpExchange exchange) throws IOException {
+        byte[] body;
+        try (InputStream is = exchange.getRequestBody()) {
+            body = is.readNBytes(MAX_BODY_BYTES + 1);
+        }
+        if (body.length > MAX_BODY_BYTES) {
+            throw new IllegalArgumentException("request body is larger than " + MAX_BODY_BYTES + " bytes");
+        }
+        Object json = Json.parse(new String(body, StandardCharsets.UTF_8));
+        if (!(json instanceof Map)) {
+            throw new IllegalArgumentException("request body must be a JSON object");
+        }
+        return (Map<String, Object>) json;
+    }
+
+    private static Map<String, Object> error(String message) {
+        return Map.of("error", message == null ? "" : message);
+    }
+
+    private static void send(HttpExchange exchange, int status, Map<String, Object> body) throws IOException {
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
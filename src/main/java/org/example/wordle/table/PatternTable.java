@@ -0,0 +1,240 @@
+package org.example.wordle.table;
+
+import org.example.wordle.PatternCode;
+import org.example.wordle.dictionary.WordCodec;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * A precomputed guess x answer matrix of pattern codes.
+ *
+ * Every word of a word list is assigned an index (its position in the list) and the table holds
+ * the {@link PatternCode} of every word, as a guess, against every word, as an answer. The table
+ * can be saved to a binary file and later loaded through a memory mapping, so the patterns only
+ * need to be computed once.
+ *
+ * The file layout is a header followed by the matrix in row major order, one byte per entry:
+ * <pre>
+ *   int  MAGIC
+ *   int  VERSION
+ *   int  number of words
+ *   long CRC32 checksum of the word list
+ *   byte[words * words] pattern codes, indexed by guessIndex * words + answerIndex
+ * </pre>
+ */
+public final class PatternTable {
+
+    // "WPTB", wordle pattern table binary
+    static final int MAGIC = 0x57505442;
+
+    // bump this whenever the file layout or the pattern codes change
+    static final int VERSION = 1;
+
+    // size of the file header in bytes
+    static final int HEADER_SIZE = 4 + 4 + 4 + 8;
+
+    private final List<String> words;
+
+    // maps a word to its index in this.words
+    private final Map<String, Integer> index;
+
+    private final long checksum;
+
+    // the pattern codes, row major, one (unsigned) byte per entry
+    private final ByteBuffer codes;
+
+    private PatternTable(List<String> words, long checksum, ByteBuffer codes) {
+        this.words = List.copyOf(words);
+        this.index = new HashMap<>(words.size() * 2);
+        for (int i = 0; i < words.size(); i++) {
+            this.index.put(words.get(i), i);
+        }
+        this.checksum = checksum;
+        this.codes = codes;
+    }
+
+    /**
+     * computes the pattern code of every word in `words` against every other word in `words`.
+     * The rows of the table are computed in parallel.
+     * @param words - the words of the table, a word's position in this list is its index
+     * @return a new, in memory, PatternTable
+     * @throws IllegalArgumentException if the table would not fit in a single array, or a word
+     * is not five letters between 'a' and 'z'
+     */
+    public static PatternTable build(List<String> words) {
+        int n = words.size();
+        if ((long) n * n > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("too many words for a pattern table: " + n);
+        }
+        int[] packed = new int[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = WordCodec.pack(words.get(i));
+        }
+        byte[] codes = new byte[n * n];
+        // each thread computes a row of int codes at a time before narrowing them into the table
+        ThreadLocal<int[]> rows = ThreadLocal.withInitial(() -> new int[n]);
+        IntStream.range(0, n).parallel().forEach(guess -> {
+            int[] row = rows.get();
+            PatternCode.computeCodes(packed[guess], packed, n, row);
+            int offset = guess * n;
+            for (int answer = 0; answer < n; answer++) {
+                codes[offset + answer] = (byte) row[answer];
+            }
+        });
+        return new PatternTable(words, checksum(words), ByteBuffer.wrap(codes));
+    }
+
+    /**
+     * memory maps a table that was previously written with {@link #save(Path)}
+     * @param file - the path of the table file
+     * @param words - the words the table is expected to contain, in index order
+     * @return a PatternTable backed by the mapped file
+     * @throws IOException if the file can not be read, or if it is not a pattern table for `words`
+     */
+    public static PatternTable load(Path file, List<String> words) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long n = words.size();
+            if (channel.size() != HEADER_SIZE + n * n) {
+                throw new IOException("pattern table " + file + " has the wrong size for " + n + " words");
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is full
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException(file + " is not a pattern table");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("pattern table " + file + " is version " + version + ", expected " + VERSION);
+            }
+            if (header.getInt() != n || header.getLong() != checksum(words)) {
+                throw new IOException("pattern table " + file + " was built from a different dictionary");
+            }
+            ByteBuffer codes = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, n * n);
+            return new PatternTable(words, checksum(words), codes);
+        }
+    }
+
+    /**
+     * loads the table stored in `file`, or if the file does not exist or was built from a
+     * different word list, builds a new table and saves it to `file`
+     * @param file - the path of the table file
+     * @param words - the words of the table, a word's position in this list is its index
+     * @return a PatternTable for `words`
+     * @throws IOException if a new table could not be saved
+     */
+    public static PatternTable loadOrBuild(Path file, List<String> words) throws IOException {
+        if (Files.exists(file)) {
+            try {
+                return load(file, words);
+            } catch (IOException e) {
+                System.err.println("rebuilding pattern table: " + e.getMessage());
+            }
+        }
+        PatternTable table = build(words);
+        table.save(file);
+        return table;
+    }
+
+    /**
+     * writes this table to `file`. The table is written to a temporary file first and then
+     * moved into place, so a partially written table is never loaded.
+     * @param file - the path to write the table to
+     */
+    public void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (OutputStream os = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16))
+        ) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(words.size());
+            out.writeLong(checksum);
+            byte[] row = new byte[words.size()];
+            for (int guess = 0; guess < words.size(); guess++) {
+                codes.get(guess * words.size(), row);
+                out.write(row);
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * computes the checksum used to tie a table file to the word list it was built from
+     * @param words - a list of words
+     * @return the CRC32 of the words, in order
+     */
+    public static long checksum(List<String> words) {
+        CRC32 crc = new CRC32();
+        for (String word : words) {
+            crc.update(word.getBytes(StandardCharsets.UTF_8));
+            crc.update('\n');
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * @return the number of words in this table
+     */
+    public int size() {
+        return words.size();
+    }
+
+    /**
+     * @return the words of this table, in index order
+     */
+    public List<String> words() {
+        return words;
+    }
+
+    /**
+     * @return the index of `word` in this table, or -1 if the table does not contain `word`
+     */
+    public int indexOf(String word) {
+        Integer i = index.get(word);
+        return i == null ? -1 : i;
+    }
+
+    /**
+     * @param guessIndex - the index of the guessed word
+     * @param answerIndex - the index of the answer
+     * @return the pattern code of guessing the word at `guessIndex` when the answer is the word
+     * at `answerIndex`
+     */
+    public int get(int guessIndex, int answerIndex) {
+        return codes.get(guessIndex * words.size() + answerIndex) & 0xFF;
+    }
+
+    /**
+     * looks up the pattern code of `guess` compared against `answer`, computing it when either
+     * word is not in this table
+     * @see PatternCode#computeCode(String, String)
+     */
+    public int code(String answer, String guess) {
+        int g = indexOf(guess);
+        int a = indexOf(answer);
+        if (g < 0 || a < 0) {
+            return PatternCode.computeCode(answer, guess);
+        }
+        return get(g, a);
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.wordle;
+
+import org.example.wordle.algorithm.EntropyScorer;
+import org.example.wordle.algorithm.Prune;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.TestDictionaries;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSolverTest {
+
+    private static final Dictionary DICTIONARY = TestDictionaries.SHAKES;
+
+    private static final Prune PRUNE = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL);
+
+    @Test
+    void lines_are_answered_with_the_next_guess() {
+        assertEquals("g1 tares", BatchSolver.answer(PRUNE, "g1"));
+        CorrectnessPattern pattern = CorrectnessPattern.compute("shale", "tares");
+        String guess = PRUNE.guess(List.of(new Guess("tares", pattern)));
+        assertNotNull(guess);
+        assertEquals("g2 " + guess, BatchSolver.answer(PRUNE, "  g2 TARES " + pattern + " "));
+        assertEquals("g3 NONE", BatchSolver.answer(PRUNE, "g3 tares ccccc"));
+    }
+
+    @Test
+    void malformed_lines_are_answered_with_an_error() {
+        assertTrue(BatchSolver.answer(PRUNE, "g1 tares").startsWith("g1 ERROR "));
+        assertTrue(BatchSolver.answer(PRUNE, "g2 tare wwwww").startsWith("g2 ERROR "));
+        assertTrue(BatchSolver.answer(PRUNE, "g3 tares wwxww").startsWith("g3 ERROR "));
+    }
+
+    @Test
+    void answers_are_written_in_input_order() throws Exception {
+        // a guesser that takes a random time, so lines finish out of order
+        Guesser slow = history -> {
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return PRUNE.guess(history);
+        };
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            String line = i % 3 == 0 ? "game" + i : "game" + i + " tares " + CorrectnessPattern.compute("shale", "tares");
+            input.append(line).append(i % 50 == 0 ? "\n\n" : "\n");
+            expected.append(BatchSolver.answer(PRUNE, line)).append('\n');
+        }
+        StringWriter out = new StringWriter();
+        long answered = new BatchSolver(slow, 4, 8).run(new BufferedReader(new StringReader(input.toString())), out);
+        assertEquals(200, answered);
+        assertEquals(expected.toString(), out.toString());
+    }
+
+    @Test
+    void invalid_settings_are_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchSolver(PRUNE, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BatchSolver(PRUNE, 1, 0));
+    }
+}
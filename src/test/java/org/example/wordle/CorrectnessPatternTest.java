@@ -1,10 +1,13 @@
 package org.example.wordle;
 
+import org.example.wordle.dictionary.WordCodec;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class CorrectnessPatternTest {
 
@@ -35,11 +38,21 @@ class CorrectnessPatternTest {
     }
 
     @Test
-    void parse_pattern_gt_5_chars_throws_invalid_argument_exception() {
-        String pattern = "cccmwm";
+    void parse_pattern_gt_8_chars_throws_invalid_argument_exception() {
+        String pattern = "cccmwmwmw";
         assertThrows(IllegalArgumentException.class, () -> CorrectnessPattern.parse(pattern));
     }
 
+    @Test
+    void parse_pattern_of_6_chars() {
+        CorrectnessPattern pattern = CorrectnessPattern.parse("cccmwm");
+        assertEquals(6, pattern.length());
+        assertEquals(Correctness.MISPLACED, pattern.get(5));
+        assertEquals("CCCMWM", pattern.toString());
+        assertEquals(pattern, CorrectnessPattern.fromCode(pattern.code(), 6));
+        assertNotEquals(CorrectnessPattern.parse("cccmw"), CorrectnessPattern.parse("cccmwc"));
+    }
+
     @Test
     void parse_empty_pattern_throws_invalid_argument_exception() {
         String pattern = "";
@@ -112,4 +125,69 @@ class CorrectnessPatternTest {
         // 3 ^ 5 == 243 total patterns
         assertEquals(patterns.size(), 243);
     }
-}
\ No newline at end of file
+
+    @Test
+    void compute_codes_matches_compute_for_repeated_letters() {
+        // every word of the letters a, b and c covers every way letters can repeat and overlap
+        int[] words = wordsOf("abc");
+        int[] codes = new int[words.length];
+        for (int guess : words) {
+            PatternCode.computeCodes(guess, words, words.length, codes);
+            for (int a = 0; a < words.length; a++) {
+                CorrectnessPattern expected = CorrectnessPattern.compute(WordCodec.unpack(words[a]), WordCodec.unpack(guess));
+                assertEquals(expected, new CorrectnessPattern(PatternCode.decode(codes[a])));
+            }
+        }
+    }
+
+    @Test
+    void vectorized_compute_codes_matches_scalar() {
+        assumeTrue(PatternCode.VECTORIZED, "jdk.incubator.vector is not available");
+        int[] words = wordsOf("abcd");
+        int[] vectorized = new int[words.length];
+        int[] scalar = new int[words.length];
+        for (int guess : words) {
+            VectorPatternCode.computeCodes(guess, words, words.length, vectorized);
+            PatternCode.computeCodesScalar(guess, words, words.length, scalar);
+            assertArrayEquals(scalar, vectorized);
+        }
+    }
+
+    @Test
+    void compute_codes_only_writes_count_codes() {
+        int[] words = wordsOf("ab");
+        int[] codes = new int[words.length];
+        Arrays.fill(codes, -1);
+        PatternCode.computeCodes(words[0], words, 17, codes);
+        for (int a = 0; a < words.length; a++) {
+            assertEquals(a < 17 ? PatternCode.computeCode(words[a], words[0]) : -1, codes[a]);
+        }
+    }
+
+    // every five letter word made of the given letters, packed
+    private static int[] wordsOf(String letters) {
+        int n = letters.length();
+        int[] words = new int[n * n * n * n * n];
+        for (int w = 0; w < words.length; w++) {
+            char[] word = new char[PatternCode.WORD_LENGTH];
+            for (int i = 0, rest = w; i < word.length; i++, rest /= n) {
+                word[i] = letters.charAt(rest % n);
+            }
+            words[w] = WordCodec.pack(new String(word));
+        }
+        return words;
+    }
+
+    @Test
+    void compute_words_of_other_lengths() {
+        assertEquals(CorrectnessPattern.parse("cmmmwc"), CorrectnessPattern.compute("stares", "sartzs"));
+        assertEquals(CorrectnessPattern.parse("cccc"), CorrectnessPattern.compute("tare", "tare"));
+        assertThrows(IllegalArgumentException.class, () -> CorrectnessPattern.compute("stares", "tares"));
+    }
+
+    @Test
+    void patterns_of_4_letters_should_generate_81_patterns() {
+        assertEquals(81, CorrectnessPattern.patterns(4).size());
+        assertEquals(CorrectnessPattern.parse("wwww"), CorrectnessPattern.patterns(4).get(80));
+    }
+}
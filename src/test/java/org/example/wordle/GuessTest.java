@@ -1,7 +1,10 @@
 package org.example.wordle;
 
+import org.example.wordle.table.PatternTable;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GuessTest {
@@ -55,4 +58,18 @@ class GuessTest {
         Guess g = new Guess("tares", CorrectnessPattern.parse("wmmww"));
         assertFalse(g.matches("brink"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void matches_with_pattern_table_agrees_with_computed_match() {
+        PatternTable table = PatternTable.build(List.of("tares", "brink", "least", "aaccc", "caacc"));
+        Guess g = new Guess("tares", CorrectnessPattern.parse("wmmww"));
+        for (String word : table.words()) {
+            assertEquals(g.matches(word), g.matches(word, table));
+        }
+    }
+
+    @Test
+    void guess_rejects_a_pattern_of_another_length() {
+        assertThrows(IllegalArgumentException.class, () -> new Guess("tares", CorrectnessPattern.parse("wmmwww")));
+    }
+}
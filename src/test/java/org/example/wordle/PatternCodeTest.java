@@ -0,0 +1,121 @@
+package org.example.wordle;
+
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.DictionaryLoader;
+import org.example.wordle.dictionary.WordCodec;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternCodeTest {
+
+    @Test
+    void all_correct_code_is_zero() {
+        assertEquals(PatternCode.ALL_CORRECT, PatternCode.computeCode("abcde", "abcde"));
+        assertEquals(0, CorrectnessPattern.parse("ccccc").code());
+    }
+
+    @Test
+    void all_wrong_code_is_242() {
+        assertEquals(242, PatternCode.computeCode("abcde", "qwxyz"));
+        assertEquals(242, CorrectnessPattern.parse("wwwww").code());
+    }
+
+    @Test
+    void compute_code_matches_parsed_pattern() {
+        assertEquals(CorrectnessPattern.parse("wcmww").code(), PatternCode.computeCode("aabbb", "caacc"));
+        assertEquals(CorrectnessPattern.parse("cmwww").code(), PatternCode.computeCode("azzaz", "aaabb"));
+        assertEquals(CorrectnessPattern.parse("wcwww").code(), PatternCode.computeCode("baccc", "aaddd"));
+        assertEquals(CorrectnessPattern.parse("mwwwc").code(), PatternCode.computeCode("depot", "event"));
+    }
+
+    @Test
+    void encode_decode_round_trips_every_code() {
+        for (int code = 0; code < PatternCode.COUNT; code++) {
+            assertEquals(code, PatternCode.encode(PatternCode.decode(code)));
+        }
+    }
+
+    @Test
+    void codes_are_ordered_like_patterns() {
+        List<CorrectnessPattern> patterns = CorrectnessPattern.patterns();
+        for (int code = 0; code < PatternCode.COUNT; code++) {
+            assertEquals(code, patterns.get(code).code());
+        }
+    }
+
+    @Test
+    void decode_invalid_code_throws_invalid_argument_exception() {
+        assertThrows(IllegalArgumentException.class, () -> PatternCode.decode(243));
+        assertThrows(IllegalArgumentException.class, () -> PatternCode.decode(-1));
+    }
+
+    @Test
+    void packed_compute_code_matches_string_compute_code() throws IOException {
+        Dictionary dictionary = DictionaryLoader.loadResource("dictionary.txt");
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            int answer = random.nextInt(dictionary.size());
+            int guess = random.nextInt(dictionary.size());
+            assertEquals(
+                    PatternCode.computeCode(dictionary.word(answer), dictionary.word(guess)),
+                    PatternCode.computeCode(dictionary.packed(answer), dictionary.packed(guess)));
+        }
+    }
+
+    @Test
+    void packed_compute_code_handles_repeated_letters() {
+        String[][] pairs = {{"aabbb", "caacc"}, {"azzaz", "aaabb"}, {"baccc", "aaddd"}, {"abcde", "aacde"}, {"abcde", "eabcd"}};
+        for (String[] pair : pairs) {
+            assertEquals(
+                    PatternCode.computeCode(pair[0], pair[1]),
+                    PatternCode.computeCode(WordCodec.pack(pair[0]), WordCodec.pack(pair[1])));
+        }
+    }
+
+    @Test
+    void long_compute_code_matches_string_compute_code_for_4_to_8_letters() {
+        Random random = new Random(7);
+        for (int length = WordCodec.MIN_WORD_LENGTH; length <= WordCodec.MAX_WORD_LENGTH; length++) {
+            for (int i = 0; i < 10_000; i++) {
+                // few letters, so most words repeat some
+                String answer = randomWord(random, length, "abcd");
+                String guess = randomWord(random, length, "abcd");
+                int code = PatternCode.computeCode(answer, guess);
+                assertEquals(code, PatternCode.computeCode(WordCodec.packLong(answer), WordCodec.packLong(guess), length));
+                assertEquals(CorrectnessPattern.compute(answer, guess), new CorrectnessPattern(PatternCode.decode(code, length)));
+            }
+        }
+    }
+
+    @Test
+    void long_compute_code_of_five_letters_matches_packed_compute_code() {
+        assertEquals(
+                PatternCode.computeCode(WordCodec.pack("aabbb"), WordCodec.pack("caacc")),
+                PatternCode.computeCode(WordCodec.packLong("aabbb"), WordCodec.packLong("caacc"), 5));
+    }
+
+    @Test
+    void codes_of_other_lengths_range_over_3_to_the_length() {
+        assertEquals(81, PatternCode.count(4));
+        assertEquals(6561, PatternCode.count(8));
+        assertEquals(6560, PatternCode.computeCode("abcdefgh", "stuvwxyz"));
+        assertEquals(PatternCode.ALL_CORRECT, PatternCode.computeCode("abcdefgh", "abcdefgh"));
+        assertEquals(Correctness.MISPLACED, PatternCode.get(PatternCode.computeCode("abcdefgh", "hzzzzzzz"), 0, 8));
+        assertThrows(IllegalArgumentException.class, () -> PatternCode.count(3));
+        assertThrows(IllegalArgumentException.class, () -> PatternCode.count(9));
+        assertThrows(IllegalArgumentException.class, () -> PatternCode.decode(81, 4));
+    }
+
+    private static String randomWord(Random random, int length, String letters) {
+        char[] word = new char[length];
+        for (int i = 0; i < length; i++) {
+            word[i] = letters.charAt(random.nextInt(letters.length()));
+        }
+        return new String(word);
+    }
+}
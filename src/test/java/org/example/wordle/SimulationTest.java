@@ -0,0 +1,45 @@
+package org.example.wordle;
+
+import org.example.wordle.algorithm.EntropyScorer;
+import org.example.wordle.algorithm.Prune;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.TestDictionaries;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationTest {
+
+    private static final Dictionary DICTIONARY = TestDictionaries.SHAKES;
+
+    private static Simulation simulation() {
+        return new Simulation(new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL), 2);
+    }
+
+    @Test
+    void play_solves_an_answer_in_the_dictionary() {
+        Simulation.GameResult result = simulation().play("shale");
+        assertTrue(result.solved());
+        assertFalse(result.failed());
+        assertEquals(result.turns(), result.turnNanos().length);
+    }
+
+    @Test
+    void run_reports_every_game() throws InterruptedException {
+        List<String> answers = List.of("depot", "event", "shake", "shale", "shave");
+        Simulation.Report report = simulation().run(answers);
+        assertEquals(answers.size(), report.games());
+        assertEquals(0, report.failures());
+        assertEquals(answers.size(), report.turnDistribution().values().stream().mapToInt(Integer::intValue).sum());
+        assertTrue(report.p50TurnNanos() <= report.p99TurnNanos());
+    }
+
+    @Test
+    void load_answers_reads_answers_txt() {
+        List<String> answers = Simulation.loadAnswers();
+        assertEquals(2309, answers.size());
+        assertEquals("cigar", answers.get(0));
+    }
+}
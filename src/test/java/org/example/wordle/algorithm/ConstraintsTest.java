@@ -0,0 +1,104 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.CorrectnessPattern;
+import org.example.wordle.Guess;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.DictionaryLoader;
+import org.example.wordle.dictionary.WordSet;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConstraintsTest {
+
+    @Test
+    void of_allows_exactly_the_words_matching_the_history() throws IOException {
+        Dictionary dictionary = DictionaryLoader.loadResource("dictionary.txt");
+        Random random = new Random(7);
+        for (int game = 0; game < 20; game++) {
+            String answer = dictionary.word(random.nextInt(dictionary.size()));
+            List<Guess> history = new ArrayList<>();
+            for (int turn = 0; turn < 3; turn++) {
+                String word = dictionary.word(random.nextInt(dictionary.size()));
+                history.add(new Guess(word, CorrectnessPattern.compute(answer, word)));
+            }
+            Constraints constraints = Constraints.of(history);
+            for (int i = 0; i < dictionary.size(); i++) {
+                String word = dictionary.word(i);
+                boolean matches = history.stream().allMatch(guess -> guess.matches(word));
+                assertEquals(matches, constraints.allows(dictionary.packed(i), dictionary.letterMask(i)), word);
+            }
+            assertTrue(constraints.allows(answer));
+        }
+    }
+
+    @Test
+    void retain_allowed_with_a_letter_index_keeps_the_allowed_words() throws IOException {
+        Dictionary dictionary = DictionaryLoader.loadResource("dictionary.txt");
+        LetterIndex index = new LetterIndex(dictionary);
+        Random random = new Random(7);
+        for (int game = 0; game < 50; game++) {
+            String answer = dictionary.word(random.nextInt(dictionary.size()));
+            String word = dictionary.word(random.nextInt(dictionary.size()));
+            List<Guess> history = List.of(new Guess(word, CorrectnessPattern.compute(answer, word)));
+            for (Constraints constraints : List.of(Constraints.of(history), Constraints.hints(history))) {
+                WordSet expected = WordSet.empty(dictionary.size());
+                for (int i = 0; i < dictionary.size(); i++) {
+                    if (constraints.allows(dictionary.packed(i), dictionary.letterMask(i))) {
+                        expected.add(i);
+                    }
+                }
+                WordSet words = dictionary.all();
+                constraints.retainAllowed(words, index);
+                assertEquals(expected, words, word + " " + answer);
+            }
+        }
+        // a pattern no word gives leaves nothing
+        WordSet words = dictionary.all();
+        Constraints.of(List.of(new Guess("geese", CorrectnessPattern.parse("wwmww")))).retainAllowed(words, index);
+        assertTrue(words.isEmpty());
+    }
+
+    @Test
+    void of_bounds_the_count_of_repeated_letters() {
+        // one e is correct and the other is wrong, so the answer has exactly one e, at the end
+        Constraints constraints = Constraints.of(List.of(new Guess("geese", CorrectnessPattern.parse("wwwwc"))));
+        assertTrue(constraints.allows("fluke"));
+        assertFalse(constraints.allows("shele"));
+        assertFalse(constraints.allows("depot"));
+        // two misplaced copies and a wrong one, so the answer has exactly two e
+        Constraints twice = Constraints.of(List.of(new Guess("eerie", CorrectnessPattern.parse("mmwww"))));
+        assertTrue(twice.allows("sheep"));
+        assertFalse(twice.allows("shake"));
+        assertFalse(twice.allows("geese"));
+    }
+
+    @Test
+    void of_a_pattern_no_word_gives_allows_nothing() {
+        // the first copy of a letter is marked misplaced before a later one
+        Constraints constraints = Constraints.of(List.of(new Guess("geese", CorrectnessPattern.parse("wwmww"))));
+        assertFalse(constraints.allows("sedan"));
+        assertFalse(constraints.allows("eager"));
+    }
+
+    @Test
+    void hints_keep_correct_letters_and_use_revealed_letters() {
+        Constraints hints = Constraints.hints(List.of(new Guess("tares", CorrectnessPattern.parse("wmwwc"))));
+        assertTrue(hints.allows("chaos"));
+        // a wrong letter may be guessed again, and a misplaced letter at the same position
+        assertTrue(hints.allows("tanks"));
+        assertFalse(hints.allows("shako"));
+        assertFalse(hints.allows("pilus"));
+    }
+
+    @Test
+    void hints_of_no_history_allow_every_word() {
+        assertTrue(Constraints.hints(List.of()).allows("zzzzz"));
+        assertTrue(Constraints.of(List.of()).allows("zzzzz"));
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.PatternCode;
+import org.example.wordle.dictionary.AnswerPool;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.TestDictionaries;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecisionTreeTest {
+
+    private static final Dictionary DICTIONARY = TestDictionaries.with(TestDictionaries.RHYMES, List.of("shale", "shake", "tares"));
+
+    private static final List<String> ANSWERS = List.of("bills", "fills", "hills", "kills", "mills", "pills", "shale", "shake");
+
+    private static final Prune PRUNE = new Prune(AnswerPool.uniform(DICTIONARY, ANSWERS), null, EntropyScorer.SEQUENTIAL, null, null);
+
+    @Test
+    void exhaustive_search_finds_the_fewest_turns() {
+        DecisionTree tree = DecisionTree.build(PRUNE, DecisionTree.Objective.AVERAGE, DICTIONARY.size(), null);
+        assertEquals(ANSWERS.size(), tree.answers());
+        assertEquals(OptimalTurns.of(DICTIONARY, ANSWERS), tree.averageTurns(), 1e-9);
+        for (String answer : ANSWERS) {
+            assertTrue(play(tree, answer) <= tree.worstTurns());
+        }
+    }
+
+    @Test
+    void parallel_search_builds_the_same_tree() throws IOException {
+        DecisionTree sequential = DecisionTree.build(PRUNE, DecisionTree.Objective.AVERAGE, 3, null);
+        DecisionTree parallel = DecisionTree.build(PRUNE, DecisionTree.Objective.AVERAGE, 3, ForkJoinPool.commonPool());
+        assertArrayEquals(bytes(sequential), bytes(parallel));
+    }
+
+    @Test
+    void worst_case_objective_takes_the_fewest_turns_at_most() {
+        DecisionTree average = DecisionTree.build(PRUNE, DecisionTree.Objective.AVERAGE, DICTIONARY.size(), null);
+        DecisionTree worst = DecisionTree.build(PRUNE, DecisionTree.Objective.WORST, DICTIONARY.size(), null);
+        assertTrue(worst.worstTurns() <= average.worstTurns());
+        assertTrue(worst.averageTurns() >= average.averageTurns());
+    }
+
+    @Test
+    void trees_round_trip_through_the_binary_format() throws IOException {
+        DecisionTree tree = DecisionTree.build(PRUNE, DecisionTree.Objective.AVERAGE, 4, null);
+        byte[] bytes = bytes(tree);
+        DecisionTree read = DecisionTree.read(new ByteArrayInputStream(bytes), DICTIONARY);
+        assertEquals(tree.nodes(), read.nodes());
+        assertEquals(tree.averageTurns(), read.averageTurns());
+        assertEquals(tree.worstTurns(), read.worstTurns());
+        assertTrue(read.matches(PRUNE.checksum()));
+        for (String answer : ANSWERS) {
+            assertEquals(play(tree, answer), play(read, answer));
+        }
+        // a node is 3 bytes and a child 1 byte, after a 40 byte header
+        assertEquals(40 + 3 * tree.nodes() + (tree.nodes() - 1), bytes.length);
+    }
+
+    @Test
+    void malformed_trees_are_rejected() throws IOException {
+        byte[] bytes = bytes(DecisionTree.build(PRUNE, DecisionTree.Objective.AVERAGE, 4, null));
+        Dictionary other = Dictionary.of(Map.of("tares", 1L));
+        assertThrows(IOException.class, () -> DecisionTree.read(new ByteArrayInputStream(bytes), other));
+        byte[] corrupt = bytes.clone();
+        corrupt[0] = 0;
+        assertThrows(IOException.class, () -> DecisionTree.read(new ByteArrayInputStream(corrupt), DICTIONARY));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+        assertThrows(IOException.class, () -> DecisionTree.read(new ByteArrayInputStream(truncated), DICTIONARY));
+    }
+
+    @Test
+    void invalid_settings_are_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> DecisionTree.build(PRUNE, DecisionTree.Objective.AVERAGE, 0));
+    }
+
+    private static byte[] bytes(DecisionTree tree) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        tree.write(out);
+        return out.toByteArray();
+    }
+
+    // the number of turns `tree` takes to solve `answer`
+    private static int play(DecisionTree tree, String answer) {
+        int node = DecisionTree.ROOT;
+        for (int turn = 1; turn <= 10; turn++) {
+            int code = PatternCode.computeCode(answer, tree.guess(node));
+            if (code == PatternCode.ALL_CORRECT) {
+                return turn;
+            }
+            node = tree.child(node, code);
+            assertTrue(node >= 0);
+        }
+        return fail("not solved: " + answer);
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.dictionary.AnswerPool;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.TestDictionaries;
+import org.example.wordle.dictionary.WordSet;
+import org.example.wordle.table.PatternTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntropyScorerTest {
+
+    @Test
+    void best_of_single_word_is_that_word() {
+        Candidate best = EntropyScorer.SEQUENTIAL.best(new String[] {"depot"}, new long[] {10L});
+        assertEquals("depot", best.word());
+    }
+
+    @Test
+    void best_of_no_words_is_null() {
+        assertNull(EntropyScorer.SEQUENTIAL.best(new String[0], new long[0]));
+    }
+
+    @Test
+    void best_prefers_the_more_common_word_when_information_is_equal() {
+        Candidate best = EntropyScorer.SEQUENTIAL.best(new String[] {"shale", "shake"}, new long[] {1L, 3L});
+        assertEquals("shake", best.word());
+    }
+
+    @Test
+    void ties_are_broken_by_the_earliest_word() {
+        Candidate best = EntropyScorer.SEQUENTIAL.best(new String[] {"shale", "shake"}, new long[] {2L, 2L});
+        assertEquals("shale", best.word());
+    }
+
+    @Test
+    void parallel_and_sequential_scoring_pick_the_same_candidate() throws IOException {
+        List<String> lines;
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(
+                getClass().getClassLoader().getResourceAsStream("dictionary.txt"), StandardCharsets.UTF_8))) {
+            lines = br.lines().limit(1500).collect(Collectors.toList());
+        }
+        String[] words = new String[lines.size()];
+        long[] counts = new long[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            String[] split = lines.get(i).split(" ");
+            words[i] = split[0];
+            // give every word the same count so that ties are common
+            counts[i] = 1L;
+        }
+        Candidate sequential = EntropyScorer.SEQUENTIAL.best(words, counts);
+        Candidate parallel = new EntropyScorer(new ForkJoinPool(4)).best(words, counts);
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void with_parallelism_of_one_is_sequential() {
+        assertSame(EntropyScorer.SEQUENTIAL, EntropyScorer.withParallelism(1));
+        assertThrows(IllegalArgumentException.class, () -> EntropyScorer.withParallelism(0));
+    }
+
+    private static final Dictionary RHYMES = TestDictionaries.RHYMES;
+
+    private static final AnswerPool RHYME_ANSWERS = AnswerPool.uniform(RHYMES, TestDictionaries.RHYME_ANSWERS);
+
+    @Test
+    void answer_pool_can_pick_a_word_that_is_not_an_answer() {
+        Candidate best = EntropyScorer.SEQUENTIAL.best(RHYME_ANSWERS, RHYME_ANSWERS.answers(), null);
+        assertEquals("fbhkm", best.word());
+    }
+
+    @Test
+    void answer_pool_picks_an_answer_when_it_splits_as_well() {
+        WordSet remaining = WordSet.empty(RHYMES.size());
+        remaining.add(RHYMES.indexOf("hills"));
+        remaining.add(RHYMES.indexOf("kills"));
+        Candidate best = EntropyScorer.SEQUENTIAL.best(RHYME_ANSWERS, remaining, null);
+        assertEquals("hills", best.word());
+        assertNull(EntropyScorer.SEQUENTIAL.best(RHYME_ANSWERS, WordSet.empty(RHYMES.size()), null));
+    }
+
+    @Test
+    void answer_pool_only_picks_from_the_candidates() {
+        WordSet candidates = RHYME_ANSWERS.answers();
+        Candidate best = EntropyScorer.SEQUENTIAL.best(RHYME_ANSWERS, RHYME_ANSWERS.answers(), candidates, null);
+        assertNotEquals("fbhkm", best.word());
+        assertEquals(best, EntropyScorer.SEQUENTIAL.best(RHYME_ANSWERS, RHYME_ANSWERS.answers(), candidates, PatternTable.build(RHYMES.words())));
+        assertEquals(EntropyScorer.SEQUENTIAL.best(RHYME_ANSWERS, RHYME_ANSWERS.answers(), null),
+                EntropyScorer.SEQUENTIAL.best(RHYME_ANSWERS, RHYME_ANSWERS.answers(), RHYMES.all(), null));
+        assertNull(EntropyScorer.SEQUENTIAL.best(RHYME_ANSWERS, RHYME_ANSWERS.answers(), WordSet.empty(RHYMES.size()), null));
+    }
+
+    @Test
+    void answer_pool_scoring_is_the_same_with_a_table_and_in_parallel() {
+        Candidate computed = EntropyScorer.SEQUENTIAL.best(RHYME_ANSWERS, RHYME_ANSWERS.answers(), null);
+        Candidate table = EntropyScorer.SEQUENTIAL.best(RHYME_ANSWERS, RHYME_ANSWERS.answers(), PatternTable.build(RHYMES.words()));
+        Candidate parallel = new EntropyScorer(new ForkJoinPool(4)).best(RHYME_ANSWERS, RHYME_ANSWERS.answers(), null);
+        assertEquals(computed, table);
+        assertEquals(computed, parallel);
+    }
+
+    @Test
+    void top_candidates_start_with_the_best_and_are_sorted() {
+        List<Candidate> top = EntropyScorer.SEQUENTIAL.top(RHYME_ANSWERS, RHYME_ANSWERS.answers(), null, 3);
+        assertEquals(3, top.size());
+        assertEquals(EntropyScorer.SEQUENTIAL.best(RHYME_ANSWERS, RHYME_ANSWERS.answers(), null), top.get(0));
+        for (int i = 1; i < top.size(); i++) {
+            assertTrue(top.get(i - 1).goodness() >= top.get(i).goodness());
+        }
+        assertEquals(top, new EntropyScorer(new ForkJoinPool(4)).top(RHYME_ANSWERS, RHYME_ANSWERS.answers(), null, 3));
+        assertEquals(RHYMES.size(), EntropyScorer.SEQUENTIAL.top(RHYMES, RHYMES.all(), null, 100).size());
+    }
+
+    @Test
+    void no_top_candidates_are_asked_for() {
+        assertEquals(List.of(), EntropyScorer.SEQUENTIAL.top(RHYMES, RHYMES.all(), null, 0));
+        assertEquals(List.of(), EntropyScorer.SEQUENTIAL.top(RHYME_ANSWERS, RHYME_ANSWERS.answers(), null, 0));
+        assertEquals(List.of(), EntropyScorer.SEQUENTIAL.top(RHYMES, RHYMES.all(), null, -1));
+    }
+
+    @Test
+    void scoring_before_the_deadline_gives_the_best_candidate() {
+        long later = System.nanoTime() + 60_000_000_000L;
+        AnytimeGuess sequential = EntropyScorer.SEQUENTIAL.best(RHYME_ANSWERS, RHYME_ANSWERS.answers(), null, later);
+        assertTrue(sequential.complete());
+        assertEquals(RHYMES.size(), sequential.evaluated());
+        assertEquals(EntropyScorer.SEQUENTIAL.best(RHYME_ANSWERS, RHYME_ANSWERS.answers(), null), sequential.best());
+        AnytimeGuess parallel = new EntropyScorer(new ForkJoinPool(4)).best(RHYMES, RHYMES.all(), null, later);
+        assertEquals(EntropyScorer.SEQUENTIAL.best(RHYMES, RHYMES.all(), null), parallel.best());
+        assertEquals(1.0, parallel.coverage());
+    }
+
+    @Test
+    void scoring_after_the_deadline_falls_back_to_the_heuristic() {
+        AnytimeGuess guess = EntropyScorer.SEQUENTIAL.best(RHYME_ANSWERS, RHYME_ANSWERS.answers(), null, System.nanoTime() - 1);
+        assertFalse(guess.complete());
+        assertEquals(0, guess.evaluated());
+        assertEquals(RHYMES.size(), guess.candidates());
+        // the probe word has the most letters that split the answers
+        assertEquals("fbhkm", guess.word());
+        assertTrue(guess.best().goodness().isNaN());
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.CorrectnessPattern;
+import org.example.wordle.Guess;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.TestDictionaries;
+import org.example.wordle.dictionary.WordSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GuessCacheTest {
+
+    private static final Dictionary DICTIONARY = TestDictionaries.SHAKES;
+
+    @Test
+    void equal_sets_have_equal_keys() {
+        WordSet a = WordSet.empty(DICTIONARY.size());
+        a.add(1);
+        a.add(4);
+        WordSet b = a.copy();
+        assertEquals(GuessCache.key(1L, a), GuessCache.key(1L, b));
+        assertEquals(GuessCache.key(1L, a).hashCode(), GuessCache.key(1L, b).hashCode());
+        b.remove(4);
+        assertNotEquals(GuessCache.key(1L, a), GuessCache.key(1L, b));
+        // the same words of a different dictionary
+        assertNotEquals(GuessCache.key(1L, a), GuessCache.key(2L, a));
+    }
+
+    @Test
+    void keys_of_sparse_and_dense_sets_are_stable() {
+        WordSet all = WordSet.all(1000);
+        WordSet one = WordSet.empty(1000);
+        one.add(999);
+        assertEquals(GuessCache.key(1L, all), GuessCache.key(1L, all.copy()));
+        assertEquals(GuessCache.key(1L, one), GuessCache.key(1L, one.copy()));
+        assertNotEquals(GuessCache.key(1L, all), GuessCache.key(1L, one));
+    }
+
+    @Test
+    void counts_hits_and_misses() {
+        GuessCache cache = new GuessCache(16);
+        GuessCache.Key key = GuessCache.key(1L, DICTIONARY.all());
+        assertNull(cache.get(key));
+        cache.put(key, "shale");
+        assertEquals("shale", cache.get(key));
+        GuessCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.5, stats.hitRate());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    void evicts_least_recently_used_guesses() {
+        GuessCache cache = new GuessCache(1);
+        for (int i = 0; i < 100; i++) {
+            WordSet set = WordSet.empty(DICTIONARY.size() * 100);
+            set.add(i);
+            cache.put(GuessCache.key(1L, set), "word" + i);
+        }
+        // each of the 16 segments holds a single guess
+        assertTrue(cache.size() <= 16);
+        assertEquals(100 - cache.size(), cache.stats().evictions());
+    }
+
+    @Test
+    void cached_guesses_are_shared_between_prunes() {
+        GuessCache cache = new GuessCache(64);
+        Prune first = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL, null, cache);
+        Prune second = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL, null, cache);
+        Prune uncached = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL);
+        for (String answer : DICTIONARY.words()) {
+            List<Guess> history = List.of(new Guess("tares", CorrectnessPattern.compute(answer, "tares")));
+            assertEquals(uncached.guess(history), first.guess(history));
+            long hits = cache.stats().hits();
+            assertEquals(uncached.guess(history), second.guess(history));
+            assertEquals(hits + 1, cache.stats().hits());
+        }
+    }
+
+    @Test
+    void cache_must_hold_an_entry() {
+        assertThrows(IllegalArgumentException.class, () -> new GuessCache(0));
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.CorrectnessPattern;
+import org.example.wordle.Guess;
+import org.example.wordle.dictionary.AnswerPool;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.TestDictionaries;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HardModeTest {
+
+    private static final Dictionary RHYMES = TestDictionaries.RHYMES;
+
+    private static final AnswerPool RHYME_ANSWERS = AnswerPool.uniform(RHYMES, TestDictionaries.RHYME_ANSWERS);
+
+    @Test
+    void guesses_keep_the_revealed_letters() {
+        Prune prune = new Prune(RHYME_ANSWERS, null, EntropyScorer.SEQUENTIAL, null, null);
+        List<Guess> history = List.of(new Guess("hills", CorrectnessPattern.compute("kills", "hills")));
+        // any word may be guessed in normal mode, but the probe word drops the revealed letters
+        assertEquals("fbhkm", prune.guess(history));
+        String guess = new HardMode(prune).guess(history);
+        assertTrue(guess.endsWith("ills"), guess);
+    }
+
+    @Test
+    void every_guess_of_a_game_uses_every_hint() {
+        Prune prune = new Prune(RHYME_ANSWERS, null, EntropyScorer.SEQUENTIAL, null, null);
+        HardMode hardMode = new HardMode(prune);
+        for (String answer : RHYMES.words(RHYME_ANSWERS.answers())) {
+            List<Guess> history = new ArrayList<>();
+            String guess;
+            do {
+                guess = hardMode.guess(history);
+                assertTrue(Constraints.hints(history).allows(guess), guess);
+                history.add(new Guess(guess, CorrectnessPattern.compute(answer, guess)));
+            } while (!guess.equals(answer) && history.size() < RHYMES.size());
+            assertEquals(answer, guess);
+        }
+    }
+
+    @Test
+    void replayed_games_are_guessed_like_their_history() {
+        Prune prune = new Prune(RHYME_ANSWERS, null, EntropyScorer.SEQUENTIAL, null, null);
+        HardMode hardMode = new HardMode(prune);
+        List<Guess> history = List.of(new Guess("hills", CorrectnessPattern.compute("kills", "hills")));
+        assertEquals(hardMode.guess(history), hardMode.guess(prune.replay(history)));
+    }
+
+    @Test
+    void dictionary_guesses_are_the_same_as_normal_mode() {
+        Prune prune = new Prune(RHYMES, null, EntropyScorer.SEQUENTIAL);
+        List<Guess> history = List.of(new Guess("hills", CorrectnessPattern.compute("kills", "hills")));
+        assertEquals(prune.guess(history), new HardMode(prune).guess(history));
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.wordle.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Log2Test {
+
+    @Test
+    void small_numbers_are_exact() {
+        assertEquals(0.0, Log2.of(1));
+        assertEquals(1.0, Log2.of(2));
+        assertEquals(10.0, Log2.of(1024));
+        for (int n = 1; n < Log2.EXACT; n++) {
+            assertEquals(Math.log(n) / Math.log(2), Log2.of(n), 1e-12);
+        }
+    }
+
+    @Test
+    void large_numbers_are_within_2e_8() {
+        assertEquals(12.0, Log2.of(Log2.EXACT));
+        assertEquals(40.0, Log2.of(1L << 40));
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long n = Log2.EXACT + (random.nextLong() >>> (2 + random.nextInt(50)));
+            assertEquals(Math.log(n) / Math.log(2), Log2.of(n), 2e-8, Long.toString(n));
+        }
+        assertEquals(63.0, Log2.of(Long.MAX_VALUE), 1e-8);
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.CorrectnessPattern;
+import org.example.wordle.Guess;
+import org.example.wordle.dictionary.AnswerPool;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.TestDictionaries;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookaheadTest {
+
+    private static final Dictionary DICTIONARY = TestDictionaries.with(TestDictionaries.RHYMES, List.of("tares"));
+
+    private static final AnswerPool ANSWERS = AnswerPool.uniform(DICTIONARY, TestDictionaries.RHYME_ANSWERS);
+
+    private static final Prune PRUNE = new Prune(ANSWERS, null, EntropyScorer.SEQUENTIAL, null, null);
+
+    // the opener gives every answer the same pattern
+    private static final List<Guess> HISTORY = List.of(new Guess("tares", CorrectnessPattern.compute("bills", "tares")));
+
+    @Test
+    void exhaustive_search_finds_the_fewest_expected_turns() {
+        Lookahead lookahead = new Lookahead(PRUNE, ANSWERS.size(), DICTIONARY.size(), Duration.ofMinutes(1));
+        Lookahead.Result result = lookahead.search(HISTORY);
+        assertFalse(result.timedOut());
+        assertEquals(result.candidates(), result.evaluated());
+        assertEquals(OptimalTurns.of(DICTIONARY, ANSWERS.dictionary().words(ANSWERS.answers())), result.expectedTurns(), 1e-9);
+        // the probe word tells five of the six answers apart
+        assertEquals("fbhkm", result.guess());
+    }
+
+    @Test
+    void no_budget_returns_the_best_guess_by_entropy() {
+        Lookahead lookahead = new Lookahead(PRUNE, 2, 4, Duration.ZERO);
+        Lookahead.Result result = lookahead.search(HISTORY);
+        assertTrue(result.timedOut());
+        assertEquals(0, result.evaluated());
+        assertTrue(Double.isNaN(result.expectedTurns()));
+        assertEquals(PRUNE.guess(HISTORY), result.guess());
+    }
+
+    @Test
+    void one_or_two_answers_are_solved_exactly() {
+        Lookahead lookahead = new Lookahead(PRUNE, 2, 4, Duration.ofSeconds(10));
+        List<Guess> history = List.of(new Guess("fbhkm", CorrectnessPattern.compute("bills", "fbhkm")));
+        Lookahead.Result result = lookahead.search(history);
+        assertEquals("bills", result.guess());
+        assertEquals(1.0, result.expectedTurns());
+    }
+
+    @Test
+    void guesses_match_prune_on_the_first_turn() {
+        Lookahead lookahead = new Lookahead(PRUNE, 2, 4, Duration.ofSeconds(10));
+        assertEquals(PRUNE.guess(List.of()), lookahead.guess(List.of()));
+    }
+
+    @Test
+    void invalid_settings_are_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Lookahead(PRUNE, 0, 4, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new Lookahead(PRUNE, 2, 0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new Lookahead(PRUNE, 2, 4, Duration.ofMillis(-1)));
+    }
+}
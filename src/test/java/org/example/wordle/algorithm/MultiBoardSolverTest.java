@@ -0,0 +1,119 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.CorrectnessPattern;
+import org.example.wordle.dictionary.DictionaryLoader;
+import org.example.wordle.dictionary.WordList;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiBoardSolverTest {
+
+    private static final WordList SIX_LETTERS = WordList.of(
+            new String[] {"stares", "staler", "planet", "plaice", "orange", "grapes", "crates", "trance", "prance", "dances"},
+            new long[] {5L, 3L, 8L, 1L, 9L, 4L, 2L, 6L, 2L, 3L});
+
+    // plays `solver` until every board is solved, returning the number of turns
+    private static int play(MultiBoardSolver solver, String... answers) {
+        MultiBoardGame game = solver.newGame(answers.length);
+        while (!game.isOver()) {
+            String guess = solver.guess(game);
+            assertNotNull(guess);
+            List<CorrectnessPattern> patterns = new ArrayList<>();
+            for (int b = 0; b < answers.length; b++) {
+                patterns.add(game.isSolved(b) ? null : CorrectnessPattern.compute(answers[b], guess));
+            }
+            solver.pruneRemaining(game, guess, patterns);
+            assertTrue(game.turns() <= 20, "the game should be solved");
+        }
+        return game.turns();
+    }
+
+    @Test
+    void solves_every_board_of_six_letter_words() {
+        MultiBoardSolver solver = new MultiBoardSolver(SIX_LETTERS);
+        for (int i = 0; i < SIX_LETTERS.size(); i++) {
+            int j = (i + 3) % SIX_LETTERS.size();
+            play(solver, SIX_LETTERS.word(i), SIX_LETTERS.word(j));
+        }
+    }
+
+    @Test
+    void solves_quordle_with_the_dictionary() throws IOException {
+        WordList words = WordList.of(DictionaryLoader.loadResource("dictionary.txt"));
+        int turns = play(new MultiBoardSolver(words, 64), "shake", "flute", "cigar", "rebut");
+        assertTrue(turns <= 9, "quordle allows 9 turns but took " + turns);
+    }
+
+    @Test
+    void prune_remaining_keeps_the_words_matching_each_board() {
+        MultiBoardSolver solver = new MultiBoardSolver(SIX_LETTERS);
+        MultiBoardGame game = solver.newGame(2);
+        solver.pruneRemaining(game, "stares", List.of(
+                CorrectnessPattern.compute("stares", "stares"),
+                CorrectnessPattern.compute("planet", "stares")));
+        assertTrue(game.isSolved(0));
+        assertFalse(game.isSolved(1));
+        assertFalse(game.isOver());
+        assertTrue(game.remaining(1).contains(SIX_LETTERS.indexOf("planet")));
+        assertFalse(game.remaining(1).contains(SIX_LETTERS.indexOf("stares")));
+
+        // the pattern of a solved board is ignored
+        solver.pruneRemaining(game, "planet", Arrays.asList(null, CorrectnessPattern.parse("cccccc")));
+        assertTrue(game.isOver());
+        assertEquals(2, game.turns());
+        assertNull(solver.guess(game));
+    }
+
+    @Test
+    void guess_is_null_when_a_board_has_no_remaining_words() {
+        MultiBoardSolver solver = new MultiBoardSolver(SIX_LETTERS);
+        MultiBoardGame game = solver.newGame(1);
+        solver.pruneRemaining(game, "zzzzzz", List.of(CorrectnessPattern.parse("cccccw")));
+        assertEquals(0, game.remainingCount(0));
+        assertNull(solver.guess(game));
+    }
+
+    @Test
+    void a_board_with_one_remaining_word_is_solved_by_guessing_it() {
+        MultiBoardSolver solver = new MultiBoardSolver(SIX_LETTERS);
+        MultiBoardGame game = solver.newGame(1);
+        solver.pruneRemaining(game, "orange", List.of(CorrectnessPattern.compute("grapes", "orange")));
+        assertEquals(1, game.remainingCount(0));
+        assertEquals("grapes", solver.guess(game));
+    }
+
+    @Test
+    void prune_remaining_rejects_invalid_turns() {
+        MultiBoardSolver solver = new MultiBoardSolver(SIX_LETTERS);
+        MultiBoardGame game = solver.newGame(2);
+        CorrectnessPattern six = CorrectnessPattern.parse("wwwwww");
+        assertThrows(IllegalArgumentException.class, () -> solver.pruneRemaining(game, "tares", List.of(six, six)));
+        assertThrows(IllegalArgumentException.class, () -> solver.pruneRemaining(game, "stares", List.of(six)));
+        assertThrows(IllegalArgumentException.class, () -> solver.pruneRemaining(game, "stares", List.of(six, CorrectnessPattern.parse("wwwww"))));
+        assertThrows(IllegalArgumentException.class, () -> solver.pruneRemaining(game, "stares", Arrays.asList(six, null)));
+        assertEquals(0, game.turns());
+        assertThrows(IllegalArgumentException.class, () -> solver.newGame(0));
+        assertThrows(IllegalArgumentException.class, () -> new MultiBoardSolver(SIX_LETTERS, 0));
+    }
+
+    @Test
+    void code_histogram_entropy_only_counts_the_codes_it_was_given() {
+        CodeHistogram histogram = new CodeHistogram(8);
+        histogram.add(6560, 2L);
+        histogram.add(0, 1L);
+        histogram.add(0, 1L);
+        histogram.add(17, 0L);
+        assertEquals(2, histogram.size());
+        assertEquals(1.0, histogram.entropy(4L), 1e-9);
+        // computing the entropy empties the histogram
+        assertEquals(0, histogram.size());
+        histogram.add(5, 3L);
+        assertEquals(0.0, histogram.entropy(3L), 1e-9);
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.CorrectnessPattern;
+import org.example.wordle.Guess;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.DictionaryLoader;
+import org.example.wordle.dictionary.TestDictionaries;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTest {
+
+    private static final Dictionary DICTIONARY = TestDictionaries.with(TestDictionaries.SHAKES, Map.of("tares", 5L));
+
+    private static final Prune PRUNE = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL);
+
+    @Test
+    void book_gives_the_same_guesses_as_scoring() {
+        OpeningBook book = OpeningBook.generate(PRUNE, "shale", 3);
+        Prune booked = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL, book);
+        assertEquals("shale", booked.guess(List.of()));
+        for (String answer : DICTIONARY.words()) {
+            List<Guess> history = new ArrayList<>();
+            history.add(new Guess("shale", CorrectnessPattern.compute(answer, "shale")));
+            assertEquals(PRUNE.guess(history), book.lookup(history));
+            String second = booked.guess(history);
+            history.add(new Guess(second, CorrectnessPattern.compute(answer, second)));
+            assertEquals(PRUNE.guess(history), book.lookup(history));
+            assertEquals(PRUNE.guess(history), booked.guess(history));
+        }
+    }
+
+    @Test
+    void depth_two_book_only_stores_second_guesses() {
+        OpeningBook book = OpeningBook.generate(PRUNE, "tares", 2);
+        List<Guess> history = new ArrayList<>();
+        history.add(new Guess("tares", CorrectnessPattern.compute("shave", "tares")));
+        String second = book.lookup(history);
+        assertEquals(PRUNE.guess(history), second);
+        history.add(new Guess(second, CorrectnessPattern.compute("shave", second)));
+        assertNull(book.lookup(history));
+    }
+
+    @Test
+    void histories_off_the_book_are_not_looked_up() {
+        OpeningBook book = OpeningBook.generate(PRUNE, "tares", 3);
+        assertNull(book.lookup(List.of(new Guess("depot", CorrectnessPattern.compute("shave", "depot")))));
+        List<Guess> offBook = List.of(
+                new Guess("tares", CorrectnessPattern.compute("shave", "tares")),
+                new Guess("brink", CorrectnessPattern.compute("shave", "brink")));
+        assertNull(book.lookup(offBook));
+    }
+
+    @Test
+    void book_round_trips_through_a_file() throws IOException {
+        OpeningBook book = OpeningBook.generate(PRUNE, "tares", 3);
+        Path file = Files.createTempFile("opening-book", ".txt");
+        try {
+            book.save(file);
+            OpeningBook read;
+            try (var is = Files.newInputStream(file)) {
+                read = OpeningBook.read(is);
+            }
+            assertTrue(read.matches(DICTIONARY));
+            for (String answer : DICTIONARY.words()) {
+                List<Guess> history = List.of(new Guess("tares", CorrectnessPattern.compute(answer, "tares")));
+                assertEquals(book.lookup(history), read.lookup(history));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void book_from_another_dictionary_is_rejected() {
+        OpeningBook book = OpeningBook.generate(PRUNE, "tares", 2);
+        Dictionary other = Dictionary.of(Map.of("tares", 1L, "depot", 2L));
+        assertFalse(book.matches(other));
+        assertThrows(IllegalArgumentException.class, () -> new Prune(other, null, EntropyScorer.SEQUENTIAL, book));
+    }
+
+    @Test
+    void malformed_book_is_rejected() {
+        byte[] text = "opener tares\ndictionary 1\nccxcc depot\n".getBytes(StandardCharsets.US_ASCII);
+        assertThrows(IOException.class, () -> OpeningBook.read(new ByteArrayInputStream(text)));
+    }
+
+    @Test
+    void bundled_book_matches_the_bundled_dictionary() throws IOException {
+        OpeningBook book = OpeningBook.loadResource();
+        assertNotNull(book);
+        assertTrue(book.matches(DictionaryLoader.loadResource("dictionary.txt")));
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.PatternCode;
+import org.example.wordle.dictionary.Dictionary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A brute force oracle for the strategies that search for the fewest expected turns, such as
+ * {@link Lookahead} and {@link DecisionTree}. Only usable for a handful of words.
+ */
+final class OptimalTurns {
+
+    private OptimalTurns() {
+    }
+
+    /**
+     * @param dictionary - the words that can be guessed
+     * @param answers - the words that could be the answer, each as likely
+     * @return the fewest expected turns to solve `answers` when any word of `dictionary` can be guessed
+     */
+    static double of(Dictionary dictionary, List<String> answers) {
+        if (answers.size() == 1) {
+            return 1.0;
+        }
+        double best = Double.POSITIVE_INFINITY;
+        for (String guess : dictionary.words()) {
+            Map<Integer, List<String>> groups = new HashMap<>();
+            for (String answer : answers) {
+                groups.computeIfAbsent(PatternCode.computeCode(answer, guess), code -> new ArrayList<>()).add(answer);
+            }
+            if (groups.size() == 1 && !answers.contains(guess)) {
+                // the guess tells the answers nothing
+                continue;
+            }
+            double turns = 1.0;
+            for (Map.Entry<Integer, List<String>> group : groups.entrySet()) {
+                if (group.getKey() != PatternCode.ALL_CORRECT) {
+                    turns += (double) group.getValue().size() / answers.size() * of(dictionary, group.getValue());
+                }
+            }
+            best = Math.min(best, turns);
+        }
+        return best;
+    }
+}
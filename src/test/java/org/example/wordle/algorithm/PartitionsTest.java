@@ -0,0 +1,49 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.PatternCode;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.TestDictionaries;
+import org.example.wordle.dictionary.WordSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionsTest {
+
+    private static final Dictionary DICTIONARY = TestDictionaries.with(TestDictionaries.RHYMES, List.of("tares", "lousy"));
+
+    @Test
+    void partitions_group_words_by_pattern() {
+        Partitions partitions = new Partitions(DICTIONARY, null, 8);
+        int guess = DICTIONARY.indexOf("hills");
+        WordSet[] partition = partitions.get(guess);
+        for (int i = 0; i < DICTIONARY.size(); i++) {
+            int code = PatternCode.computeCode(DICTIONARY.word(i), "hills");
+            assertTrue(partition[code].contains(i), DICTIONARY.word(i));
+        }
+        assertEquals(DICTIONARY.indexOf("hills"), partition[PatternCode.ALL_CORRECT].toArray()[0]);
+        assertSame(partition, partitions.get(guess));
+    }
+
+    @Test
+    void the_least_recently_used_partitions_are_evicted() {
+        Dictionary words = Dictionary.of(Map.ofEntries(
+                Map.entry("aaaaa", 1L), Map.entry("bbbbb", 1L), Map.entry("ccccc", 1L),
+                Map.entry("ddddd", 1L), Map.entry("eeeee", 1L), Map.entry("fffff", 1L),
+                Map.entry("ggggg", 1L), Map.entry("hhhhh", 1L), Map.entry("iiiii", 1L)));
+        Partitions partitions = new Partitions(words, null, 2);
+        WordSet[] first = partitions.get(0);
+        assertSame(first, partitions.get(0));
+        // guesses 0, 2, 4... share a segment that holds one partition
+        partitions.get(2);
+        assertNotSame(first, partitions.get(0));
+        for (int i = 0; i < words.size(); i++) {
+            partitions.get(i);
+        }
+        assertEquals(2, partitions.size());
+        assertThrows(IllegalArgumentException.class, () -> new Partitions(words, null, 0));
+    }
+}
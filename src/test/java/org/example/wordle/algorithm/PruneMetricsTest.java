@@ -0,0 +1,57 @@
+package org.example.wordle.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PruneMetricsTest {
+
+    @Test
+    void totals_add_up_every_turn() {
+        PruneMetrics metrics = new PruneMetrics();
+        metrics.turn(new TurnMetrics(TurnMetrics.Source.OPENER, 1, 0, 100, 200, 0L, 0, 0L, 0L));
+        metrics.turn(new TurnMetrics(TurnMetrics.Source.SCORED, 2, 90, 10, 230, 100L, 10, 2_000_000L, 512L));
+        metrics.turn(new TurnMetrics(TurnMetrics.Source.SCORED, 3, 8, 2, 240, 4L, 2, 2_000_000L, -1L));
+        metrics.turn(new TurnMetrics(TurnMetrics.Source.CACHE, 2, 90, 10, 230, 0L, 0, 0L, 0L));
+
+        assertEquals(4, metrics.getTurns());
+        assertEquals(1, metrics.getOpenerTurns());
+        assertEquals(2, metrics.getScoredTurns());
+        assertEquals(1, metrics.getCachedTurns());
+        assertEquals(0, metrics.getBookTurns());
+        assertEquals(188, metrics.getWordsPruned());
+        assertEquals(900, metrics.getPatternsPruned());
+        assertEquals(104, metrics.getPatternComputations());
+        assertEquals(12, metrics.getCandidatesScored());
+        assertEquals(4.0, metrics.getScoringMillis(), 1e-9);
+        assertEquals(2.0, metrics.getMeanScoringMillis(), 1e-9);
+        assertEquals(3000.0, metrics.getCandidatesPerSecond(), 1e-9);
+        // the turn without a measured allocation is not part of the mean
+        assertEquals(512, metrics.getAllocatedBytes());
+        assertEquals(512.0, metrics.getMeanAllocatedBytes(), 1e-9);
+
+        metrics.reset();
+        assertEquals(0, metrics.getTurns());
+        assertEquals(0.0, metrics.getCandidatesPerSecond());
+    }
+
+    @Test
+    void registered_metrics_are_readable_over_jmx() throws Exception {
+        PruneMetrics metrics = new PruneMetrics();
+        metrics.turn(new TurnMetrics(TurnMetrics.Source.BOOK, 1, 0, 100, 0, 0L, 0, 0L, 0L));
+        ObjectName name = metrics.register("test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(1L, server.getAttribute(name, "BookTurns"));
+            server.invoke(name, "reset", null, null);
+            assertEquals(0L, server.getAttribute(name, "Turns"));
+            assertThrows(IllegalStateException.class, () -> new PruneMetrics().register("test"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.CorrectnessPattern;
+import org.example.wordle.Guess;
+import org.example.wordle.PatternCode;
+import org.example.wordle.dictionary.AnswerPool;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.TestDictionaries;
+import org.example.wordle.table.PatternTable;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PruneTest {
+
+    private static final Dictionary DICTIONARY = TestDictionaries.SHAKES;
+
+    @Test
+    void first_guess_is_tares() {
+        assertEquals("tares", new Prune(DICTIONARY).guess(List.of()));
+    }
+
+    @Test
+    void prune_remaining_removes_words_that_do_not_match() {
+        Prune prune = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL);
+        GameState state = prune.newGame();
+        prune.pruneRemaining(state, new Guess("tares", CorrectnessPattern.compute("shale", "tares")));
+        assertEquals(List.of("shake", "shale", "shave"), DICTIONARY.words(state.remaining()));
+        assertEquals(1, state.history().size());
+    }
+
+    @Test
+    void games_do_not_share_remaining_words() {
+        Prune prune = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL);
+        GameState a = prune.newGame();
+        GameState b = prune.newGame();
+        prune.pruneRemaining(a, new Guess("tares", CorrectnessPattern.compute("depot", "tares")));
+        assertEquals(DICTIONARY.size(), b.remainingCount());
+    }
+
+    @Test
+    void guess_from_history_matches_guess_from_state() {
+        Prune prune = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL);
+        List<Guess> history = List.of(new Guess("tares", CorrectnessPattern.compute("shave", "tares")));
+        GameState state = prune.newGame();
+        prune.pruneRemaining(state, history.get(0));
+        assertEquals(prune.guess(state), prune.guess(history));
+        // guessing from a history does not change the Prune, so the same history gives the same guess
+        assertEquals(prune.guess(history), prune.guess(history));
+    }
+
+    @Test
+    void pattern_table_gives_the_same_guesses() {
+        Prune computed = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL);
+        Prune table = new Prune(DICTIONARY, PatternTable.build(DICTIONARY.words()), EntropyScorer.SEQUENTIAL);
+        for (String answer : DICTIONARY.words()) {
+            List<Guess> history = List.of(new Guess("tares", CorrectnessPattern.compute(answer, "tares")));
+            assertEquals(computed.guess(history), table.guess(history));
+            assertEquals(computed.replay(history).remaining(), table.replay(history).remaining());
+        }
+    }
+
+    @Test
+    void pattern_table_from_other_words_is_rejected() {
+        PatternTable table = PatternTable.build(List.of("tares", "depot"));
+        assertThrows(IllegalArgumentException.class, () -> new Prune(DICTIONARY, table, EntropyScorer.SEQUENTIAL));
+    }
+
+    @Test
+    void replay_keeps_exactly_the_words_that_match_every_guess() {
+        Prune prune = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL);
+        for (String answer : DICTIONARY.words()) {
+            List<Guess> history = List.of(
+                    new Guess("tares", CorrectnessPattern.compute(answer, "tares")),
+                    new Guess("shake", CorrectnessPattern.compute(answer, "shake")),
+                    new Guess("zzzzz", CorrectnessPattern.compute(answer, "zzzzz")));
+            List<String> expected = DICTIONARY.words().stream()
+                    .filter(word -> history.stream().allMatch(g -> g.matches(word)))
+                    .toList();
+            assertEquals(expected, DICTIONARY.words(prune.replay(history).remaining()));
+        }
+    }
+
+    @Test
+    void a_pattern_no_word_gives_leaves_no_words() {
+        Prune prune = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL);
+        GameState state = prune.replay(List.of(new Guess("depot", CorrectnessPattern.parse("ccccw"))));
+        assertEquals(0, state.remainingCount());
+        assertNull(prune.guess(state));
+    }
+
+    @Test
+    void answer_pool_only_keeps_track_of_answers() {
+        AnswerPool answers = AnswerPool.uniform(DICTIONARY, List.of("shake", "shale", "shave"));
+        Prune prune = new Prune(answers, null, EntropyScorer.SEQUENTIAL, null, null);
+        assertEquals(3, prune.newGame().remainingCount());
+        for (String answer : answers.dictionary().words(answers.answers())) {
+            GameState state = prune.replay(List.of(new Guess("tares", CorrectnessPattern.compute(answer, "tares"))));
+            assertTrue(DICTIONARY.words(state.remaining()).contains(answer));
+            assertNotNull(prune.guess(state));
+        }
+        assertNotEquals(prune.checksum(), new Prune(DICTIONARY).checksum());
+    }
+
+    @Test
+    void answer_pool_opener_is_scored() {
+        AnswerPool answers = AnswerPool.uniform(DICTIONARY, List.of("shake", "shale", "shave"));
+        Prune prune = new Prune(answers, null, EntropyScorer.SEQUENTIAL, null, null);
+        assertEquals(EntropyScorer.SEQUENTIAL.best(answers, answers.answers(), null).word(), prune.guess(List.of()));
+    }
+
+    @Test
+    void guess_with_a_budget_matches_guess_without_one() {
+        Prune prune = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL);
+        for (String answer : DICTIONARY.words()) {
+            List<Guess> history = List.of(new Guess("tares", CorrectnessPattern.compute(answer, "tares")));
+            AnytimeGuess guess = prune.guess(history, Duration.ofMinutes(1));
+            assertTrue(guess.complete());
+            assertEquals(prune.guess(history), guess.word());
+        }
+        assertEquals("tares", prune.guess(List.of(), Duration.ZERO).word());
+    }
+
+    @Test
+    void guess_without_budget_still_gives_a_word() {
+        Prune prune = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL);
+        List<Guess> history = List.of(new Guess("tares", CorrectnessPattern.compute("shale", "tares")));
+        AnytimeGuess guess = prune.guess(history, Duration.ZERO);
+        assertEquals(0, guess.evaluated());
+        assertEquals(3, guess.candidates());
+        assertTrue(List.of("shake", "shale", "shave").contains(guess.word()));
+    }
+
+    @Test
+    void turn_listener_receives_the_metrics_of_every_guess() {
+        Prune prune = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL, null, new GuessCache(16));
+        List<TurnMetrics> turns = new ArrayList<>();
+        prune.setTurnListener(turns::add);
+        List<Guess> history = List.of(new Guess("tares", CorrectnessPattern.compute("shale", "tares")));
+
+        prune.guess(List.of());
+        String guess = prune.guess(history);
+        prune.guess(history);
+        prune.setTurnListener(null);
+        prune.guess(history);
+        assertEquals(3, turns.size());
+
+        TurnMetrics opener = turns.get(0);
+        assertEquals(TurnMetrics.Source.OPENER, opener.source());
+        assertEquals(1, opener.turn());
+        assertEquals(DICTIONARY.size(), opener.wordsRemaining());
+
+        TurnMetrics scored = turns.get(1);
+        assertEquals(TurnMetrics.Source.SCORED, scored.source());
+        assertEquals(2, scored.turn());
+        assertEquals(3, scored.wordsPruned());
+        assertEquals(3, scored.wordsRemaining());
+        assertEquals(3, scored.candidatesScored());
+        // tares is not in the dictionary so it is pruned with constraints, then 3 candidates by 3 answers
+        assertEquals(3 * 3, scored.patternComputations());
+        assertTrue(List.of("shake", "shale", "shave").contains(guess));
+        long patterns = Stream.of("shake", "shale", "shave").map(answer -> PatternCode.computeCode(answer, guess)).distinct().count();
+        assertEquals(PatternCode.COUNT - patterns, scored.patternsPruned());
+        assertTrue(scored.scoringNanos() > 0);
+
+        TurnMetrics cached = turns.get(2);
+        assertEquals(TurnMetrics.Source.CACHE, cached.source());
+        assertEquals(0, cached.candidatesScored());
+        assertEquals(0.0, cached.candidatesPerSecond());
+    }
+}
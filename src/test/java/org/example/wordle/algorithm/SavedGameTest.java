@@ -0,0 +1,122 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.CorrectnessPattern;
+import org.example.wordle.Guess;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.TestDictionaries;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SavedGameTest {
+
+    private static final Dictionary WORDS = TestDictionaries.with(TestDictionaries.RHYMES, List.of("tares", "lousy"));
+
+    private static GameState played(Prune prune, String answer, String... guesses) {
+        GameState state = prune.newGame();
+        for (String guess : guesses) {
+            prune.pruneRemaining(state, new Guess(guess, CorrectnessPattern.compute(answer, guess)));
+        }
+        return state;
+    }
+
+    @Test
+    void restores_the_history_and_remaining_words() throws IOException {
+        Prune prune = new Prune(WORDS, null, EntropyScorer.SEQUENTIAL);
+        GameState state = played(prune, "hills", "tares", "bills");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SavedGame.of(prune, state).write(bytes);
+
+        SavedGame saved = SavedGame.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(state.history(), saved.history());
+        assertEquals(state.remainingCount(), saved.remainingCount());
+        GameState restored = saved.restore(prune);
+        assertEquals(state.history(), restored.history());
+        assertEquals(state.remaining(), restored.remaining());
+        assertEquals(prune.guess(state), prune.guess(restored));
+    }
+
+    @Test
+    void restored_games_are_independent_of_the_snapshot() {
+        Prune prune = new Prune(WORDS, null, EntropyScorer.SEQUENTIAL);
+        GameState state = played(prune, "hills", "tares");
+        SavedGame saved = SavedGame.of(prune, state);
+        GameState restored = saved.restore(prune);
+        prune.pruneRemaining(restored, new Guess("bills", CorrectnessPattern.compute("hills", "bills")));
+        assertEquals(state.remainingCount(), saved.remainingCount());
+        assertEquals(1, saved.history().size());
+        assertEquals(state.remaining(), saved.restore(prune).remaining());
+    }
+
+    @Test
+    void saves_to_a_file(@TempDir Path directory) throws IOException {
+        Prune prune = new Prune(WORDS, null, EntropyScorer.SEQUENTIAL);
+        Path path = directory.resolve("game.bin");
+        SavedGame.of(prune, played(prune, "kills", "tares")).save(path);
+        // saving again replaces the file
+        GameState state = played(prune, "kills", "tares", "hills");
+        SavedGame.of(prune, state).save(path);
+        assertEquals(state.remaining(), SavedGame.load(path).restore(prune).remaining());
+        // and leaves no temporary file behind
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(path), files.toList());
+        }
+    }
+
+    @Test
+    void rejects_games_of_another_dictionary() {
+        Prune prune = new Prune(WORDS, null, EntropyScorer.SEQUENTIAL);
+        SavedGame saved = SavedGame.of(prune, played(prune, "hills", "tares"));
+        Prune other = new Prune(Dictionary.of(Map.of("bills", 1L, "hills", 1L)), null, EntropyScorer.SEQUENTIAL);
+        assertFalse(saved.matches(other.checksum()));
+        assertThrows(IllegalArgumentException.class, () -> saved.restore(other));
+    }
+
+    @Test
+    void rejects_malformed_files() throws IOException {
+        Prune prune = new Prune(WORDS, null, EntropyScorer.SEQUENTIAL);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SavedGame.of(prune, played(prune, "hills", "tares")).write(bytes);
+        byte[] data = bytes.toByteArray();
+
+        byte[] magic = data.clone();
+        magic[0] ^= 1;
+        assertThrows(IOException.class, () -> SavedGame.read(new ByteArrayInputStream(magic)));
+        byte[] truncated = Arrays.copyOf(data, data.length - 1);
+        assertThrows(IOException.class, () -> SavedGame.read(new ByteArrayInputStream(truncated)));
+    }
+
+    @Test
+    void rejects_corrupt_counts_and_guesses_before_allocating() throws IOException {
+        Prune prune = new Prune(WORDS, null, EntropyScorer.SEQUENTIAL);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SavedGame.of(prune, played(prune, "hills", "tares")).write(bytes);
+        byte[] data = bytes.toByteArray();
+
+        // the word count follows the magic, version and checksum, and the guess count follows it
+        for (int words : new int[] {Integer.MAX_VALUE, SavedGame.MAX_WORDS + 1, -1}) {
+            byte[] corrupt = data.clone();
+            ByteBuffer.wrap(corrupt).putInt(16, words);
+            assertThrows(IOException.class, () -> SavedGame.read(new ByteArrayInputStream(corrupt)), "words " + words);
+        }
+        byte[] guesses = data.clone();
+        ByteBuffer.wrap(guesses).putInt(20, SavedGame.MAX_GUESSES + 1);
+        assertThrows(IOException.class, () -> SavedGame.read(new ByteArrayInputStream(guesses)));
+        byte[] letters = data.clone();
+        System.arraycopy("12!45".getBytes(StandardCharsets.US_ASCII), 0, letters, 24, 5);
+        assertThrows(IOException.class, () -> SavedGame.read(new ByteArrayInputStream(letters)));
+    }
+}
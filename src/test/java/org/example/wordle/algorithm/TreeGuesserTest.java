@@ -0,0 +1,60 @@
+package org.example.wordle.algorithm;
+
+import org.example.wordle.CorrectnessPattern;
+import org.example.wordle.Guess;
+import org.example.wordle.dictionary.AnswerPool;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.TestDictionaries;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreeGuesserTest {
+
+    private static final Dictionary DICTIONARY = TestDictionaries.SHAKES;
+
+    private static final Prune PRUNE = new Prune(AnswerPool.uniform(DICTIONARY, DICTIONARY.words()), null, EntropyScorer.SEQUENTIAL, null, null);
+
+    private static final DecisionTree TREE = DecisionTree.build(PRUNE, DecisionTree.Objective.AVERAGE, DICTIONARY.size(), null);
+
+    @Test
+    void plays_the_tree_to_every_answer() {
+        TreeGuesser guesser = new TreeGuesser(TREE, history -> fail("the tree covers every game"));
+        for (String answer : DICTIONARY.words()) {
+            List<Guess> history = new ArrayList<>();
+            String guess = guesser.guess(history);
+            while (!guess.equals(answer)) {
+                history.add(new Guess(guess, CorrectnessPattern.compute(answer, guess)));
+                guess = guesser.guess(history);
+            }
+            assertTrue(history.size() < TREE.worstTurns());
+        }
+    }
+
+    @Test
+    void histories_off_the_tree_go_to_the_fallback() {
+        TreeGuesser guesser = new TreeGuesser(TREE, history -> "fallback");
+        // a first guess the tree would not make
+        String other = TREE.guess(DecisionTree.ROOT).equals("brink") ? "depot" : "brink";
+        assertEquals("fallback", guesser.guess(List.of(new Guess(other, CorrectnessPattern.compute("shale", other)))));
+        // a pattern no answer gives
+        String root = TREE.guess(DecisionTree.ROOT);
+        assertEquals("fallback", guesser.guess(List.of(new Guess(root, CorrectnessPattern.parse("mmmmm")))));
+    }
+
+    @Test
+    void replayed_games_are_guessed_like_their_history() {
+        TreeGuesser guesser = new TreeGuesser(TREE, PRUNE);
+        String root = TREE.guess(DecisionTree.ROOT);
+        String other = root.equals("brink") ? "depot" : "brink";
+        for (List<Guess> history : List.of(
+                List.<Guess>of(),
+                List.of(new Guess(root, CorrectnessPattern.compute("shale", root))),
+                List.of(new Guess(other, CorrectnessPattern.compute("shale", other))))) {
+            assertEquals(guesser.guess(history), guesser.guess(PRUNE.replay(history)));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.wordle.dictionary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerPoolTest {
+
+    private static final Dictionary DICTIONARY = TestDictionaries.with(TestDictionaries.SHAKES, Map.of("shale", 0L));
+
+    @Test
+    void uniform_answers_have_equal_weights() {
+        AnswerPool pool = AnswerPool.uniform(DICTIONARY, List.of("event", "shale"));
+        assertEquals(2, pool.size());
+        assertEquals(1L, pool.weight(DICTIONARY.indexOf("event")));
+        assertEquals(1L, pool.weight(DICTIONARY.indexOf("shale")));
+        assertEquals(0L, pool.weight(DICTIONARY.indexOf("depot")));
+        assertEquals(List.of("event", "shale"), DICTIONARY.words(pool.answers()));
+    }
+
+    @Test
+    void weighted_answers_use_dictionary_counts() {
+        AnswerPool pool = AnswerPool.weighted(DICTIONARY, List.of("event", "shale"));
+        assertEquals(200L, pool.weight(DICTIONARY.indexOf("event")));
+        // a word that never occurs can still be the answer
+        assertEquals(1L, pool.weight(DICTIONARY.indexOf("shale")));
+    }
+
+    @Test
+    void answers_must_be_dictionary_words() {
+        assertThrows(IllegalArgumentException.class, () -> AnswerPool.uniform(DICTIONARY, List.of("tares")));
+    }
+
+    @Test
+    void checksum_depends_on_answers_and_weights() {
+        AnswerPool uniform = AnswerPool.uniform(DICTIONARY, List.of("event", "shale"));
+        assertEquals(uniform.checksum(), AnswerPool.uniform(DICTIONARY, List.of("shale", "event")).checksum());
+        assertNotEquals(uniform.checksum(), AnswerPool.weighted(DICTIONARY, List.of("event", "shale")).checksum());
+        assertNotEquals(uniform.checksum(), AnswerPool.uniform(DICTIONARY, List.of("event")).checksum());
+    }
+
+    @Test
+    void answers_are_a_copy() {
+        AnswerPool pool = AnswerPool.uniform(DICTIONARY, List.of("event", "shale"));
+        pool.answers().clear();
+        assertEquals(2, pool.answers().size());
+    }
+}
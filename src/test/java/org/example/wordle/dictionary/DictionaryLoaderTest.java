@@ -0,0 +1,131 @@
+package org.example.wordle.dictionary;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DictionaryLoaderTest {
+
+    private static InputStream text(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void read_text_sorts_words_and_keeps_counts() throws IOException {
+        Dictionary dictionary = DictionaryLoader.readText(text("tares 30\naahed 49650\nzonal 7\n"));
+        assertEquals(3, dictionary.size());
+        assertEquals("aahed", dictionary.word(0));
+        assertEquals(49650L, dictionary.count(0));
+        assertEquals(30L, dictionary.count(dictionary.indexOf("tares")));
+    }
+
+    @Test
+    void read_text_rejects_a_line_without_a_count() {
+        assertThrows(IOException.class, () -> DictionaryLoader.readText(text("tares 30\naahed\n")));
+    }
+
+    @Test
+    void read_text_rejects_an_invalid_count() {
+        assertThrows(IOException.class, () -> DictionaryLoader.readText(text("tares thirty\n")));
+    }
+
+    @Test
+    void binary_round_trips_a_dictionary() throws IOException {
+        Dictionary dictionary = DictionaryLoader.readText(text("tares 30\naahed 49650\nzonal 7\n"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DictionaryLoader.writeBinary(dictionary, out);
+
+        Dictionary read = DictionaryLoader.readBinary(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(dictionary.words(), read.words());
+        for (int i = 0; i < dictionary.size(); i++) {
+            assertEquals(dictionary.count(i), read.count(i));
+        }
+    }
+
+    @Test
+    void binary_keeps_the_checksum_and_reads_version_1() throws IOException {
+        Dictionary dictionary = DictionaryLoader.readText(text("tares 30\naahed 49650\nzonal 7\n"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DictionaryLoader.writeBinary(dictionary, out);
+        byte[] bytes = out.toByteArray();
+        assertEquals(dictionary.checksum(), DictionaryLoader.readBinary(new ByteArrayInputStream(bytes)).checksum());
+
+        // version 1 is the same layout without the checksum after the number of words
+        ByteArrayOutputStream v1 = new ByteArrayOutputStream();
+        v1.write(bytes, 0, 12);
+        v1.write(bytes, 20, bytes.length - 20);
+        byte[] v1Bytes = v1.toByteArray();
+        v1Bytes[7] = 1;
+        Dictionary read = DictionaryLoader.readBinary(new ByteArrayInputStream(v1Bytes));
+        assertEquals(dictionary.words(), read.words());
+        assertEquals(dictionary.checksum(), read.checksum());
+    }
+
+    @Test
+    void read_binary_rejects_a_text_file() {
+        assertThrows(IOException.class, () -> DictionaryLoader.readBinary(text("tares 30\naahed 49650\n")));
+    }
+
+    @Test
+    void load_resource_streams_the_dictionary_from_the_classpath() throws IOException {
+        Dictionary dictionary = DictionaryLoader.loadResource("dictionary.txt");
+        assertEquals(12947, dictionary.size());
+        assertEquals("aahed", dictionary.word(0));
+    }
+
+    @Test
+    void read_word_list_keeps_words_of_another_length() throws IOException {
+        WordList words = DictionaryLoader.readWordList(text("stares 30\nplanet 12\n"));
+        assertEquals(6, words.length());
+        assertEquals("planet", words.word(0));
+        assertEquals(30L, words.count(words.indexOf("stares")));
+        assertThrows(IllegalArgumentException.class, () -> DictionaryLoader.readWordList(text("stares 30\ntares 12\n")));
+    }
+
+    @Test
+    void snapshots_are_only_read_while_their_source_and_weighting_are_unchanged() throws IOException {
+        Dictionary dictionary = DictionaryLoader.readText(text("tares 30\naahed 49650\nzonal 7\n"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DictionaryLoader.writeSnapshot(dictionary, 42L, "sigmoid 3000.0 300.0", bytes);
+        byte[] data = bytes.toByteArray();
+
+        Dictionary read = DictionaryLoader.readSnapshot(new ByteArrayInputStream(data), 42L, "sigmoid 3000.0 300.0");
+        assertEquals(dictionary.checksum(), read.checksum());
+        assertEquals(7L, read.count(read.indexOf("zonal")));
+        assertNull(DictionaryLoader.readSnapshot(new ByteArrayInputStream(data), 43L, "sigmoid 3000.0 300.0"));
+        assertNull(DictionaryLoader.readSnapshot(new ByteArrayInputStream(data), 42L, "counts"));
+        assertThrows(IOException.class, () -> DictionaryLoader.readSnapshot(text("tares 30\n"), 42L, "counts"));
+    }
+
+    @Test
+    void save_snapshot_replaces_the_file_and_leaves_no_temporary_file(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("dictionary.snapshot");
+        DictionaryLoader.saveSnapshot(DictionaryLoader.readText(text("tares 30\n")), 1L, "counts", path);
+        Dictionary dictionary = DictionaryLoader.readText(text("tares 30\naahed 49650\n"));
+        DictionaryLoader.saveSnapshot(dictionary, 2L, "counts", path);
+        try (InputStream is = Files.newInputStream(path)) {
+            assertEquals(dictionary.checksum(), DictionaryLoader.readSnapshot(is, 2L, "counts").checksum());
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(path), files.toList());
+        }
+    }
+
+    @Test
+    void resource_checksum_skips_missing_resources() throws IOException {
+        long checksum = DictionaryLoader.resourceChecksum("dictionary.txt");
+        assertEquals(checksum, DictionaryLoader.resourceChecksum("missing.bin", "dictionary.txt"));
+        assertNotEquals(checksum, DictionaryLoader.resourceChecksum("dictionary.txt", "answers.txt"));
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.wordle.dictionary;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The small dictionaries the tests are built on, shared so that every test plays the same words.
+ */
+public final class TestDictionaries {
+
+    /**
+     * words that mostly share their letters, with different counts, so the likelier words are
+     * guessed first
+     */
+    public static final Dictionary SHAKES = Dictionary.of(Map.of(
+            "depot", 100L,
+            "event", 200L,
+            "shake", 50L,
+            "shale", 10L,
+            "shave", 30L,
+            "brink", 20L));
+
+    /**
+     * answers that only differ in their first letter, each as likely, which take many guesses
+     * when only the answers are guessed
+     */
+    public static final List<String> RHYME_ANSWERS = List.of("bills", "fills", "hills", "kills", "mills", "pills");
+
+    /**
+     * {@link #RHYME_ANSWERS} and "fbhkm", a word that can tell most of them apart
+     */
+    public static final Dictionary RHYMES = with(Dictionary.of(Map.of("fbhkm", 1L)), RHYME_ANSWERS);
+
+    private TestDictionaries() {
+    }
+
+    /**
+     * @return a dictionary of the words and counts of `dictionary`, and `words` with a count of 1
+     */
+    public static Dictionary with(Dictionary dictionary, List<String> words) {
+        Map<String, Long> counts = new HashMap<>();
+        for (String word : words) {
+            counts.put(word, 1L);
+        }
+        return with(dictionary, counts);
+    }
+
+    /**
+     * @return a dictionary of the words and counts of `dictionary`, where `counts` adds words or
+     * replaces their counts
+     */
+    public static Dictionary with(Dictionary dictionary, Map<String, Long> counts) {
+        Map<String, Long> merged = new HashMap<>();
+        for (int i = 0; i < dictionary.size(); i++) {
+            merged.put(dictionary.word(i), dictionary.count(i));
+        }
+        merged.putAll(counts);
+        return Dictionary.of(merged);
+    }
+}
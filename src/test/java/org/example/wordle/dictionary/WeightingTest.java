@@ -0,0 +1,66 @@
+package org.example.wordle.dictionary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightingTest {
+
+    private static final Dictionary DICTIONARY = Dictionary.of(Map.of(
+            "depot", 100L,
+            "event", 300L,
+            "shake", 50L,
+            "shale", 50L));
+
+    @Test
+    void counts_weigh_into_priors_that_sum_to_the_scale() {
+        Dictionary weighed = DICTIONARY.weigh(Weighting.counts());
+        assertEquals(DICTIONARY.words(), weighed.words());
+        assertEquals(Dictionary.PRIOR_SCALE / 5, weighed.count(DICTIONARY.indexOf("depot")));
+        assertEquals(Dictionary.PRIOR_SCALE * 3 / 5, weighed.count(DICTIONARY.indexOf("event")));
+        long total = 0L;
+        for (int i = 0; i < weighed.size(); i++) {
+            total += weighed.count(i);
+        }
+        assertEquals(Dictionary.PRIOR_SCALE, total);
+    }
+
+    @Test
+    void sigmoid_by_rank_weighs_the_most_common_words_first() {
+        double[] weights = Weighting.sigmoidByRank(1.0, 0.5).weights(DICTIONARY);
+        double event = weights[DICTIONARY.indexOf("event")];
+        double depot = weights[DICTIONARY.indexOf("depot")];
+        double shake = weights[DICTIONARY.indexOf("shake")];
+        double shale = weights[DICTIONARY.indexOf("shale")];
+        assertTrue(event > depot && depot > shake && shake > shale);
+        // the word at the midpoint weighs 1/2
+        assertEquals(0.5, depot, 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> Weighting.sigmoidByRank(1.0, 0.0));
+    }
+
+    @Test
+    void boost_multiplies_the_weights_of_the_words() {
+        double[] weights = Weighting.counts().boost(List.of("shake", "tares"), 10.0).weights(DICTIONARY);
+        assertEquals(500.0, weights[DICTIONARY.indexOf("shake")]);
+        assertEquals(50.0, weights[DICTIONARY.indexOf("shale")]);
+        assertThrows(IllegalArgumentException.class, () -> Weighting.counts().boost(List.of(), -1.0));
+    }
+
+    @Test
+    void every_word_keeps_a_count_of_at_least_one() {
+        Dictionary weighed = DICTIONARY.weigh(dictionary -> new double[]{1.0, 0.0, 0.0, 0.0});
+        assertEquals(Dictionary.PRIOR_SCALE, weighed.count(0));
+        assertEquals(1L, weighed.count(1));
+    }
+
+    @Test
+    void weights_must_be_positive_numbers() {
+        assertThrows(IllegalArgumentException.class, () -> DICTIONARY.weigh(dictionary -> new double[4]));
+        assertThrows(IllegalArgumentException.class, () -> DICTIONARY.weigh(dictionary -> new double[]{1.0, -1.0, 0.0, 0.0}));
+        assertThrows(IllegalArgumentException.class, () -> DICTIONARY.weigh(dictionary -> new double[]{1.0, Double.NaN, 0.0, 0.0}));
+        assertThrows(IllegalArgumentException.class, () -> DICTIONARY.weigh(dictionary -> new double[]{1.0}));
+    }
+}
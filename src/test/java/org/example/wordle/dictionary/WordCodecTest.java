@@ -0,0 +1,58 @@
+package org.example.wordle.dictionary;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordCodecTest {
+
+    @Test
+    void pack_then_unpack_round_trips() {
+        for (String word : new String[] {"aaaaa", "zzzzz", "tares", "fluff"}) {
+            assertEquals(word, WordCodec.unpack(WordCodec.pack(word)));
+        }
+    }
+
+    @Test
+    void letter_returns_each_letter() {
+        int packed = WordCodec.pack("tares");
+        assertEquals('t' - 'a', WordCodec.letter(packed, 0));
+        assertEquals('s' - 'a', WordCodec.letter(packed, 4));
+    }
+
+    @Test
+    void letter_mask_has_a_bit_per_distinct_letter() {
+        int mask = WordCodec.letterMask(WordCodec.pack("fluff"));
+        assertEquals(3, Integer.bitCount(mask));
+        assertTrue((mask & (1 << ('f' - 'a'))) != 0);
+    }
+
+    @Test
+    void pack_rejects_invalid_words() {
+        assertThrows(IllegalArgumentException.class, () -> WordCodec.pack("tare"));
+        assertThrows(IllegalArgumentException.class, () -> WordCodec.pack("TARES"));
+        assertThrows(IllegalArgumentException.class, () -> WordCodec.pack("ta-es"));
+    }
+
+    @Test
+    void pack_long_then_unpack_round_trips_4_to_8_letters() {
+        for (String word : new String[] {"tare", "zzzz", "tares", "stares", "pattern", "zzzzzzzz"}) {
+            long packed = WordCodec.packLong(word);
+            assertEquals(word, WordCodec.unpack(packed, word.length()));
+            assertEquals(word.charAt(word.length() - 1) - 'a', WordCodec.letter(packed, word.length() - 1));
+        }
+        assertEquals(WordCodec.pack("tares"), WordCodec.packLong("tares"));
+    }
+
+    @Test
+    void long_letter_mask_has_a_bit_per_distinct_letter() {
+        assertEquals(6, Integer.bitCount(WordCodec.letterMask(WordCodec.packLong("pattern"), 7)));
+    }
+
+    @Test
+    void pack_long_rejects_invalid_words() {
+        assertThrows(IllegalArgumentException.class, () -> WordCodec.packLong("tar"));
+        assertThrows(IllegalArgumentException.class, () -> WordCodec.packLong("abcdefghi"));
+        assertThrows(IllegalArgumentException.class, () -> WordCodec.packLong("Pattern"));
+    }
+}
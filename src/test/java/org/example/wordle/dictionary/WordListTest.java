@@ -0,0 +1,42 @@
+package org.example.wordle.dictionary;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordListTest {
+
+    @Test
+    void of_sorts_words_and_keeps_counts() {
+        WordList words = WordList.of(new String[] {"stares", "planet", "orange"}, new long[] {3L, 1L, 2L});
+        assertEquals(6, words.length());
+        assertEquals(List.of("orange", "planet", "stares"), words.words(words.all()));
+        assertEquals(3L, words.count(words.indexOf("stares")));
+        assertEquals(WordCodec.packLong("planet"), words.packed(words.indexOf("planet")));
+        assertEquals(-1, words.indexOf("tares"));
+    }
+
+    @Test
+    void of_rejects_invalid_word_lists() {
+        assertThrows(IllegalArgumentException.class, () -> WordList.of(new String[0], new long[0]));
+        assertThrows(IllegalArgumentException.class, () -> WordList.of(new String[] {"stares", "tares"}, new long[] {1L, 1L}));
+        assertThrows(IllegalArgumentException.class, () -> WordList.of(new String[] {"stares", "stares"}, new long[] {1L, 1L}));
+        assertThrows(IllegalArgumentException.class, () -> WordList.of(new String[] {"abc"}, new long[] {1L}));
+        assertThrows(IllegalArgumentException.class, () -> WordList.of(new String[] {"stares"}, new long[] {1L, 2L}));
+    }
+
+    @Test
+    void of_dictionary_keeps_the_dictionary_indices() throws IOException {
+        Dictionary dictionary = DictionaryLoader.loadResource("dictionary.txt");
+        WordList words = WordList.of(dictionary);
+        assertEquals(dictionary.size(), words.size());
+        assertEquals(5, words.length());
+        int i = dictionary.indexOf("tares");
+        assertEquals(i, words.indexOf("tares"));
+        assertEquals(dictionary.count(i), words.count(i));
+        assertEquals(dictionary.letterMask(i), words.letterMask(i));
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.wordle.dictionary;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordSetTest {
+
+    @Test
+    void all_contains_every_index() {
+        WordSet set = WordSet.all(130);
+        assertEquals(130, set.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(129));
+    }
+
+    @Test
+    void empty_contains_no_index() {
+        WordSet set = WordSet.empty(130);
+        assertTrue(set.isEmpty());
+        assertEquals(-1, set.next(0));
+    }
+
+    @Test
+    void next_iterates_indices_in_order() {
+        WordSet set = WordSet.empty(200);
+        set.add(3);
+        set.add(64);
+        set.add(199);
+        assertArrayEquals(new int[] {3, 64, 199}, set.toArray());
+        assertEquals(64, set.next(4));
+        assertEquals(-1, set.next(200));
+    }
+
+    @Test
+    void and_keeps_common_indices() {
+        WordSet a = WordSet.all(100);
+        WordSet b = WordSet.empty(100);
+        b.add(7);
+        b.add(70);
+        a.and(b);
+        assertEquals(b, a);
+    }
+
+    @Test
+    void and_not_removes_indices() {
+        WordSet a = WordSet.all(100);
+        WordSet b = WordSet.all(100);
+        b.remove(42);
+        a.andNot(b);
+        assertArrayEquals(new int[] {42}, a.toArray());
+    }
+
+    @Test
+    void copy_is_independent() {
+        WordSet a = WordSet.all(10);
+        WordSet b = a.copy();
+        b.remove(5);
+        assertTrue(a.contains(5));
+        assertNotEquals(a, b);
+    }
+
+    @Test
+    void sets_of_different_capacities_can_not_be_combined() {
+        assertThrows(IllegalArgumentException.class, () -> WordSet.all(10).and(WordSet.all(11)));
+    }
+}
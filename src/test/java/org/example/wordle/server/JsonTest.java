@@ -0,0 +1,54 @@
+package org.example.wordle.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonTest {
+
+    @Test
+    void values_round_trip() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("word", "ta\"r\\es\n\u0001");
+        value.put("count", 12.5);
+        value.put("flags", Arrays.asList(true, false, null));
+        value.put("nested", Map.of("empty", List.of()));
+        String text = Json.write(value);
+        assertEquals(value, Json.parse(text));
+        assertEquals(text, Json.write(Json.parse(text)));
+    }
+
+    @Test
+    void parses_whitespace_escapes_and_numbers() {
+        assertEquals(Map.of("a", List.of(-1.5e2, 0.0, "\u00e9/")),
+                Json.parse(" { \"a\" : [ -1.5e2 , 0 , \"\\u00e9\\/\" ] } "));
+    }
+
+    @Test
+    void integers_are_written_without_a_fraction_and_non_finite_numbers_as_null() {
+        assertEquals("[3,null,null]", Json.write(List.of(3L, Double.NaN, Double.POSITIVE_INFINITY)));
+    }
+
+    @Test
+    void invalid_documents_are_rejected() {
+        for (String text : List.of("", "{", "[1,]", "{\"a\" 1}", "\"abc", "tru", "1 2", "{1: 2}", "\"\\x\"", "-")) {
+            assertThrows(IllegalArgumentException.class, () -> Json.parse(text), text);
+        }
+        assertThrows(IllegalArgumentException.class, () -> Json.write(new Object()));
+    }
+
+    @Test
+    void nesting_is_limited() {
+        String deepest = "[".repeat(Json.MAX_DEPTH) + "]".repeat(Json.MAX_DEPTH);
+        assertInstanceOf(List.class, Json.parse(deepest));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("[" + deepest + "]"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"a\":".repeat(Json.MAX_DEPTH + 1) + "1" + "}".repeat(Json.MAX_DEPTH + 1)));
+        // an unterminated document too deep for the stack is rejected before it overflows it
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("[".repeat(30_000)));
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.wordle.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void buckets_double_in_microseconds() {
+        assertEquals(0, LatencyHistogram.bucket(0));
+        assertEquals(0, LatencyHistogram.bucket(1_000));
+        assertEquals(1, LatencyHistogram.bucket(1_001));
+        assertEquals(1, LatencyHistogram.bucket(2_000));
+        assertEquals(10, LatencyHistogram.bucket(1_000_000));
+        assertEquals(26, LatencyHistogram.bucket(Long.MAX_VALUE / 2));
+        assertEquals(1.024, LatencyHistogram.upperBoundMillis(10));
+        assertEquals(Double.POSITIVE_INFINITY, LatencyHistogram.upperBoundMillis(26));
+    }
+
+    @Test
+    void percentiles_are_bucket_upper_bounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0.0, histogram.percentileMillis(0.5));
+        for (int i = 0; i < 90; i++) {
+            histogram.record(500);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1_000_000);
+        }
+        assertEquals(100, histogram.count());
+        assertEquals(0.001, histogram.percentileMillis(0.5));
+        assertEquals(0.001, histogram.percentileMillis(0.9));
+        assertEquals(1.024, histogram.percentileMillis(0.99));
+        assertTrue(histogram.recentRate() > 0.0);
+    }
+
+    @Test
+    void concurrent_requests_are_all_counted_as_the_seconds_turn_over() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // long enough to cross at least one second, well within the minute the rate covers
+        long end = System.nanoTime() + 1_500_000_000L;
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    histogram.record(1_000);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(histogram.count(), histogram.recentCount());
+    }
+
+    @Test
+    void json_lists_the_non_empty_buckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3_000);
+        Map<String, Object> json = histogram.toJson();
+        assertEquals(1L, json.get("count"));
+        assertEquals(List.of(Map.of("leMillis", 0.004, "count", 1L)), json.get("histogram"));
+        assertEquals(3.0 / 1000, (Double) json.get("meanMillis"), 1e-12);
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.wordle.server;
+
+import org.example.wordle.algorithm.EntropyScorer;
+import org.example.wordle.algorithm.HardMode;
+import org.example.wordle.algorithm.Prune;
+import org.example.wordle.dictionary.Dictionary;
+import org.example.wordle.dictionary.TestDictionaries;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolverServerTest {
+
+    private static final Dictionary DICTIONARY = TestDictionaries.with(TestDictionaries.RHYMES, List.of("tares"));
+
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+
+    private static SolverServer server;
+
+    @BeforeAll
+    static void start() throws IOException {
+        Prune prune = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL);
+        server = new SolverServer(0, prune, prune);
+        server.start();
+    }
+
+    @AfterAll
+    static void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void guesses_follow_the_history() throws Exception {
+        HttpResponse<String> response = post("/guess",
+                "{\"history\": [{\"word\": \"tares\", \"pattern\": \"wwwwc\"}, {\"word\": \"bills\", \"pattern\": \"WCCCC\"}]}");
+        assertEquals(200, response.statusCode());
+        Map<?, ?> json = (Map<?, ?>) Json.parse(response.body());
+        assertEquals(5.0, json.get("remaining"));
+        assertTrue(List.of("fills", "hills", "kills", "mills", "pills", "fbhkm").contains(json.get("guess")));
+        assertTrue((Double) json.get("nanos") > 0);
+    }
+
+    @Test
+    void budgeted_guesses_report_coverage() throws Exception {
+        HttpResponse<String> response = post("/guess",
+                "{\"history\": [{\"word\": \"tares\", \"pattern\": \"wwwwc\"}], \"budgetMillis\": 10000}");
+        assertEquals(200, response.statusCode());
+        Map<?, ?> json = (Map<?, ?>) Json.parse(response.body());
+        assertEquals(6.0, json.get("remaining"));
+        assertEquals(json.get("candidates"), json.get("evaluated"));
+    }
+
+    @Test
+    void bad_requests_are_rejected() throws Exception {
+        assertEquals(400, post("/guess", "{\"history\": [").statusCode());
+        assertEquals(400, post("/guess", "[]").statusCode());
+        assertEquals(400, post("/guess", "{\"history\": [{\"word\": \"tares\", \"pattern\": \"wwxwc\"}]}").statusCode());
+        assertEquals(400, post("/guess", "{\"history\": [{\"word\": \"tare\", \"pattern\": \"wwwwc\"}]}").statusCode());
+        assertEquals(400, post("/guess", "{\"budgetMillis\": -1}").statusCode());
+        assertEquals(400, post("/guess", "[".repeat(30_000)).statusCode());
+        assertEquals(405, get("/guess").statusCode());
+        assertEquals(405, post("/metrics", "{}").statusCode());
+    }
+
+    @Test
+    void metrics_count_requests() throws Exception {
+        post("/guess", "{}");
+        post("/guess", "{\"history\": 1}");
+        HttpResponse<String> response = get("/metrics");
+        assertEquals(200, response.statusCode());
+        Map<?, ?> json = (Map<?, ?>) Json.parse(response.body());
+        Map<?, ?> guess = (Map<?, ?>) json.get("guess");
+        assertTrue((Double) guess.get("count") >= 1.0);
+        assertTrue((Double) json.get("clientErrors") >= 1.0);
+        assertFalse(((List<?>) guess.get("histogram")).isEmpty());
+    }
+
+    @Test
+    void health() throws Exception {
+        HttpResponse<String> response = get("/health");
+        assertEquals(200, response.statusCode());
+        assertEquals(Map.of("status", "ok"), Json.parse(response.body()));
+    }
+
+    @Test
+    void hard_mode_rejects_budgets() throws Exception {
+        Prune prune = new Prune(DICTIONARY, null, EntropyScorer.SEQUENTIAL);
+        SolverServer hardMode = new SolverServer(0, prune, new HardMode(prune));
+        hardMode.start();
+        try {
+            URI guess = URI.create("http://localhost:" + hardMode.port() + "/guess");
+            String history = "{\"history\": [{\"word\": \"tares\", \"pattern\": \"wwwwc\"}]";
+            assertEquals(200, CLIENT.send(HttpRequest.newBuilder(guess).POST(HttpRequest.BodyPublishers.ofString(history + "}")).build(),
+                    HttpResponse.BodyHandlers.ofString()).statusCode());
+            assertEquals(400, CLIENT.send(HttpRequest.newBuilder(guess).POST(HttpRequest.BodyPublishers.ofString(history + ", \"budgetMillis\": 50}")).build(),
+                    HttpResponse.BodyHandlers.ofString()).statusCode());
+        } finally {
+            hardMode.stop(0);
+        }
+    }
+
+    private static HttpResponse<String> post(String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        return CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> get(String path) throws Exception {
+        return CLIENT.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(String path) {
+        return URI.create("http://localhost:" + server.port() + path);
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.wordle.table;
+
+import org.example.wordle.PatternCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternTableTest {
+
+    private static final List<String> WORDS = List.of("tares", "depot", "event", "shake", "shale", "aabbb", "caacc");
+
+    private static void assertAllPatterns(PatternTable table) {
+        for (int g = 0; g < WORDS.size(); g++) {
+            for (int a = 0; a < WORDS.size(); a++) {
+                assertEquals(PatternCode.computeCode(WORDS.get(a), WORDS.get(g)), table.get(g, a));
+            }
+        }
+    }
+
+    @Test
+    void build_computes_every_pattern() {
+        assertAllPatterns(PatternTable.build(WORDS));
+    }
+
+    @Test
+    void index_of_missing_word_is_negative() {
+        PatternTable table = PatternTable.build(WORDS);
+        assertEquals(1, table.indexOf("depot"));
+        assertEquals(-1, table.indexOf("zzzzz"));
+    }
+
+    @Test
+    void code_computes_words_missing_from_the_table() {
+        PatternTable table = PatternTable.build(WORDS);
+        assertEquals(PatternCode.computeCode("zzzzz", "tares"), table.code("zzzzz", "tares"));
+    }
+
+    @Test
+    void save_then_load_maps_the_same_table(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("patterns.bin");
+        PatternTable.build(WORDS).save(file);
+        assertAllPatterns(PatternTable.load(file, WORDS));
+    }
+
+    @Test
+    void load_rejects_a_table_from_a_different_dictionary(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("patterns.bin");
+        PatternTable.build(WORDS).save(file);
+        List<String> other = List.of("tares", "depot", "event", "shake", "shale", "aabbb", "ccccc");
+        assertThrows(IOException.class, () -> PatternTable.load(file, other));
+    }
+
+    @Test
+    void load_or_build_rebuilds_a_stale_table(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("patterns.bin");
+        PatternTable.build(List.of("tares", "depot")).save(file);
+        assertAllPatterns(PatternTable.loadOrBuild(file, WORDS));
+        assertAllPatterns(PatternTable.load(file, WORDS));
+    }
+}